@@ -0,0 +1,24 @@
+package bookstore.archival;
+
+public record ArchivalStats(
+        long rowsMoved,
+        long batches,
+        long failedBatches,
+        long failedRows,
+        Long lastFailedFromId,
+        Long lastFailedToId,
+        long lockTimeInMicros,
+        long maxLockTimeInMicros
+) {
+    static final ArchivalStats EMPTY = new ArchivalStats(0, 0, 0, 0, null, null, 0, 0);
+
+    ArchivalStats plus(ArchivalStats other) {
+        boolean otherFailed = other.lastFailedFromId != null;
+        return new ArchivalStats(rowsMoved + other.rowsMoved, batches + other.batches,
+                failedBatches + other.failedBatches, failedRows + other.failedRows,
+                otherFailed ? other.lastFailedFromId : lastFailedFromId,
+                otherFailed ? other.lastFailedToId : lastFailedToId,
+                lockTimeInMicros + other.lockTimeInMicros,
+                Math.max(maxLockTimeInMicros, other.maxLockTimeInMicros));
+    }
+}
@@ -0,0 +1,56 @@
+package bookstore.archival;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+record ArchivedTable(
+        String name,
+        String columns,
+        List<Reference> references,
+        List<LinkTable> linkTables
+) {
+    String selectIdsSql() {
+        StringBuilder sql = new StringBuilder("SELECT t.id FROM ").append(name)
+                .append(" t WHERE t.is_deleted = true AND t.deleted_at < ? AND t.id > ?");
+        for (Reference reference : references) {
+            sql.append(" AND NOT EXISTS (SELECT 1 FROM ").append(reference.table())
+                    .append(" r WHERE r.").append(reference.column()).append(" = t.id)");
+        }
+        return sql.append(" ORDER BY t.id LIMIT ?").toString();
+    }
+
+    List<String> moveLinksSql(int idCount) {
+        String placeholders = placeholders(idCount);
+        List<String> statements = new ArrayList<>(linkTables.size() * 2);
+        for (LinkTable linkTable : linkTables) {
+            statements.add("INSERT INTO " + linkTable.name() + "_archive (" + linkTable.columns()
+                    + ") SELECT " + linkTable.columns() + " FROM " + linkTable.name()
+                    + " WHERE " + linkTable.ownerColumn() + " IN (" + placeholders + ")");
+            statements.add("DELETE FROM " + linkTable.name() + " WHERE "
+                    + linkTable.ownerColumn() + " IN (" + placeholders + ")");
+        }
+        return statements;
+    }
+
+    String archiveSql(int idCount) {
+        return "INSERT INTO " + name + "_archive (" + columns + ", deleted_at, archived_at) "
+                + "SELECT " + columns + ", deleted_at, ? FROM " + name
+                + " WHERE is_deleted = true AND id IN (" + placeholders(idCount) + ")";
+    }
+
+    String deleteSql(int idCount) {
+        return "DELETE FROM " + name + " WHERE is_deleted = true AND id IN ("
+                + placeholders(idCount) + ")";
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    record Reference(String table, String column) {
+    }
+
+    record LinkTable(String name, String ownerColumn, String columns) {
+    }
+}
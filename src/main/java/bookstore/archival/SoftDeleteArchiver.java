@@ -0,0 +1,200 @@
+package bookstore.archival;
+
+import bookstore.archival.ArchivedTable.LinkTable;
+import bookstore.archival.ArchivedTable.Reference;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class SoftDeleteArchiver {
+    private static final List<ArchivedTable> ARCHIVED_TABLES = List.of(
+            new ArchivedTable("cart_items", "id, shopping_cart_id, book_id, quantity",
+                    List.of(), List.of()),
+            new ArchivedTable("order_items",
+                    "id, order_id, book_id, quantity, price, stock_reserved, stock_lease_id",
+                    List.of(), List.of()),
+            new ArchivedTable("orders",
+                    "id, user_id, status, total, order_date, shipping_address",
+                    List.of(new Reference("order_items", "order_id")), List.of()),
+            new ArchivedTable("shopping_carts", "id",
+                    List.of(new Reference("cart_items", "shopping_cart_id")), List.of()),
+            new ArchivedTable("users",
+                    "id, email, password, first_name, last_name, shipping_address, "
+                            + "token_version",
+                    List.of(new Reference("shopping_carts", "id"),
+                            new Reference("orders", "user_id")),
+                    List.of(new LinkTable("users_roles", "user_id", "user_id, role_id"))),
+            new ArchivedTable("books",
+                    "id, title, author, isbn, price, description, cover_image, version, "
+                            + "stock",
+                    List.of(new Reference("cart_items", "book_id"),
+                            new Reference("order_items", "book_id"),
+                            new Reference("book_daily_sales", "book_id")),
+                    List.of(new LinkTable("books_categories", "book_id",
+                            "book_id, category_id"))));
+    private static final String ROW_COUNT_MISMATCH_MESSAGE =
+            "Archived and deleted row counts differ for table ";
+    private final Map<String, ArchivalStats> stats = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService archiver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "soft-delete-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionInDays;
+    private final int batchSize;
+    private final long pauseInMillis;
+
+    public SoftDeleteArchiver(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${archival.enabled:false}") boolean enabled,
+            @Value("${archival.retentionInDays:30}") int retentionInDays,
+            @Value("${archival.batchSize:500}") int batchSize,
+            @Value("${archival.pauseInMillis:200}") long pauseInMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.retentionInDays = retentionInDays;
+        this.batchSize = batchSize;
+        this.pauseInMillis = pauseInMillis;
+        ARCHIVED_TABLES.forEach(table -> stats.put(table.name(), ArchivalStats.EMPTY));
+    }
+
+    @Scheduled(fixedDelayString = "${archival.intervalInMillis:3600000}")
+    public void scheduleArchival() {
+        if (enabled && running.compareAndSet(false, true)) {
+            archiver.execute(() -> {
+                try {
+                    archive();
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    public void archive() {
+        Timestamp deletedBefore = Timestamp.valueOf(
+                LocalDateTime.now().minusDays(retentionInDays));
+        for (ArchivedTable table : ARCHIVED_TABLES) {
+            if (!archiveTable(table, deletedBefore)) {
+                return;
+            }
+        }
+    }
+
+    public Map<String, ArchivalStats> getStats() {
+        Map<String, ArchivalStats> snapshot = new LinkedHashMap<>();
+        ARCHIVED_TABLES.forEach(table -> snapshot.put(table.name(), stats.get(table.name())));
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiver.shutdownNow();
+    }
+
+    private boolean archiveTable(ArchivedTable table, Timestamp deletedBefore) {
+        String selectIdsSql = table.selectIdsSql();
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(selectIdsSql, Long.class,
+                    deletedBefore, lastId, batchSize);
+            if (ids.isEmpty()) {
+                return true;
+            }
+            long startedAt = System.nanoTime();
+            ArchivalStats batchStats;
+            try {
+                transactionTemplate.execute(status -> move(table, ids));
+                long lockTimeInMicros = elapsedMicros(startedAt);
+                batchStats = new ArchivalStats(ids.size(), 1, 0, 0, null, null,
+                        lockTimeInMicros, lockTimeInMicros);
+            } catch (RuntimeException ex) {
+                batchStats = moveRowByRow(table, ids);
+            }
+            stats.merge(table.name(), batchStats, ArchivalStats::plus);
+            if (ids.size() < batchSize) {
+                return true;
+            }
+            lastId = ids.get(ids.size() - 1);
+            if (!pause()) {
+                return false;
+            }
+        }
+    }
+
+    private ArchivalStats moveRowByRow(ArchivedTable table, List<Long> ids) {
+        long rowsMoved = 0;
+        long lockTimeInMicros = 0;
+        long maxLockTimeInMicros = 0;
+        List<Long> failedIds = new ArrayList<>();
+        for (Long id : ids) {
+            long startedAt = System.nanoTime();
+            try {
+                transactionTemplate.execute(status -> move(table, List.of(id)));
+            } catch (RuntimeException ex) {
+                failedIds.add(id);
+                continue;
+            }
+            long rowLockTimeInMicros = elapsedMicros(startedAt);
+            rowsMoved++;
+            lockTimeInMicros += rowLockTimeInMicros;
+            maxLockTimeInMicros = Math.max(maxLockTimeInMicros, rowLockTimeInMicros);
+        }
+        return new ArchivalStats(rowsMoved, 1, 1, failedIds.size(),
+                failedIds.isEmpty() ? null : failedIds.get(0),
+                failedIds.isEmpty() ? null : failedIds.get(failedIds.size() - 1),
+                lockTimeInMicros, maxLockTimeInMicros);
+    }
+
+    private long elapsedMicros(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+    }
+
+    private Void move(ArchivedTable table, List<Long> ids) {
+        Object[] idArgs = ids.toArray();
+        for (String sql : table.moveLinksSql(ids.size())) {
+            jdbcTemplate.update(sql, idArgs);
+        }
+        List<Object> archiveArgs = new ArrayList<>(ids.size() + 1);
+        archiveArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+        archiveArgs.addAll(ids);
+        int archived = jdbcTemplate.update(table.archiveSql(ids.size()), archiveArgs.toArray());
+        int deleted = jdbcTemplate.update(table.deleteSql(ids.size()), idArgs);
+        if (archived != deleted) {
+            throw new IllegalStateException(ROW_COUNT_MISMATCH_MESSAGE + table.name());
+        }
+        return null;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseInMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
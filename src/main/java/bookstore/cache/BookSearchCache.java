@@ -0,0 +1,73 @@
+package bookstore.cache;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.page.ApproximatePage;
+import bookstore.dto.page.CountMode;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookSearchCache {
+    private final TinyLfuCache<String, Slice<Long>> bookSearchResultCache;
+    private final CountCache countCache;
+    private final long timeToLiveInMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public BookSearchCache(
+            TinyLfuCache<String, Slice<Long>> bookSearchResultCache,
+            CountCache countCache,
+            @Value("${book.search.cache.ttlInSeconds:60}") long ttlInSeconds
+    ) {
+        this(bookSearchResultCache, countCache, ttlInSeconds * 1000, System::currentTimeMillis);
+    }
+
+    BookSearchCache(TinyLfuCache<String, Slice<Long>> bookSearchResultCache,
+                    CountCache countCache, long timeToLiveInMillis, LongSupplier clock) {
+        this.bookSearchResultCache = bookSearchResultCache;
+        this.countCache = countCache;
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.clock = clock;
+    }
+
+    public Slice<BookDto> get(BookSearchParametersDto formattedDto, Pageable pageable,
+                              CountMode countMode, Supplier<Slice<BookDto>> search,
+                              Function<List<Long>, List<BookDto>> loader) {
+        long epoch = timeToLiveInMillis > 0 ? clock.getAsLong() / timeToLiveInMillis : 0;
+        String key = countCache.currentGeneration(CountCache.BOOKS) + ":" + epoch + ":"
+                + formattedDto + ":" + pageable + ":" + countMode;
+        AtomicReference<Slice<BookDto>> searched = new AtomicReference<>();
+        Slice<Long> bookIds = bookSearchResultCache.get(key, ignored -> {
+            Slice<BookDto> books = search.get();
+            searched.set(books);
+            Slice<Long> ids = books.map(BookDto::bookId);
+            return books instanceof ApproximatePage<BookDto> page
+                    ? new ApproximatePage<>(ids.getContent(), page.getPageable(),
+                            page.getTotalElements())
+                    : ids;
+        });
+        if (searched.get() != null) {
+            return searched.get();
+        }
+        List<BookDto> content = loader.apply(bookIds.getContent());
+        if (bookIds instanceof ApproximatePage<Long> page) {
+            return new ApproximatePage<>(content, page.getPageable(), page.getTotalElements());
+        }
+        if (bookIds instanceof Page<Long> page) {
+            return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+        }
+        return new SliceImpl<>(content, bookIds.getPageable(), bookIds.hasNext());
+    }
+}
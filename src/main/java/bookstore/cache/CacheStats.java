@@ -0,0 +1,12 @@
+package bookstore.cache;
+
+public record CacheStats(
+        int maximumSize,
+        int size,
+        long hitCount,
+        long missCount,
+        long loadCount,
+        long evictionCount,
+        long invalidationCount
+) {
+}
@@ -0,0 +1,41 @@
+package bookstore.cache;
+
+import bookstore.dto.page.CountMode;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CatalogETags {
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private final CountCache countCache;
+    private final long timeToLiveInMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public CatalogETags(
+            CountCache countCache,
+            @Value("${catalog.etags.ttlInSeconds:60}") long ttlInSeconds
+    ) {
+        this(countCache, ttlInSeconds * 1000, System::currentTimeMillis);
+    }
+
+    CatalogETags(CountCache countCache, long timeToLiveInMillis, LongSupplier clock) {
+        this.countCache = countCache;
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.clock = clock;
+    }
+
+    public String forVersion(String type, Long id, long version) {
+        return type + "-" + id + "-" + version;
+    }
+
+    public String forPage(String region, Pageable pageable, CountMode countMode) {
+        long epoch = timeToLiveInMillis > 0 ? clock.getAsLong() / timeToLiveInMillis : 0;
+        return region + "-" + instanceId + "-" + countCache.currentGeneration(region) + "-"
+                + epoch + "-" + Integer.toHexString(Objects.hash(pageable, countMode.name()));
+    }
+}
@@ -0,0 +1,128 @@
+package bookstore.cache;
+
+import bookstore.dto.page.ApproximatePage;
+import bookstore.dto.page.CountMode;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class CountCache {
+    public static final String BOOKS = "books";
+    public static final String CATEGORIES = "categories";
+    public static final String ORDERS = "orders";
+    public static final String ORDER_ITEMS = "order_items";
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long exactTimeToLiveInMillis;
+    private final long approximateTimeToLiveInMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public CountCache(
+            @Value("${count.cache.maxSize:10000}") int maxSize,
+            @Value("${count.cache.exactTtlInSeconds:60}") long exactTtlInSeconds,
+            @Value("${count.cache.approximateTtlInSeconds:600}") long approximateTtlInSeconds
+    ) {
+        this(maxSize, exactTtlInSeconds * 1000, approximateTtlInSeconds * 1000,
+                System::currentTimeMillis);
+    }
+
+    CountCache(int maxSize, long exactTimeToLiveInMillis, long approximateTimeToLiveInMillis,
+               LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.exactTimeToLiveInMillis = exactTimeToLiveInMillis;
+        this.approximateTimeToLiveInMillis = approximateTimeToLiveInMillis;
+        this.clock = clock;
+    }
+
+    public <T> Slice<T> withTotal(Slice<T> slice, CountMode countMode, String region,
+                                  String queryKey, LongSupplier counter) {
+        if (countMode == CountMode.NONE) {
+            return slice;
+        }
+        Pageable pageable = slice.getPageable();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(slice.getContent(), pageable, slice.getNumberOfElements());
+        }
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            return new PageImpl<>(slice.getContent(), pageable,
+                    pageable.getOffset() + slice.getNumberOfElements());
+        }
+        String key = region + ':' + queryKey;
+        long generation = generation(region).get();
+        long now = clock.getAsLong();
+        CachedCount cached = counts.get(key);
+        if (cached != null) {
+            long age = now - cached.countedAt();
+            if (cached.generation() == generation && age < exactTimeToLiveInMillis) {
+                return new PageImpl<>(slice.getContent(), pageable, cached.count());
+            }
+            if (countMode == CountMode.APPROXIMATE && age < approximateTimeToLiveInMillis) {
+                return new ApproximatePage<>(slice.getContent(), pageable, cached.count());
+            }
+        }
+        long total = counter.getAsLong();
+        if (counts.size() >= maxSize) {
+            evict(now);
+        }
+        counts.put(key, new CachedCount(total, generation, now));
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    public void invalidate(String... regions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(regions);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        bump(regions);
+                    }
+                });
+    }
+
+    public long currentGeneration(String region) {
+        return generation(region).get();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    private void bump(String... regions) {
+        for (String region : regions) {
+            generation(region).incrementAndGet();
+        }
+    }
+
+    private AtomicLong generation(String region) {
+        return generations.computeIfAbsent(region, key -> new AtomicLong());
+    }
+
+    private void evict(long now) {
+        counts.values().removeIf(cached ->
+                now - cached.countedAt() >= approximateTimeToLiveInMillis);
+        Iterator<String> keys = counts.keySet().iterator();
+        while (counts.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedCount(long count, long generation, long countedAt) {
+    }
+}
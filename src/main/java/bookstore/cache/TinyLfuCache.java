@@ -0,0 +1,308 @@
+package bookstore.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class TinyLfuCache<K, V> {
+    private static final int WINDOW_PERCENT = 1;
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_STRIPES =
+            Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+    private final Map<K, V> data = new ConcurrentHashMap<>();
+    private final LinkedHashMap<K, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Boolean> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final List<ReadBuffer<K>> readBuffers = Stream
+            .generate(() -> new ReadBuffer<K>(READ_BUFFER_SIZE))
+            .limit(READ_BUFFER_STRIPES)
+            .toList();
+    private final Lock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final int maximumSize;
+    private final int windowMaximumSize;
+    private final int mainMaximumSize;
+    private final FrequencySketch sketch;
+
+    public TinyLfuCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.windowMaximumSize = Math.max(1, maximumSize * WINDOW_PERCENT / 100);
+        this.mainMaximumSize = Math.max(1, maximumSize - windowMaximumSize);
+        this.sketch = new FrequencySketch(Math.max(1, maximumSize));
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        if (maximumSize <= 0) {
+            misses.increment();
+            loads.increment();
+            return loader.apply(key);
+        }
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            V loaded = data.get(key);
+            if (loaded == null) {
+                loads.increment();
+                loaded = loader.apply(key);
+                if (loaded != null) {
+                    putIfStillLoading(key, future, loaded);
+                }
+            }
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    public V getIfPresent(K key) {
+        V value = data.get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        ReadBuffer<K> readBuffer = readBuffers.get(
+                (int) Thread.currentThread().threadId() & (READ_BUFFER_STRIPES - 1));
+        if (readBuffer.offer(key) && lock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (maximumSize <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            drainReadBuffers();
+            if (data.put(key, value) != null) {
+                if (window.get(key) == null) {
+                    main.get(key);
+                }
+                return;
+            }
+            window.put(key, Boolean.TRUE);
+            if (window.size() > windowMaximumSize) {
+                Iterator<K> keys = window.keySet().iterator();
+                K candidate = keys.next();
+                keys.remove();
+                admit(candidate);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            loading.remove(key);
+            if (data.remove(key) != null) {
+                window.remove(key);
+                main.remove(key);
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            loading.clear();
+            invalidations.add(data.size());
+            data.clear();
+            window.clear();
+            main.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(maximumSize, size(), hits.sum(), misses.sum(), loads.sum(),
+                evictions.sum(), invalidations.sum());
+    }
+
+    private void putIfStillLoading(K key, CompletableFuture<V> future, V value) {
+        lock.lock();
+        try {
+            if (loading.remove(key, future)) {
+                put(key, value);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K> readBuffer : readBuffers) {
+            readBuffer.drainTo(key -> {
+                sketch.increment(key);
+                if (window.get(key) == null) {
+                    main.get(key);
+                }
+            });
+        }
+    }
+
+    private void admit(K candidate) {
+        if (main.size() < mainMaximumSize) {
+            main.put(candidate, Boolean.TRUE);
+            return;
+        }
+        K victim = main.keySet().iterator().next();
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            main.remove(victim);
+            data.remove(victim);
+            main.put(candidate, Boolean.TRUE);
+        } else {
+            data.remove(candidate);
+        }
+        evictions.increment();
+    }
+
+    private V join(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static class ReadBuffer<K> {
+        private final AtomicReferenceArray<K> buffer;
+        private final AtomicLong writeCounter = new AtomicLong();
+        private final int mask;
+        private volatile long readCounter;
+
+        ReadBuffer(int size) {
+            this.buffer = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        }
+
+        boolean offer(K key) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            long pending = tail - head;
+            if (pending < buffer.length() && writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) tail & mask, key);
+            }
+            return pending >= buffer.length() / 2;
+        }
+
+        void drainTo(Consumer<K> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) head & mask;
+                K key = buffer.get(index);
+                if (key == null) {
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(key);
+            }
+            readCounter = head;
+        }
+    }
+
+    private static class FrequencySketch {
+        private static final int[] SEEDS = {0x97cb3127, 0xb7e15162, 0xc2b2ae35, 0x85ebca6b};
+        private static final int MAX_FREQUENCY = 15;
+        private static final int SAMPLE_SIZE_FACTOR = 10;
+        private static final int WIDTH_FACTOR = 8;
+        private final byte[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(16, maximumSize) * WIDTH_FACTOR - 1);
+            this.counters = new byte[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = SAMPLE_SIZE_FACTOR * Math.max(16, maximumSize);
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_FREQUENCY;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, counters[i][index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = index(hash, i);
+                if (counters[i][index] < MAX_FREQUENCY) {
+                    counters[i][index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+
+        private int index(int hash, int row) {
+            int index = (hash + SEEDS[row]) * SEEDS[row];
+            return (index ^ (index >>> 16)) & mask;
+        }
+
+        private static int spread(int hash) {
+            int spread = hash * 0x9e3779b9;
+            return spread ^ (spread >>> 16);
+        }
+    }
+}
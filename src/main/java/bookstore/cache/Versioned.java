@@ -0,0 +1,4 @@
+package bookstore.cache;
+
+public record Versioned<V>(V value, long version) {
+}
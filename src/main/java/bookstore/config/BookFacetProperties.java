@@ -0,0 +1,17 @@
+package bookstore.config;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "book.facets")
+@Getter
+@Setter
+public class BookFacetProperties {
+    private List<BigDecimal> priceBuckets = List.of(BigDecimal.valueOf(10),
+            BigDecimal.valueOf(20), BigDecimal.valueOf(50), BigDecimal.valueOf(100));
+}
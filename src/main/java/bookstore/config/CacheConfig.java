@@ -0,0 +1,31 @@
+package bookstore.config;
+
+import bookstore.cache.TinyLfuCache;
+import bookstore.cache.Versioned;
+import bookstore.dto.book.BookDto;
+import bookstore.dto.facet.BookFacetsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+
+@Configuration
+public class CacheConfig {
+    @Bean
+    public TinyLfuCache<Long, Versioned<BookDto>> bookDetailCache(
+            @Value("${book.cache.maxSize:0}") int maxSize) {
+        return new TinyLfuCache<>(maxSize);
+    }
+
+    @Bean
+    public TinyLfuCache<String, BookFacetsDto> bookFacetCache(
+            @Value("${book.facets.cacheMaxSize:0}") int maxSize) {
+        return new TinyLfuCache<>(maxSize);
+    }
+
+    @Bean
+    public TinyLfuCache<String, Slice<Long>> bookSearchResultCache(
+            @Value("${book.search.cache.maxSize:0}") int maxSize) {
+        return new TinyLfuCache<>(maxSize);
+    }
+}
@@ -0,0 +1,22 @@
+package bookstore.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+public class FullTextFunctionContributor implements FunctionContributor {
+    public static final String MATCH_AGAINST_FUNCTION = "match_against";
+    public static final String MATCH_AGAINST_3_FUNCTION = "match_against_3";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+        functionContributions.getFunctionRegistry().registerPattern(MATCH_AGAINST_FUNCTION,
+                "match (?1) against (?2 in boolean mode)", doubleType);
+        functionContributions.getFunctionRegistry().registerPattern(MATCH_AGAINST_3_FUNCTION,
+                "match (?1, ?2, ?3) against (?4 in boolean mode)", doubleType);
+    }
+}
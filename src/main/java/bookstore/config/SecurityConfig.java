@@ -5,6 +5,7 @@ import bookstore.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -38,6 +39,7 @@ public class SecurityConfig {
                                         "/swagger-resources/**",
                                         "/error/**"
                                 ).permitAll()
+                                .requestMatchers(HttpMethod.GET, "/covers/**").permitAll()
                                 .anyRequest().authenticated()
                 )
                 .sessionManagement(session
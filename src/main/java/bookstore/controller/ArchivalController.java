@@ -0,0 +1,21 @@
+package bookstore.controller;
+
+import bookstore.archival.ArchivalStats;
+import bookstore.archival.SoftDeleteArchiver;
+import bookstore.controller.api.ArchivalControllerApi;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ArchivalController implements ArchivalControllerApi {
+    private final SoftDeleteArchiver softDeleteArchiver;
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Override
+    public Map<String, ArchivalStats> getStats() {
+        return softDeleteArchiver.getStats();
+    }
+}
@@ -1,36 +1,86 @@
 package bookstore.controller;
 
+import bookstore.cache.CatalogETags;
+import bookstore.cache.CountCache;
 import bookstore.controller.api.BookControllerApi;
+import bookstore.dto.book.AddBookStockRequestDto;
 import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookImportResultDto;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookStockDto;
+import bookstore.dto.book.BookSuggestionsDto;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.dto.book.UpdateBookRequestDto;
+import bookstore.dto.facet.FacetedPageDto;
+import bookstore.dto.page.CountMode;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.dto.page.PageDto;
+import bookstore.exception.CoverImageException;
+import bookstore.exporter.BookExportFormat;
 import bookstore.mapper.PageMapper;
+import bookstore.service.BookCoverService;
+import bookstore.service.BookExportService;
+import bookstore.service.BookFacetService;
+import bookstore.service.BookImportService;
 import bookstore.service.BookService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
 @Validated
 public class BookController implements BookControllerApi {
+    private static final String BOOK = "book";
+    private static final String COVER_READ_FAILED_MESSAGE = "Could not read the cover image";
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookCoverService bookCoverService;
+    private final BookExportService bookExportService;
+    private final BookFacetService bookFacetService;
     private final PageMapper pageMapper;
+    private final CatalogETags catalogETags;
+    @Value("${book.export.timeoutInMinutes:60}")
+    private long exportTimeoutInMinutes;
 
     @GetMapping
     @Override
-    public PageDto<BookDto> getAll(Pageable pageable) {
-        return pageMapper.toDto(bookService.findAll(pageable));
+    public PageDto<BookDto> getAll(Pageable pageable, CountMode count, WebRequest request) {
+        if (request.checkNotModified(
+                catalogETags.forPage(CountCache.BOOKS, pageable, count))) {
+            return null;
+        }
+        return pageMapper.toDto(bookService.findAll(pageable, count));
     }
 
     @Override
-    public BookDto getBookById(Long bookId) {
-        return bookService.findById(bookId);
+    public CursorPageDto<BookDto> getAllByCursor(String cursor, Pageable pageable) {
+        return bookService.findAll(cursor, pageable);
+    }
+
+    @Override
+    public BookDto getBookById(Long bookId, WebRequest request) {
+        long version = bookService.getVersion(bookId);
+        if (request.checkNotModified(catalogETags.forVersion(BOOK, bookId, version))) {
+            return null;
+        }
+        return bookService.findById(bookId, version);
     }
 
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -39,12 +89,55 @@ public class BookController implements BookControllerApi {
         return bookService.save(bookDto);
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Override
+    public BookImportResultDto importBooks(InputStream body, MediaType contentType) {
+        return bookImportService.importBooks(body, contentType);
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportBooks(BookExportFormat format,
+                                                             WebRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(TimeUnit.MINUTES.toMillis(exportTimeoutInMinutes));
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename("books." + format.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(outputStream -> bookExportService.export(outputStream, format));
+    }
+
     @PreAuthorize("hasAuthority('ADMIN')")
     @Override
     public BookDto updateBook(UpdateBookRequestDto requestDto, Long bookId) {
         return bookService.update(requestDto, bookId);
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Override
+    public BookDto uploadCover(Long bookId, MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            return bookCoverService.uploadCover(bookId, content);
+        } catch (IOException ex) {
+            throw new CoverImageException(COVER_READ_FAILED_MESSAGE, ex);
+        }
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Override
+    public BookStockDto getStock(Long bookId) {
+        return bookService.getStock(bookId);
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Override
+    public BookStockDto addStock(Long bookId, AddBookStockRequestDto requestDto) {
+        return bookService.addStock(bookId, requestDto);
+    }
+
     @PreAuthorize("hasAuthority('ADMIN')")
     @Override
     public void deleteById(Long bookId) {
@@ -52,7 +145,42 @@ public class BookController implements BookControllerApi {
     }
 
     @Override
-    public PageDto<BookDto> searchBooks(BookSearchParametersDto parametersDto, Pageable pageable) {
-        return pageMapper.toDto(bookService.search(parametersDto, pageable));
+    public PageDto<BookDto> searchBooks(BookSearchParametersDto parametersDto, Pageable pageable,
+                                        CountMode count) {
+        return pageMapper.toDto(bookService.search(parametersDto, pageable, count));
+    }
+
+    @Override
+    public FacetedPageDto<BookDto> searchBooksWithFacets(BookSearchParametersDto parametersDto,
+                                                         Pageable pageable, CountMode count) {
+        return new FacetedPageDto<>(
+                pageMapper.toDto(bookService.search(parametersDto, pageable, count)),
+                bookFacetService.findFacets(parametersDto));
+    }
+
+    @Override
+    public BookSuggestionsDto suggest(String prefix, int limit) {
+        return bookService.suggest(prefix, limit);
+    }
+
+    @Override
+    public List<BookDto> getRecommendations(Long bookId, int limit) {
+        return bookService.findRecommendations(bookId, limit);
+    }
+
+    @Override
+    public List<BookDto> getBestsellers(int days, Long categoryId, int limit) {
+        return bookService.findBestsellers(days, categoryId, limit);
+    }
+
+    @Override
+    public List<BookDto> getTrending(int days, Long categoryId, int limit) {
+        return bookService.findTrending(days, categoryId, limit);
+    }
+
+    @Override
+    public CursorPageDto<BookDto> searchBooksByCursor(BookSearchParametersDto parametersDto,
+                                                      String cursor, Pageable pageable) {
+        return bookService.search(parametersDto, cursor, pageable);
     }
 }
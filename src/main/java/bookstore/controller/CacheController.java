@@ -0,0 +1,24 @@
+package bookstore.controller;
+
+import bookstore.cache.CacheStats;
+import bookstore.cache.TinyLfuCache;
+import bookstore.controller.api.CacheControllerApi;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheController implements CacheControllerApi {
+    private final Map<String, TinyLfuCache<?, ?>> caches;
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Override
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+}
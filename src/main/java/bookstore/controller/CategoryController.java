@@ -1,10 +1,14 @@
 package bookstore.controller;
 
+import bookstore.cache.CatalogETags;
+import bookstore.cache.CountCache;
 import bookstore.controller.api.CategoryControllerApi;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.category.CategoryDto;
 import bookstore.dto.category.CreateCategoryRequestDto;
 import bookstore.dto.category.UpdateCategoryRequestDto;
+import bookstore.dto.page.CountMode;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.dto.page.PageDto;
 import bookstore.mapper.PageMapper;
 import bookstore.service.BookService;
@@ -14,6 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,6 +27,7 @@ public class CategoryController implements CategoryControllerApi {
     private final CategoryService categoryService;
     private final PageMapper pageMapper;
     private final BookService bookService;
+    private final CatalogETags catalogETags;
 
     @PreAuthorize("hasAuthority('ADMIN')")
     @Override
@@ -30,8 +36,12 @@ public class CategoryController implements CategoryControllerApi {
     }
 
     @Override
-    public PageDto<CategoryDto> getAll(Pageable pageable) {
-        return pageMapper.toDto(categoryService.findAll(pageable));
+    public PageDto<CategoryDto> getAll(Pageable pageable, CountMode count, WebRequest request) {
+        if (request.checkNotModified(
+                catalogETags.forPage(CountCache.CATEGORIES, pageable, count))) {
+            return null;
+        }
+        return pageMapper.toDto(categoryService.findAll(pageable, count));
     }
 
     @Override
@@ -53,7 +63,14 @@ public class CategoryController implements CategoryControllerApi {
 
     @Override
     public PageDto<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long categoryId,
-                                                                   Pageable pageable) {
-        return pageMapper.toDto(bookService.findByCategoryId(categoryId, pageable));
+                                                                   Pageable pageable,
+                                                                   CountMode count) {
+        return pageMapper.toDto(bookService.findByCategoryId(categoryId, pageable, count));
+    }
+
+    @Override
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryIdByCursor(
+            Long categoryId, String cursor, Pageable pageable) {
+        return bookService.findByCategoryId(categoryId, cursor, pageable);
     }
 }
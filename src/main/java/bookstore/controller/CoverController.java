@@ -0,0 +1,92 @@
+package bookstore.controller;
+
+import bookstore.controller.api.CoverControllerApi;
+import bookstore.cover.CoverSize;
+import bookstore.cover.CoverStorage;
+import bookstore.exception.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.apache.catalina.Globals;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class CoverController implements CoverControllerApi {
+    private static final String COVER_NOT_FOUND_MESSAGE = "A cover {0} does not exist";
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final CacheControl IMMUTABLE =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private final CoverStorage coverStorage;
+
+    @Override
+    public ResponseEntity<Resource> getCover(String name, HttpServletRequest request) {
+        return serve(coverStorage.getOriginal(name), name, name, IMMUTABLE, request);
+    }
+
+    @Override
+    public ResponseEntity<Resource> getThumbnail(String size, String name,
+                                                 HttpServletRequest request) {
+        CoverSize coverSize = CoverSize.fromPathSegment(size);
+        if (coverSize == null) {
+            throw new EntityNotFoundException(COVER_NOT_FOUND_MESSAGE, size + "/" + name);
+        }
+        Path thumbnail = coverStorage.getThumbnail(coverSize, name);
+        if (Files.exists(thumbnail)) {
+            return serve(thumbnail, name, coverSize.getPathSegment() + "/" + name, IMMUTABLE,
+                    request);
+        }
+        Path original = coverStorage.getOriginal(name);
+        if (Files.exists(original)) {
+            coverStorage.generateThumbnails(name);
+        }
+        return serve(original, name, null, CacheControl.noCache(), request);
+    }
+
+    private ResponseEntity<Resource> serve(Path file, String name, String entityTag,
+                                           CacheControl cacheControl,
+                                           HttpServletRequest request) {
+        long length = size(file, name);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .contentType(CoverStorage.getMediaType(name));
+        if (entityTag != null) {
+            response.eTag(entityTag);
+        }
+        if (length >= SENDFILE_MIN_SIZE && canSendFile(request)) {
+            request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, file.toString());
+            request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, 0L);
+            request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, length);
+            return response.contentLength(length).build();
+        }
+        return response.body(new FileSystemResource(file));
+    }
+
+    private boolean canSendFile(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))
+                && HttpMethod.GET.matches(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && request.getHeader(HttpHeaders.IF_NONE_MATCH) == null;
+    }
+
+    private long size(Path file, String name) {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException ex) {
+            throw new EntityNotFoundException(COVER_NOT_FOUND_MESSAGE, name);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
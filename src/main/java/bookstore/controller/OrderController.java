@@ -5,6 +5,7 @@ import bookstore.dto.order.OrderAddressDto;
 import bookstore.dto.order.OrderDto;
 import bookstore.dto.order.OrderStatusDto;
 import bookstore.dto.orderitem.OrderItemDto;
+import bookstore.dto.page.CountMode;
 import bookstore.dto.page.PageDto;
 import bookstore.mapper.PageMapper;
 import bookstore.model.User;
@@ -33,8 +34,8 @@ public class OrderController implements OrderControllerApi {
     }
 
     @Override
-    public PageDto<OrderDto> getHistory(User user, Pageable pageable) {
-        return pageMapper.toDto(orderService.getAllOrders(user, pageable));
+    public PageDto<OrderDto> getHistory(User user, Pageable pageable, CountMode count) {
+        return pageMapper.toDto(orderService.getAllOrders(user, pageable, count));
     }
 
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -44,8 +45,9 @@ public class OrderController implements OrderControllerApi {
     }
 
     @Override
-    public PageDto<OrderItemDto> getOrderItems(Long orderId, User user, Pageable pageable) {
-        return pageMapper.toDto(orderService.getOrderItems(orderId, user, pageable));
+    public PageDto<OrderItemDto> getOrderItems(Long orderId, User user, Pageable pageable,
+                                               CountMode count) {
+        return pageMapper.toDto(orderService.getOrderItems(orderId, user, pageable, count));
     }
 
     @Override
@@ -0,0 +1,18 @@
+package bookstore.controller.api;
+
+import bookstore.archival.ArchivalStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Map;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@RequestMapping("/archival")
+@Tag(name = "Archival management",
+        description = "Endpoints for monitoring the archival of soft-deleted rows")
+public interface ArchivalControllerApi {
+    @Operation(summary = "Get archival statistics", description = "Get moved rows, batches, "
+            + "failed batches and total and maximum lock time of archival by table name")
+    @GetMapping
+    Map<String, ArchivalStats> getStats();
+}
@@ -1,24 +1,44 @@
 package bookstore.controller.api;
 
+import bookstore.dto.book.AddBookStockRequestDto;
 import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookImportResultDto;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookStockDto;
+import bookstore.dto.book.BookSuggestionsDto;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.dto.book.UpdateBookRequestDto;
+import bookstore.dto.facet.FacetedPageDto;
+import bookstore.dto.page.CountMode;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.dto.page.PageDto;
+import bookstore.exporter.BookExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.io.InputStream;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RequestMapping("/books")
 @Tag(name = "Book management", description = "Endpoints for managing books")
@@ -26,37 +46,147 @@ public interface BookControllerApi {
     @Operation(summary = "Get all books", description = "Get a list of all available books. "
             + "Pagination: add a ? followed by the query {page}={value}&{size}={value} "
             + "For example: /books?page=0&size=10 "
-            + "Sorting: add & followed by {sort}={field} or {sort}={field, DESC}")
+            + "Sorting: add & followed by {sort}={field} or {sort}={field, DESC} "
+            + "Totals: add & followed by {count}=EXACT (default), APPROXIMATE or NONE. "
+            + "Send the returned ETag in If-None-Match to get 304 Not Modified while the "
+            + "catalog is unchanged")
     @GetMapping
-    PageDto<BookDto> getAll(Pageable pageable);
+    PageDto<BookDto> getAll(Pageable pageable,
+                            @RequestParam(defaultValue = "EXACT") CountMode count,
+                            WebRequest request);
 
-    @Operation(summary = "Get a book by id", description = "Get a book by id")
+    @Operation(summary = "Get all books by cursor", description = "Get a list of all available "
+            + "books without counting them. Start with an empty {cursor} and pass the returned "
+            + "{nextCursor} to get the next page. For example: /books?cursor=&size=100 "
+            + "Sorting: {sort}=id (default), {sort}=title or {sort}=price, ascending only")
+    @GetMapping(params = "cursor")
+    CursorPageDto<BookDto> getAllByCursor(@RequestParam String cursor, Pageable pageable);
+
+    @Operation(summary = "Get a book by id", description = "Get a book by id. "
+            + "Send the returned ETag in If-None-Match to get 304 Not Modified while the book "
+            + "is unchanged")
     @GetMapping("/{bookId}")
-    BookDto getBookById(@PathVariable @Min(1) Long bookId);
+    BookDto getBookById(@PathVariable @Min(1) Long bookId, WebRequest request);
 
     @Operation(summary = "Create a book", description = "Create a book")
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     BookDto createBook(@RequestBody @Valid CreateBookRequestDto bookDto);
 
+    @Operation(summary = "Import books", description = "Import books from a streamed text/csv "
+            + "or application/x-ndjson body. CSV needs a header with the columns title, author, "
+            + "isbn, price and optionally description, coverImage and categoryIds (separated by ;)."
+            + " NDJSON takes one book per line in the same format as creating a book. "
+            + "The response reports the result of every row")
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    BookImportResultDto importBooks(InputStream body,
+                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType);
+
+    @Operation(summary = "Export books", description = "Stream the whole catalog with category ids"
+            + " as a file. Format: {format}=NDJSON (default) or CSV. "
+            + "For example: /books/export?format=CSV")
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "NDJSON") BookExportFormat format, WebRequest request);
+
     @Operation(summary = "Update book ", description = "Update the book by id")
     @PatchMapping("/{bookId}")
     BookDto updateBook(@RequestBody @Valid UpdateBookRequestDto requestDto,
                        @PathVariable @Min(1) Long bookId);
 
+    @Operation(summary = "Upload a book cover", description = "Upload a JPEG or PNG cover "
+            + "image of the book as the multipart {file} part. Identical images are stored once. "
+            + "Small and medium thumbnails are generated in the background and listed in "
+            + "{thumbnails}")
+    @PostMapping(value = "/{bookId}/cover", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    BookDto uploadCover(@PathVariable @Min(1) Long bookId,
+                        @RequestParam("file") MultipartFile file);
+
+    @Operation(summary = "Get book stock", description = "Get the number of copies of the "
+            + "book in stock. A null {stock} means the stock of the book is not tracked and "
+            + "it can always be ordered")
+    @GetMapping("/{bookId}/stock")
+    BookStockDto getStock(@PathVariable @Min(1) Long bookId);
+
+    @Operation(summary = "Add book stock", description = "Add {quantity} copies to the stock "
+            + "of the book. The first delivery starts tracking the stock, after which orders "
+            + "fail with 409 Conflict once the book is sold out")
+    @PostMapping("/{bookId}/stock")
+    BookStockDto addStock(@PathVariable @Min(1) Long bookId,
+                          @RequestBody @Valid AddBookStockRequestDto requestDto);
+
     @Operation(summary = "Delete book", description = "Delete the book by id")
     @DeleteMapping("/{bookId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     void deleteById(@PathVariable @Min(1) Long bookId);
 
     @Operation(summary = "Search book", description
-            = "Search books by {title}, {author}, {isbn} or {minPrice}/{maxPrice}. "
+            = "Search books by {title}, {author}, {isbn}, {minPrice}/{maxPrice} or {keywords} "
+            + "(matched against title, author and description, ranked by relevance). "
+            + "Filter by several values with comma separated {categoryIds}, {authors} "
+            + "(exact author names) or {isbns}. "
             + "To start searching add a ? followed by the query {query}={value}. "
             + "If you want to chain several queries in the same call, use & followed by the query."
             + " Pagination: add a & followed by the query {page}={value}&{size}={value}. "
             + "For example: /books/search"
             + "?title=harry potter and the philosopher's stone&page=0&size=10 "
-            + "Sorting: add & followed by {sort}={field} or {sort}={field, DESC}")
+            + "Sorting: add & followed by {sort}={field} or {sort}={field, DESC}, "
+            + "use {sort}=relevance to order text matches by relevance. "
+            + "Add {fuzzy}=true to tolerate typos in {title} and {author}, "
+            + "results are then ordered by similarity. "
+            + "Totals: add & followed by {count}=EXACT (default), APPROXIMATE or NONE")
     @GetMapping("/search")
-    PageDto<BookDto> searchBooks(@Valid BookSearchParametersDto parametersDto, Pageable pageable);
+    PageDto<BookDto> searchBooks(@Valid BookSearchParametersDto parametersDto, Pageable pageable,
+                                 @RequestParam(defaultValue = "EXACT") CountMode count);
+
+    @Operation(summary = "Search books with facets", description = "Search books with the same "
+            + "parameters as /books/search and add {facets}=true to also get the number of "
+            + "matching books per category and per price bucket. For example: "
+            + "/books/search?author=orwell&facets=true")
+    @GetMapping(value = "/search", params = {"facets=true", "!cursor"})
+    FacetedPageDto<BookDto> searchBooksWithFacets(@Valid BookSearchParametersDto parametersDto,
+                                                  Pageable pageable,
+                                                  @RequestParam(defaultValue = "EXACT")
+                                                  CountMode count);
+
+    @Operation(summary = "Suggest titles and authors", description = "Get the most popular "
+            + "titles and authors starting with {prefix}, ignoring case and accents. "
+            + "For example: /books/suggest?prefix=harry&limit=10")
+    @GetMapping("/suggest")
+    BookSuggestionsDto suggest(@RequestParam @NotBlank String prefix,
+                               @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit);
+
+    @Operation(summary = "Get recommendations", description = "Get books that were most often "
+            + "bought together with the book, refreshed periodically from orders. "
+            + "For example: /books/1/recommendations?limit=10")
+    @GetMapping("/{bookId}/recommendations")
+    List<BookDto> getRecommendations(@PathVariable @Min(1) Long bookId,
+                                     @RequestParam(defaultValue = "10") @Min(1) @Max(50)
+                                     int limit);
+
+    @Operation(summary = "Get bestsellers", description = "Get the books with the most copies "
+            + "sold in the last {days} days (1-30, default 7), optionally within {categoryId}. "
+            + "Rankings are refreshed every minute. "
+            + "For example: /books/bestsellers?days=7&categoryId=1&limit=10")
+    @GetMapping("/bestsellers")
+    List<BookDto> getBestsellers(@RequestParam(defaultValue = "7") @Min(1) @Max(30) int days,
+                                 @RequestParam(required = false) @Min(1) Long categoryId,
+                                 @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit);
+
+    @Operation(summary = "Get trending books", description = "Get the books whose sales in the "
+            + "last {days} days (1-30, default 7) grew the most compared to the {days} days "
+            + "before, optionally within {categoryId}. Rankings are refreshed every minute. "
+            + "For example: /books/trending?days=7&limit=10")
+    @GetMapping("/trending")
+    List<BookDto> getTrending(@RequestParam(defaultValue = "7") @Min(1) @Max(30) int days,
+                              @RequestParam(required = false) @Min(1) Long categoryId,
+                              @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit);
+
+    @Operation(summary = "Search books by cursor", description = "Search books with the same "
+            + "parameters as /books/search without counting them. Start with an empty {cursor} "
+            + "and pass the returned {nextCursor} to get the next page. "
+            + "Sorting: {sort}=id (default), {sort}=title or {sort}=price, ascending only")
+    @GetMapping(value = "/search", params = "cursor")
+    CursorPageDto<BookDto> searchBooksByCursor(@Valid BookSearchParametersDto parametersDto,
+                                               @RequestParam String cursor, Pageable pageable);
 }
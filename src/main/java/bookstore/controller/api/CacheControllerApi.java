@@ -0,0 +1,17 @@
+package bookstore.controller.api;
+
+import bookstore.cache.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Map;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@RequestMapping("/caches")
+@Tag(name = "Cache management", description = "Endpoints for monitoring in-process caches")
+public interface CacheControllerApi {
+    @Operation(summary = "Get cache statistics", description = "Get size, hit, miss, load, "
+            + "eviction and invalidation counts of every in-process cache by cache name")
+    @GetMapping
+    Map<String, CacheStats> getStats();
+}
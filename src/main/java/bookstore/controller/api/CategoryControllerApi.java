@@ -4,6 +4,8 @@ import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.category.CategoryDto;
 import bookstore.dto.category.CreateCategoryRequestDto;
 import bookstore.dto.category.UpdateCategoryRequestDto;
+import bookstore.dto.page.CountMode;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.dto.page.PageDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,7 +20,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
 
 @RequestMapping("/categories")
 @Tag(name = "Category management", description = "Endpoints for managing categories")
@@ -32,9 +36,14 @@ public interface CategoryControllerApi {
             description = "Get a list of all available categories. "
                     + "Pagination: add a ? followed by the query {page}={value}&{size}={value} "
                     + "For example: /categories?page=0&size=10 "
-                    + "Sorting: add & followed by {sort}={field} or {sort}={field, DESC}")
+                    + "Sorting: add & followed by {sort}={field} or {sort}={field, DESC} "
+                    + "Totals: add & followed by {count}=EXACT (default), APPROXIMATE or NONE. "
+                    + "Send the returned ETag in If-None-Match to get 304 Not Modified while "
+                    + "the categories are unchanged")
     @GetMapping
-    PageDto<CategoryDto> getAll(Pageable pageable);
+    PageDto<CategoryDto> getAll(Pageable pageable,
+                                @RequestParam(defaultValue = "EXACT") CountMode count,
+                                WebRequest request);
 
     @Operation(summary = "Get a category by id", description = "Get a category by id")
     @GetMapping("/{categoryId}")
@@ -53,5 +62,16 @@ public interface CategoryControllerApi {
     @Operation(summary = "Find books by category", description = "Find all books by category id")
     @GetMapping("/{categoryId}/books")
     PageDto<BookDtoWithoutCategoryIds> getBooksByCategoryId(
-            @PathVariable @Min(1) Long categoryId, Pageable pageable);
+            @PathVariable @Min(1) Long categoryId, Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") CountMode count);
+
+    @Operation(summary = "Find books by category by cursor", description = "Find all books by "
+            + "category id without counting them. Start with an empty {cursor} and pass the "
+            + "returned {nextCursor} to get the next page. "
+            + "For example: /categories/1/books?cursor=&size=100 "
+            + "Sorting: {sort}=id (default), {sort}=title or {sort}=price, ascending only")
+    @GetMapping(value = "/{categoryId}/books", params = "cursor")
+    CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryIdByCursor(
+            @PathVariable @Min(1) Long categoryId, @RequestParam String cursor,
+            Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package bookstore.controller.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@RequestMapping("/covers")
+@Tag(name = "Cover images", description = "Endpoints for serving book cover images")
+public interface CoverControllerApi {
+    @Operation(summary = "Get a cover image", description = "Get the original cover image by the "
+            + "name from {coverImage}. Images never change, so the response can be cached "
+            + "forever. Supports Range requests")
+    @GetMapping("/{name}")
+    ResponseEntity<Resource> getCover(@PathVariable String name, HttpServletRequest request);
+
+    @Operation(summary = "Get a cover thumbnail", description = "Get a cover thumbnail by size "
+            + "(small or medium) and name, as listed in {thumbnails}. "
+            + "For example: /covers/small/{name}")
+    @GetMapping("/{size}/{name}")
+    ResponseEntity<Resource> getThumbnail(@PathVariable String size, @PathVariable String name,
+                                          HttpServletRequest request);
+}
@@ -4,6 +4,7 @@ import bookstore.dto.order.OrderAddressDto;
 import bookstore.dto.order.OrderDto;
 import bookstore.dto.order.OrderStatusDto;
 import bookstore.dto.orderitem.OrderItemDto;
+import bookstore.dto.page.CountMode;
 import bookstore.dto.page.PageDto;
 import bookstore.model.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RequestMapping("/orders")
 @Tag(name = "Order management", description = "Endpoints for managing orders")
@@ -36,7 +38,8 @@ public interface OrderControllerApi {
 
     @Operation(summary = "Get all orders", description = "Get all the current user's orders")
     @GetMapping
-    PageDto<OrderDto> getHistory(@AuthenticationPrincipal User user, Pageable pageable);
+    PageDto<OrderDto> getHistory(@AuthenticationPrincipal User user, Pageable pageable,
+                                 @RequestParam(defaultValue = "EXACT") CountMode count);
 
     @Operation(summary = "Update order status", description =
             "Specify one of the following statuses: NEW, PROCESSED, SHIPPED, DELIVERED, CANCELED")
@@ -49,7 +52,8 @@ public interface OrderControllerApi {
     @GetMapping("/{orderId}/items")
     PageDto<OrderItemDto> getOrderItems(@PathVariable @Min(1) Long orderId,
                                         @AuthenticationPrincipal User user,
-                                        Pageable pageable);
+                                        Pageable pageable,
+                                        @RequestParam(defaultValue = "EXACT") CountMode count);
 
     @Operation(summary = "Get order information", description = "Get order information by orderId")
     @GetMapping("/{orderId}")
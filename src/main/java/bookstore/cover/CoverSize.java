@@ -0,0 +1,50 @@
+package bookstore.cover;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public enum CoverSize {
+    SMALL(160),
+    MEDIUM(320);
+
+    public static final String URL_PREFIX = "/covers/";
+    private final int width;
+
+    CoverSize(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public String getPathSegment() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static CoverSize fromPathSegment(String pathSegment) {
+        for (CoverSize size : values()) {
+            if (size.getPathSegment().equals(pathSegment)) {
+                return size;
+            }
+        }
+        return null;
+    }
+
+    public static String toUrl(String name) {
+        return URL_PREFIX + name;
+    }
+
+    public static Map<String, String> thumbnailUrls(String coverImage) {
+        Map<String, String> thumbnails = new LinkedHashMap<>();
+        if (coverImage == null || !coverImage.startsWith(URL_PREFIX)) {
+            return thumbnails;
+        }
+        String name = coverImage.substring(URL_PREFIX.length());
+        for (CoverSize size : values()) {
+            thumbnails.put(size.getPathSegment(), URL_PREFIX + size.getPathSegment() + "/" + name);
+        }
+        return thumbnails;
+    }
+}
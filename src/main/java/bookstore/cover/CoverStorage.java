@@ -0,0 +1,238 @@
+package bookstore.cover;
+
+import bookstore.exception.CoverImageException;
+import bookstore.exception.EntityNotFoundException;
+import jakarta.annotation.PreDestroy;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CoverStorage {
+    private static final Pattern NAME_PATTERN = Pattern.compile("[0-9a-f]{64}\\.(jpg|png)");
+    private static final String ORIGINALS_DIRECTORY = "originals";
+    private static final String JPEG_FORMAT = "jpeg";
+    private static final String PNG_FORMAT = "png";
+    private static final String JPG_EXTENSION = "jpg";
+    private static final String UNSUPPORTED_FORMAT_MESSAGE =
+            "A cover image must be a JPEG or PNG image";
+    private static final String TOO_LARGE_MESSAGE =
+            "A cover image must not have more than {0} pixels";
+    private static final String STORE_FAILED_MESSAGE = "Can't store the cover image";
+    private static final String COVER_NOT_FOUND_MESSAGE = "A cover {0} does not exist";
+    private final Path directory;
+    private final Path originals;
+    private final ThreadPoolExecutor thumbnailWorkers;
+    private final long maxPixels;
+
+    public CoverStorage(
+            @Value("${book.covers.directory:covers}") String directory,
+            @Value("${book.covers.thumbnailThreads:2}") int thumbnailThreads,
+            @Value("${book.covers.thumbnailQueueCapacity:100}") int thumbnailQueueCapacity,
+            @Value("${book.covers.maxPixels:25000000}") long maxPixels
+    ) throws IOException {
+        this.directory = Path.of(directory).toAbsolutePath();
+        this.maxPixels = maxPixels;
+        this.originals = Files.createDirectories(this.directory.resolve(ORIGINALS_DIRECTORY));
+        for (CoverSize size : CoverSize.values()) {
+            Files.createDirectories(this.directory.resolve(size.getPathSegment()));
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.thumbnailWorkers = new ThreadPoolExecutor(thumbnailThreads, thumbnailThreads,
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(thumbnailQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "cover-thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String store(InputStream content) {
+        Path upload = null;
+        try {
+            upload = Files.createTempFile(directory, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream digestStream = new DigestInputStream(content, digest)) {
+                Files.copy(digestStream, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + "."
+                    + toExtension(detectFormat(upload));
+            Path original = originals.resolve(name);
+            if (Files.exists(original)) {
+                Files.delete(upload);
+            } else {
+                Files.move(upload, original, StandardCopyOption.ATOMIC_MOVE);
+            }
+            generateThumbnails(name);
+            return name;
+        } catch (IOException ex) {
+            throw new CoverImageException(STORE_FAILED_MESSAGE, ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            deleteIfExists(upload);
+        }
+    }
+
+    public CompletableFuture<Void> generateThumbnails(String name) {
+        Path original = getOriginal(name);
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    writeThumbnails(original, name);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, thumbnailWorkers);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    public Path getOriginal(String name) {
+        return resolve(originals, name);
+    }
+
+    public Path getThumbnail(CoverSize size, String name) {
+        return resolve(directory.resolve(size.getPathSegment()), name);
+    }
+
+    public static MediaType getMediaType(String name) {
+        return name.endsWith(JPG_EXTENSION) ? MediaType.IMAGE_JPEG : MediaType.IMAGE_PNG;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailWorkers.shutdown();
+    }
+
+    private void writeThumbnails(Path original, String name) throws IOException {
+        BufferedImage image = readImage(original);
+        String format = name.endsWith(JPG_EXTENSION) ? JPEG_FORMAT : PNG_FORMAT;
+        for (CoverSize size : CoverSize.values()) {
+            Path thumbnail = getThumbnail(size, name);
+            if (Files.exists(thumbnail)) {
+                continue;
+            }
+            Path temporary = Files.createTempFile(thumbnail.getParent(), "thumbnail-", ".tmp");
+            try {
+                ImageIO.write(resize(image, size.getWidth(), format), format,
+                        temporary.toFile());
+                Files.move(temporary, thumbnail, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                deleteIfExists(temporary);
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage image, int maxWidth, String format) {
+        int width = Math.min(maxWidth, image.getWidth());
+        int height = Math.max(1, Math.round((float) image.getHeight() * width
+                / image.getWidth()));
+        BufferedImage thumbnail = new BufferedImage(width, height, JPEG_FORMAT.equals(format)
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private String detectFormat(Path upload) throws IOException {
+        try (ImageInputStream imageStream = ImageIO.createImageInputStream(upload.toFile())) {
+            ImageReader reader = getReader(imageStream);
+            try {
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (!JPEG_FORMAT.equals(format) && !PNG_FORMAT.equals(format)) {
+                    throw new CoverImageException(UNSUPPORTED_FORMAT_MESSAGE);
+                }
+                checkDimensions(reader);
+                return format;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage readImage(Path original) throws IOException {
+        try (ImageInputStream imageStream = ImageIO.createImageInputStream(original.toFile())) {
+            ImageReader reader = getReader(imageStream);
+            try {
+                checkDimensions(reader);
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageReader getReader(ImageInputStream imageStream) {
+        Iterator<ImageReader> readers = imageStream == null
+                ? null : ImageIO.getImageReaders(imageStream);
+        if (readers == null || !readers.hasNext()) {
+            throw new CoverImageException(UNSUPPORTED_FORMAT_MESSAGE);
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(imageStream, true, true);
+        return reader;
+    }
+
+    private void checkDimensions(ImageReader reader) throws IOException {
+        if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+            throw new CoverImageException(MessageFormat.format(TOO_LARGE_MESSAGE, maxPixels));
+        }
+    }
+
+    private String toExtension(String format) {
+        return JPEG_FORMAT.equals(format) ? JPG_EXTENSION : PNG_FORMAT;
+    }
+
+    private Path resolve(Path parent, String name) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new EntityNotFoundException(COVER_NOT_FOUND_MESSAGE, name);
+        }
+        return parent.resolve(name);
+    }
+
+    private void deleteIfExists(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            path.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package bookstore.dto.book;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record AddBookStockRequestDto(
+        @NotNull
+        @Positive
+        Integer quantity
+) {
+}
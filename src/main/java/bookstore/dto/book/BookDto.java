@@ -3,6 +3,7 @@ package bookstore.dto.book;
 import jakarta.validation.constraints.Min;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public record BookDto(
         Long bookId,
@@ -12,6 +13,7 @@ public record BookDto(
         BigDecimal price,
         String description,
         String coverImage,
+        Map<String, String> thumbnails,
         List<@Min(1) Long> categoryIds
 ) {
 }
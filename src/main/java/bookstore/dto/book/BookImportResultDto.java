@@ -0,0 +1,11 @@
+package bookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(
+        Integer total,
+        Integer created,
+        Integer rejected,
+        List<BookImportRowDto> rows
+) {
+}
@@ -0,0 +1,24 @@
+package bookstore.dto.book;
+
+import java.util.List;
+
+public record BookImportRowDto(
+        Long rowNumber,
+        Status status,
+        Long bookId,
+        String isbn,
+        List<String> errors
+) {
+    public static BookImportRowDto created(long rowNumber, Long bookId, String isbn) {
+        return new BookImportRowDto(rowNumber, Status.CREATED, bookId, isbn, List.of());
+    }
+
+    public static BookImportRowDto rejected(long rowNumber, String isbn, List<String> errors) {
+        return new BookImportRowDto(rowNumber, Status.REJECTED, null, isbn, errors);
+    }
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
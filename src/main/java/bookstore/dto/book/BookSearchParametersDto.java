@@ -2,6 +2,7 @@ package bookstore.dto.book;
 
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import java.util.List;
 
 public record BookSearchParametersDto(
         String title,
@@ -11,7 +12,13 @@ public record BookSearchParametersDto(
         @Positive
         Integer minPrice,
         @Positive
-        Integer maxPrice
+        Integer maxPrice,
+        String keywords,
+        Boolean fuzzy,
+        List<@Positive Long> categoryIds,
+        List<String> authors,
+        List<@Pattern(regexp = ISBN_REGEXP, message = "must be 10 or 13 digit ISBN code")
+                String> isbns
 ) {
     private static final String ISBN_REGEXP = "^(?:ISBN(?:-1[03])?:? )?(?=[-0-9 ]{17}$|[-0-9X ]"
             + "{13}$|[0-9X]{10}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?(?:[0-9]+[- ]?){2}[0-9X]$";
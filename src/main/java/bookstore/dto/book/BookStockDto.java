@@ -0,0 +1,7 @@
+package bookstore.dto.book;
+
+public record BookStockDto(
+        Long bookId,
+        Integer stock
+) {
+}
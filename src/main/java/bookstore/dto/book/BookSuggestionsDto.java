@@ -0,0 +1,9 @@
+package bookstore.dto.book;
+
+import java.util.List;
+
+public record BookSuggestionsDto(
+        List<String> titles,
+        List<String> authors
+) {
+}
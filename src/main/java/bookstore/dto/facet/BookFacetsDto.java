@@ -0,0 +1,9 @@
+package bookstore.dto.facet;
+
+import java.util.List;
+
+public record BookFacetsDto(
+        List<CategoryFacetDto> categories,
+        List<PriceBucketFacetDto> priceBuckets
+) {
+}
@@ -0,0 +1,8 @@
+package bookstore.dto.facet;
+
+public record CategoryFacetDto(
+        Long categoryId,
+        String name,
+        Long count
+) {
+}
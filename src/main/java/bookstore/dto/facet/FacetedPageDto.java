@@ -0,0 +1,9 @@
+package bookstore.dto.facet;
+
+import bookstore.dto.page.PageDto;
+
+public record FacetedPageDto<T>(
+        PageDto<T> page,
+        BookFacetsDto facets
+) {
+}
@@ -0,0 +1,10 @@
+package bookstore.dto.facet;
+
+import java.math.BigDecimal;
+
+public record PriceBucketFacetDto(
+        BigDecimal from,
+        BigDecimal to,
+        Long count
+) {
+}
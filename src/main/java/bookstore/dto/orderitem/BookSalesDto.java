@@ -0,0 +1,7 @@
+package bookstore.dto.orderitem;
+
+public record BookSalesDto(
+        Long bookId,
+        Long quantity
+) {
+}
@@ -0,0 +1,11 @@
+package bookstore.dto.page;
+
+import java.util.List;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+public class ApproximatePage<T> extends PageImpl<T> {
+    public ApproximatePage(List<T> content, Pageable pageable, long approximateTotal) {
+        super(content, pageable, approximateTotal);
+    }
+}
@@ -0,0 +1,7 @@
+package bookstore.dto.page;
+
+public enum CountMode {
+    EXACT,
+    APPROXIMATE,
+    NONE
+}
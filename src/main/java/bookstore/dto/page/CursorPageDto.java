@@ -0,0 +1,11 @@
+package bookstore.dto.page;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> content,
+        Integer pageSize,
+        String nextCursor,
+        Boolean last
+) {
+}
@@ -9,6 +9,7 @@ public record PageDto<T>(
         Long totalElements,
         Integer totalPages,
         Boolean first,
-        Boolean last
+        Boolean last,
+        Boolean totalExact
 ) {
 }
@@ -0,0 +1,11 @@
+package bookstore.exception;
+
+public class CoverImageException extends RuntimeException {
+    public CoverImageException(String message) {
+        super(message);
+    }
+
+    public CoverImageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.StreamSupport;
 import lombok.NonNull;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -104,6 +105,13 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    protected ResponseEntity<Object> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex) {
+        Map<String, Object> body = createHttpResponseBody(HttpStatus.CONFLICT, ex);
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     protected ResponseEntity<Object> handleIllegalStateException(
             IllegalStateException ex) {
@@ -111,6 +119,36 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(AuthenticationException.class)
+    protected ResponseEntity<Object> handleAuthenticationException(AuthenticationException ex) {
+        Map<String, Object> body = createHttpResponseBody(HttpStatus.UNAUTHORIZED, ex);
+        return new ResponseEntity<>(body, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    protected ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex) {
+        Map<String, Object> body = createHttpResponseBody(HttpStatus.BAD_REQUEST, ex);
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BookImportException.class)
+    protected ResponseEntity<Object> handleBookImportException(BookImportException ex) {
+        Map<String, Object> body = createHttpResponseBody(HttpStatus.BAD_REQUEST, ex);
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CoverImageException.class)
+    protected ResponseEntity<Object> handleCoverImageException(CoverImageException ex) {
+        Map<String, Object> body = createHttpResponseBody(HttpStatus.BAD_REQUEST, ex);
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OutOfStockException.class)
+    protected ResponseEntity<Object> handleOutOfStockException(OutOfStockException ex) {
+        Map<String, Object> body = createHttpResponseBody(HttpStatus.CONFLICT, ex);
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(JwtException.class)
     public ResponseEntity<Object> handleJwtException(JwtException ex) {
         Map<String, Object> body = createHttpResponseBody(HttpStatus.BAD_REQUEST, ex);
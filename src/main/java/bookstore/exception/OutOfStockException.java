@@ -0,0 +1,13 @@
+package bookstore.exception;
+
+import java.text.MessageFormat;
+
+public class OutOfStockException extends RuntimeException {
+    public OutOfStockException(String message) {
+        super(message);
+    }
+
+    public OutOfStockException(String message, Object... args) {
+        super(MessageFormat.format(message, args));
+    }
+}
@@ -0,0 +1,38 @@
+package bookstore.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Writer;
+import org.springframework.http.MediaType;
+
+public enum BookExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson") {
+        @Override
+        public BookRowWriter createWriter(Writer writer, ObjectMapper objectMapper) {
+            return new NdjsonBookRowWriter(writer, objectMapper);
+        }
+    },
+    CSV(new MediaType("text", "csv"), "csv") {
+        @Override
+        public BookRowWriter createWriter(Writer writer, ObjectMapper objectMapper) {
+            return new CsvBookRowWriter(writer);
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    BookExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public abstract BookRowWriter createWriter(Writer writer, ObjectMapper objectMapper);
+}
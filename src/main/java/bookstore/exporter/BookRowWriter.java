@@ -0,0 +1,10 @@
+package bookstore.exporter;
+
+import bookstore.dto.book.BookDto;
+import java.io.IOException;
+
+public interface BookRowWriter {
+    void write(BookDto book) throws IOException;
+
+    void flush() throws IOException;
+}
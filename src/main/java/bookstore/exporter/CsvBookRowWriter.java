@@ -0,0 +1,63 @@
+package bookstore.exporter;
+
+import bookstore.dto.book.BookDto;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+public class CsvBookRowWriter implements BookRowWriter {
+    private static final String HEADER =
+            "id,title,author,isbn,price,description,coverImage,categoryIds\r\n";
+    private static final String CATEGORY_IDS_SEPARATOR = ";";
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private final Writer writer;
+    private boolean headerWritten;
+
+    public CsvBookRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(BookDto book) throws IOException {
+        if (!headerWritten) {
+            writer.write(HEADER);
+            headerWritten = true;
+        }
+        writer.write(String.valueOf(book.bookId()));
+        writeField(book.title());
+        writeField(book.author());
+        writeField(book.isbn());
+        writeField(book.price() == null ? null : book.price().toPlainString());
+        writeField(book.description());
+        writeField(book.coverImage());
+        writeField(book.categoryIds().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(CATEGORY_IDS_SEPARATOR)));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!headerWritten) {
+            writer.write(HEADER);
+            headerWritten = true;
+        }
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        writer.write(SEPARATOR);
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf(QUOTE) < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write(QUOTE);
+        writer.write(value.replace("\"", "\"\""));
+        writer.write(QUOTE);
+    }
+}
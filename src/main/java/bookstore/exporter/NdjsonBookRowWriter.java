@@ -0,0 +1,27 @@
+package bookstore.exporter;
+
+import bookstore.dto.book.BookDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Writer;
+
+public class NdjsonBookRowWriter implements BookRowWriter {
+    private final Writer writer;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonBookRowWriter(Writer writer, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void write(BookDto book) throws IOException {
+        writer.write(objectMapper.writeValueAsString(book));
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
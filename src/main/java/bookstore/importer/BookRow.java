@@ -0,0 +1,21 @@
+package bookstore.importer;
+
+import bookstore.dto.book.CreateBookRequestDto;
+
+public record BookRow(
+        long rowNumber,
+        CreateBookRequestDto book,
+        String error
+) {
+    public static BookRow parsed(long rowNumber, CreateBookRequestDto book) {
+        return new BookRow(rowNumber, book, null);
+    }
+
+    public static BookRow malformed(long rowNumber, String error) {
+        return new BookRow(rowNumber, null, error);
+    }
+
+    public boolean isMalformed() {
+        return error != null;
+    }
+}
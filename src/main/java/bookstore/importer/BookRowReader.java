@@ -0,0 +1,8 @@
+package bookstore.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface BookRowReader extends Closeable {
+    BookRow read() throws IOException;
+}
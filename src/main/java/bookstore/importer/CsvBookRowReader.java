@@ -0,0 +1,151 @@
+package bookstore.importer;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.exception.BookImportException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CsvBookRowReader implements BookRowReader {
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String ISBN = "isbn";
+    private static final String PRICE = "price";
+    private static final String DESCRIPTION = "description";
+    private static final String COVER_IMAGE = "coverImage";
+    private static final String CATEGORY_IDS = "categoryIds";
+    private static final List<String> REQUIRED_COLUMNS = List.of(TITLE, AUTHOR, ISBN, PRICE);
+    private static final String CATEGORY_IDS_SEPARATOR = ";";
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final String MISSING_COLUMNS_MESSAGE =
+            "The CSV header must contain the columns ";
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long rowNumber;
+
+    public CsvBookRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public BookRow read() throws IOException {
+        if (columns == null) {
+            columns = readHeader();
+        }
+        List<String> record = readRecord();
+        while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+            record = readRecord();
+        }
+        if (record == null) {
+            return null;
+        }
+        rowNumber++;
+        if (record.size() > columns.size()) {
+            return BookRow.malformed(rowNumber, "Expected at most " + columns.size()
+                    + " columns, but got " + record.size());
+        }
+        try {
+            return BookRow.parsed(rowNumber, new CreateBookRequestDto(
+                    value(record, TITLE),
+                    value(record, AUTHOR),
+                    value(record, ISBN),
+                    toPrice(value(record, PRICE)),
+                    value(record, DESCRIPTION),
+                    value(record, COVER_IMAGE),
+                    toCategoryIds(value(record, CATEGORY_IDS))));
+        } catch (NumberFormatException ex) {
+            return BookRow.malformed(rowNumber, "Invalid number: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        List<String> header = readRecord();
+        Map<String, Integer> headerColumns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                headerColumns.put(header.get(i).strip(), i);
+            }
+        }
+        if (!headerColumns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new BookImportException(MISSING_COLUMNS_MESSAGE + REQUIRED_COLUMNS);
+        }
+        return headerColumns;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int next = reader.read();
+        if (next == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (next != -1) {
+            char character = (char) next;
+            if (quoted) {
+                if (character == QUOTE) {
+                    reader.mark(1);
+                    if (reader.read() == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append(character);
+                }
+            } else if (character == QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (character == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (character == '\n') {
+                break;
+            } else if (character != '\r') {
+                field.append(character);
+            }
+            next = reader.read();
+        }
+        if (quoted) {
+            throw new BookImportException("Unterminated quoted field in CSV row "
+                    + (rowNumber + 1));
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private BigDecimal toPrice(String price) {
+        return price == null ? null : new BigDecimal(price);
+    }
+
+    private List<Long> toCategoryIds(String categoryIds) {
+        if (categoryIds == null) {
+            return List.of();
+        }
+        return Arrays.stream(categoryIds.split(CATEGORY_IDS_SEPARATOR))
+                .map(String::strip)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+    }
+}
@@ -0,0 +1,41 @@
+package bookstore.importer;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public class NdjsonBookRowReader implements BookRowReader {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long rowNumber;
+
+    public NdjsonBookRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public BookRow read() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        rowNumber++;
+        try {
+            return BookRow.parsed(rowNumber,
+                    objectMapper.readValue(line, CreateBookRequestDto.class));
+        } catch (JsonProcessingException ex) {
+            return BookRow.malformed(rowNumber, ex.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
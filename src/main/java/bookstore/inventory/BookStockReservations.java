@@ -0,0 +1,341 @@
+package bookstore.inventory;
+
+import bookstore.exception.OutOfStockException;
+import bookstore.model.Order;
+import bookstore.model.OrderItem;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class BookStockReservations {
+    private static final String RESERVE_SQL = "UPDATE books SET stock = stock - ? "
+            + "WHERE id = ? AND (stock IS NULL OR stock >= ?)";
+    private static final String LEASE_SQL =
+            "UPDATE books SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String RELEASE_SQL =
+            "UPDATE books SET stock = stock + ? WHERE id = ? AND stock IS NOT NULL";
+    private static final String ADD_STOCK_SQL =
+            "UPDATE books SET stock = COALESCE(stock, 0) + ? WHERE id = ?";
+    private static final String SELECT_STOCK_SQL = "SELECT stock FROM books WHERE id = ?";
+    private static final String INSERT_LEASE_SQL = "INSERT INTO book_stock_leases "
+            + "(book_id, node_id, units, created_at) VALUES (?, ?, ?, ?)";
+    private static final String ADD_LEASE_UNITS_SQL =
+            "UPDATE book_stock_leases SET units = units + ? WHERE id = ?";
+    private static final String RETURN_LEASE_UNITS_SQL =
+            "UPDATE book_stock_leases SET units = units - ? WHERE id = ?";
+    private static final String RETIRE_LEASE_SQL =
+            "UPDATE book_stock_leases SET units = units - ?, retired = true WHERE id = ?";
+    private static final String DELETE_SETTLED_LEASE_SQL = "DELETE FROM book_stock_leases "
+            + "WHERE id = ? AND units <= (SELECT COALESCE(SUM(quantity), 0) FROM order_items "
+            + "WHERE stock_lease_id = book_stock_leases.id)";
+    private static final String SELECT_UNSETTLED_LEASES_SQL = "SELECT l.id, l.book_id, "
+            + "l.units - COALESCE(SUM(oi.quantity), 0) AS unsold FROM book_stock_leases l "
+            + "LEFT JOIN order_items oi ON oi.stock_lease_id = l.id "
+            + "WHERE l.node_id = ? AND l.created_at < ? GROUP BY l.id, l.book_id, l.units";
+    private static final String DELETE_LEASE_SQL = "DELETE FROM book_stock_leases WHERE id = ?";
+    private static final String OUT_OF_STOCK_MESSAGE =
+            "A book with id {0} has less than {1} copies in stock";
+    private static final String MISSING_NODE_ID_MESSAGE = "book.stock.ledger.nodeId must be "
+            + "set to an id unique to this node when book.stock.ledger.enabled is true";
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 5;
+    private final Map<Long, StripedStock> ledger = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> demand = new ConcurrentHashMap<>();
+    private final Set<Long> unsettledLeases = ConcurrentHashMap.newKeySet();
+    private final ExecutorService leaser = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-stock-leaser");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leaseTemplate;
+    private final boolean ledgerEnabled;
+    private final int hotThreshold;
+    private final int leaseSize;
+    private final int stripes;
+    private final String nodeId;
+    private final Timestamp startedAt = new Timestamp(System.currentTimeMillis());
+
+    public BookStockReservations(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${book.stock.ledger.enabled:false}") boolean ledgerEnabled,
+            @Value("${book.stock.ledger.hotThreshold:50}") int hotThreshold,
+            @Value("${book.stock.ledger.leaseSize:20}") int leaseSize,
+            @Value("${book.stock.ledger.stripes:8}") int stripes,
+            @Value("${book.stock.ledger.nodeId:}") String nodeId
+    ) {
+        if (ledgerEnabled && (nodeId == null || nodeId.isBlank())) {
+            throw new IllegalStateException(MISSING_NODE_ID_MESSAGE);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTemplate = new TransactionTemplate(transactionManager);
+        this.leaseTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ledgerEnabled = ledgerEnabled;
+        this.hotThreshold = hotThreshold;
+        this.leaseSize = leaseSize;
+        this.stripes = stripes;
+        this.nodeId = nodeId;
+    }
+
+    public void reserve(Order order) {
+        Map<Long, StripedStock> fromLedger = new TreeMap<>();
+        Map<Long, Integer> quantities = quantities(order.getOrderItems());
+        Set<Long> deducted = new HashSet<>();
+        try {
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                Long bookId = entry.getKey();
+                int quantity = entry.getValue();
+                StripedStock stock = takeFromLedger(bookId, quantity);
+                if (stock != null) {
+                    fromLedger.put(bookId, stock);
+                } else if (jdbcTemplate.update(RESERVE_SQL, quantity, bookId, quantity) == 0) {
+                    throw new OutOfStockException(OUT_OF_STOCK_MESSAGE, bookId, quantity);
+                } else if (jdbcTemplate.queryForObject(SELECT_STOCK_SQL, Integer.class,
+                        bookId) != null) {
+                    deducted.add(bookId);
+                }
+            }
+        } catch (RuntimeException ex) {
+            fromLedger.forEach((bookId, stock) -> give(bookId, stock, quantities.get(bookId)));
+            throw ex;
+        }
+        for (OrderItem item : order.getOrderItems()) {
+            Long bookId = item.getBook().getId();
+            StripedStock stock = fromLedger.get(bookId);
+            item.setStockReserved(stock != null || deducted.contains(bookId));
+            item.setStockLeaseId(stock == null ? null : stock.leaseId());
+        }
+        if (!fromLedger.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status != STATUS_COMMITTED) {
+                                fromLedger.forEach((bookId, stock) ->
+                                        give(bookId, stock, quantities.get(bookId)));
+                            }
+                        }
+                    });
+        }
+    }
+
+    public void release(Order order) {
+        List<OrderItem> reservedItems = order.getOrderItems().stream()
+                .filter(OrderItem::isStockReserved)
+                .toList();
+        quantities(reservedItems).forEach((bookId, quantity) ->
+                jdbcTemplate.update(RELEASE_SQL, quantity, bookId));
+        reservedItems.forEach(item -> item.setStockReserved(false));
+    }
+
+    public void addStock(Long bookId, int quantity) {
+        jdbcTemplate.update(ADD_STOCK_SQL, quantity, bookId);
+    }
+
+    public Integer getStock(Long bookId) {
+        Integer stock = jdbcTemplate.queryForObject(SELECT_STOCK_SQL, Integer.class, bookId);
+        StripedStock leased = ledger.get(bookId);
+        if (stock == null || leased == null) {
+            return stock;
+        }
+        return stock + leased.available();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        leaseTemplate.executeWithoutResult(status -> {
+            List<Object[]> returns = new ArrayList<>();
+            List<Object[]> leaseIds = new ArrayList<>();
+            jdbcTemplate.query(SELECT_UNSETTLED_LEASES_SQL, resultSet -> {
+                int unsold = resultSet.getInt("unsold");
+                if (unsold > 0) {
+                    returns.add(new Object[]{unsold, resultSet.getLong("book_id")});
+                }
+                leaseIds.add(new Object[]{resultSet.getLong("id")});
+            }, nodeId, startedAt);
+            if (!returns.isEmpty()) {
+                jdbcTemplate.batchUpdate(RELEASE_SQL, returns);
+            }
+            if (!leaseIds.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_LEASE_SQL, leaseIds);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${book.stock.ledger.flushIntervalInMillis:1000}")
+    public void flush() {
+        if (!ledgerEnabled) {
+            return;
+        }
+        List<Object[]> returns = new ArrayList<>();
+        List<Object[]> retiredLeases = new ArrayList<>();
+        Iterator<Map.Entry<Long, StripedStock>> iterator = ledger.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, StripedStock> entry = iterator.next();
+            StripedStock stock = entry.getValue();
+            LongAdder bookDemand = demand.get(entry.getKey());
+            if (bookDemand != null && bookDemand.sum() >= hotThreshold) {
+                stock.resetLeasable();
+                continue;
+            }
+            iterator.remove();
+            stock.retire();
+            int units = stock.drain();
+            if (units > 0) {
+                returns.add(new Object[]{units, entry.getKey()});
+            }
+            if (stock.leaseId() != null) {
+                retiredLeases.add(new Object[]{units, stock.leaseId()});
+                unsettledLeases.add(stock.leaseId());
+            }
+        }
+        demand.clear();
+        if (returns.isEmpty() && unsettledLeases.isEmpty()) {
+            return;
+        }
+        List<Long> settling = List.copyOf(unsettledLeases);
+        int[] deleted = leaseTemplate.execute(status -> {
+            if (!returns.isEmpty()) {
+                jdbcTemplate.batchUpdate(RELEASE_SQL, returns);
+            }
+            if (!retiredLeases.isEmpty()) {
+                jdbcTemplate.batchUpdate(RETIRE_LEASE_SQL, retiredLeases);
+            }
+            return jdbcTemplate.batchUpdate(DELETE_SETTLED_LEASE_SQL, settling.stream()
+                    .map(leaseId -> new Object[]{leaseId})
+                    .toList());
+        });
+        for (int i = 0; i < settling.size(); i++) {
+            if (deleted[i] > 0) {
+                unsettledLeases.remove(settling.get(i));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        leaser.shutdown();
+        leaser.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        demand.clear();
+        flush();
+    }
+
+    private StripedStock takeFromLedger(Long bookId, int quantity) {
+        StripedStock stock = hotStock(bookId);
+        if (stock == null) {
+            return null;
+        }
+        if (stock.tryTake(quantity)) {
+            return stock;
+        }
+        if (stock.startLease()) {
+            leaser.execute(() -> lease(bookId, stock));
+        }
+        int held = stock.drain();
+        if (held >= quantity) {
+            give(bookId, stock, held - quantity);
+            return stock;
+        }
+        give(bookId, stock, held);
+        return null;
+    }
+
+    private StripedStock hotStock(Long bookId) {
+        if (!ledgerEnabled) {
+            return null;
+        }
+        LongAdder bookDemand = demand.computeIfAbsent(bookId, id -> new LongAdder());
+        bookDemand.increment();
+        StripedStock stock = ledger.get(bookId);
+        if (stock == null && bookDemand.sum() >= hotThreshold) {
+            stock = ledger.computeIfAbsent(bookId, id -> new StripedStock(stripes));
+        }
+        return stock;
+    }
+
+    private void lease(Long bookId, StripedStock stock) {
+        boolean leased = false;
+        try {
+            Long leaseId = leaseTemplate.execute(status ->
+                    jdbcTemplate.update(LEASE_SQL, leaseSize, bookId, leaseSize) == 1
+                            ? recordLease(bookId, stock.leaseId())
+                            : null);
+            leased = leaseId != null;
+            if (leased) {
+                stock.assignLease(leaseId);
+                give(bookId, stock, leaseSize);
+            }
+        } finally {
+            stock.finishLease(leased);
+        }
+    }
+
+    private Long recordLease(Long bookId, Long leaseId) {
+        if (leaseId != null) {
+            jdbcTemplate.update(ADD_LEASE_UNITS_SQL, leaseSize, leaseId);
+            return leaseId;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_LEASE_SQL,
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, bookId);
+            statement.setString(2, nodeId);
+            statement.setInt(3, leaseSize);
+            statement.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private void give(Long bookId, StripedStock stock, int units) {
+        if (units > 0 && !stock.give(units)) {
+            int orphaned = stock.drain();
+            leaser.execute(() -> returnToDatabase(bookId, stock.leaseId(), orphaned));
+        }
+    }
+
+    private void returnToDatabase(Long bookId, Long leaseId, int units) {
+        if (units > 0) {
+            leaseTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(RELEASE_SQL, units, bookId);
+                jdbcTemplate.update(RETURN_LEASE_UNITS_SQL, units, leaseId);
+            });
+        }
+    }
+
+    private Map<Long, Integer> quantities(Iterable<OrderItem> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getBook().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
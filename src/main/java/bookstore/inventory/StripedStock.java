@@ -0,0 +1,85 @@
+package bookstore.inventory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+final class StripedStock {
+    private static final int PADDING = 16;
+    private final AtomicIntegerArray stripes;
+    private final int mask;
+    private final AtomicBoolean leasing = new AtomicBoolean();
+    private volatile boolean leasable = true;
+    private volatile boolean retired;
+    private volatile Long leaseId;
+
+    StripedStock(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount * 2 - 1));
+        this.stripes = new AtomicIntegerArray(size * PADDING);
+        this.mask = size - 1;
+    }
+
+    boolean tryTake(int quantity) {
+        int home = home();
+        for (int i = 0; i <= mask; i++) {
+            int index = ((home + i) & mask) * PADDING;
+            int units = stripes.get(index);
+            while (units >= quantity) {
+                if (stripes.compareAndSet(index, units, units - quantity)) {
+                    return true;
+                }
+                units = stripes.get(index);
+            }
+        }
+        return false;
+    }
+
+    boolean give(int units) {
+        stripes.addAndGet(home() * PADDING, units);
+        return !retired;
+    }
+
+    int drain() {
+        int units = 0;
+        for (int i = 0; i <= mask; i++) {
+            units += stripes.getAndSet(i * PADDING, 0);
+        }
+        return units;
+    }
+
+    int available() {
+        int units = 0;
+        for (int i = 0; i <= mask; i++) {
+            units += stripes.get(i * PADDING);
+        }
+        return units;
+    }
+
+    boolean startLease() {
+        return leasable && !retired && leasing.compareAndSet(false, true);
+    }
+
+    void finishLease(boolean leased) {
+        leasable = leased;
+        leasing.set(false);
+    }
+
+    void resetLeasable() {
+        leasable = true;
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    Long leaseId() {
+        return leaseId;
+    }
+
+    void assignLease(Long leaseId) {
+        this.leaseId = leaseId;
+    }
+
+    private int home() {
+        return (int) Thread.currentThread().threadId() & mask;
+    }
+}
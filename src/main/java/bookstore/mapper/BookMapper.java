@@ -1,6 +1,7 @@
 package bookstore.mapper;
 
 import bookstore.config.MapperConfig;
+import bookstore.cover.CoverSize;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParametersDto;
@@ -9,6 +10,7 @@ import bookstore.dto.book.UpdateBookRequestDto;
 import bookstore.model.Book;
 import bookstore.model.Category;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.mapstruct.AfterMapping;
@@ -21,8 +23,12 @@ import org.mapstruct.Named;
 public interface BookMapper {
     @Mapping(target = "categoryIds", source = "categories", qualifiedByName = "setCategoryIds")
     @Mapping(target = "bookId", source = "id")
+    @Mapping(target = "thumbnails", source = "coverImage", qualifiedByName = "setThumbnails")
     BookDto toDto(Book book);
 
+    @Mapping(target = "thumbnails", source = "book.coverImage", qualifiedByName = "setThumbnails")
+    BookDto toDto(BookDtoWithoutCategoryIds book, List<Long> categoryIds);
+
     @Named("setCategoryIds")
     default List<Long> setCategoryIds(Set<Category> categories) {
         return categories.stream()
@@ -30,17 +36,25 @@ public interface BookMapper {
                 .toList();
     }
 
+    @Named("setThumbnails")
+    default Map<String, String> setThumbnails(String coverImage) {
+        return CoverSize.thumbnailUrls(coverImage);
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "isbn", source = "isbn", qualifiedByName = "formatIsbn")
     Book toModel(CreateBookRequestDto requestDto);
 
     @Mapping(target = "isbn", source = "isbn", qualifiedByName = "formatIsbn")
+    @Mapping(target = "isbns", source = "isbns", qualifiedByName = "formatIsbns")
     BookSearchParametersDto formatParametersDto(BookSearchParametersDto parametersDto);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "isbn", source = "isbn", qualifiedByName = "formatIsbn")
     void updateBookFromDto(@MappingTarget Book book, UpdateBookRequestDto requestDto);
@@ -68,4 +82,14 @@ public interface BookMapper {
     default String formatIsbn(String rawIsbn) {
         return rawIsbn.toUpperCase().replaceAll("[^0-9X]", "");
     }
+
+    @Named("formatIsbns")
+    default List<String> formatIsbns(List<String> rawIsbns) {
+        if (rawIsbns == null) {
+            return null;
+        }
+        return rawIsbns.stream()
+                .map(this::formatIsbn)
+                .toList();
+    }
 }
@@ -43,6 +43,8 @@ public interface CartItemMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "order", ignore = true)
     @Mapping(target = "price", ignore = true)
+    @Mapping(target = "stockReserved", ignore = true)
+    @Mapping(target = "stockLeaseId", ignore = true)
     OrderItem toOrderItem(CartItem cartItem);
 
     @AfterMapping
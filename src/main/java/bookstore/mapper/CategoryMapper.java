@@ -16,9 +16,11 @@ public interface CategoryMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Category toModel(CreateCategoryRequestDto requestDto);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateCategory(@MappingTarget Category category, UpdateCategoryRequestDto requestDto);
 }
@@ -1,24 +1,39 @@
 package bookstore.mapper;
 
 import bookstore.config.MapperConfig;
+import bookstore.dto.page.ApproximatePage;
 import bookstore.dto.page.PageDto;
 import org.mapstruct.Mapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @Mapper(config = MapperConfig.class)
 public interface PageMapper {
-    default <T> PageDto<T> toDto(Page<T> page) {
-        if (page == null) {
+    default <T> PageDto<T> toDto(Slice<T> slice) {
+        if (slice == null) {
             return null;
         }
+        if (slice instanceof Page<T> page) {
+            return new PageDto<>(
+                    page.getContent(),
+                    page.getNumber(),
+                    page.getSize(),
+                    page.getTotalElements(),
+                    page.getTotalPages(),
+                    page.isFirst(),
+                    page.isLast(),
+                    !(page instanceof ApproximatePage)
+            );
+        }
         return new PageDto<>(
-                page.getContent(),
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isFirst(),
-                page.isLast()
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                null,
+                null,
+                slice.isFirst(),
+                slice.isLast(),
+                null
         );
     }
 }
@@ -18,6 +18,7 @@ public interface UserMapper {
     @Mapping(target = "password", ignore = true)
     @Mapping(target = "roles", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     @Mapping(target = "authorities", ignore = true)
     @Mapping(target = "authoritiesNamesList", ignore = true)
     User toModel(UserRegistrationRequestDto requestDto);
@@ -27,6 +28,7 @@ public interface UserMapper {
     @Mapping(target = "password", ignore = true)
     @Mapping(target = "roles", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     @Mapping(target = "authorities", ignore = true)
     @Mapping(target = "authoritiesNamesList", ignore = true)
     User toModel(UserUpdateDto updateDto);
@@ -36,6 +38,7 @@ public interface UserMapper {
     @Mapping(target = "password", ignore = true)
     @Mapping(target = "roles", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     @Mapping(target = "authorities", ignore = true)
     @Mapping(target = "authoritiesNamesList", ignore = true)
     void updateUser(@MappingTarget User user, UserUpdateDto updateDto);
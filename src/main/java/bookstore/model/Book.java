@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Objects;
@@ -27,7 +28,8 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @NoArgsConstructor
-@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE books SET is_deleted = true, deleted_at = NOW() "
+        + "WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted = false")
 public class Book {
     @Id
@@ -58,6 +60,10 @@ public class Book {
     @Fetch(FetchMode.SUBSELECT)
     private Set<Category> categories = new HashSet<>();
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
 
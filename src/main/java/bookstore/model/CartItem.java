@@ -23,7 +23,8 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @NoArgsConstructor
-@SQLDelete(sql = "UPDATE cart_items SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE cart_items SET is_deleted = true, deleted_at = NOW() "
+        + "WHERE id = ?")
 @Where(clause = "is_deleted = false")
 @Accessors(chain = true)
 public class CartItem {
@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.util.Objects;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,7 +19,7 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @NoArgsConstructor
-@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = true WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted = false")
 public class Category {
     @Id
@@ -30,6 +31,10 @@ public class Category {
 
     private String description;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted;
 
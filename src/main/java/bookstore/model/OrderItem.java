@@ -23,7 +23,8 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @NoArgsConstructor
-@SQLDelete(sql = "UPDATE order_items SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE order_items SET is_deleted = true, deleted_at = NOW() "
+        + "WHERE id = ?")
 @Where(clause = "is_deleted = false")
 @Accessors(chain = true)
 public class OrderItem {
@@ -45,6 +46,12 @@ public class OrderItem {
     @Column(nullable = false)
     private BigDecimal price;
 
+    @Column(name = "stock_reserved", nullable = false)
+    private boolean stockReserved;
+
+    @Column(name = "stock_lease_id")
+    private Long stockLeaseId;
+
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted;
 
@@ -24,7 +24,8 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @NoArgsConstructor
-@SQLDelete(sql = "UPDATE shopping_carts SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE shopping_carts SET is_deleted = true, deleted_at = NOW() "
+        + "WHERE id = ?")
 @Where(clause = "is_deleted = false")
 public class ShoppingCart {
     @Id
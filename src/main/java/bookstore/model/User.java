@@ -27,7 +27,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Table(name = "users")
 @Getter
 @Setter
-@SQLDelete(sql = "UPDATE users SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE users SET is_deleted = true, deleted_at = NOW() "
+        + "WHERE id = ?")
 @Where(clause = "is_deleted = false")
 @Accessors(chain = true)
 public class User implements UserDetails {
@@ -56,6 +57,9 @@ public class User implements UserDetails {
             inverseJoinColumns = @JoinColumn(name = "role_id", nullable = false))
     private Set<Role> roles = new HashSet<>();
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted;
 
@@ -0,0 +1,224 @@
+package bookstore.ranking;
+
+import bookstore.model.Order;
+import bookstore.model.OrderItem;
+import jakarta.annotation.PreDestroy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class BookSalesRanking {
+    public static final int MAX_DAYS = 30;
+    public static final int MAX_LIMIT = 50;
+    private static final String UPSERT_SQL =
+            "INSERT INTO book_daily_sales (sale_date, book_id, quantity) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)";
+    private static final String SELECT_SALES_SQL = "SELECT book_id, sale_date, quantity "
+            + "FROM book_daily_sales WHERE sale_date > ? AND quantity > 0";
+    private static final String SELECT_CATEGORIES_SQL = "SELECT bc.book_id, bc.category_id "
+            + "FROM books_categories bc JOIN (SELECT DISTINCT book_id FROM book_daily_sales "
+            + "WHERE sale_date > ? AND quantity > 0) s ON s.book_id = bc.book_id";
+    private static final int HISTORY_DAYS = MAX_DAYS * 2;
+    private final Map<SaleKey, Long> pendingSales = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    public BookSalesRanking(
+            JdbcTemplate jdbcTemplate,
+            @Value("${book.rankings.enabled:false}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${book.rankings.refreshIntervalInMillis:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Date since = Date.valueOf(today.minusDays(HISTORY_DAYS));
+        Map<Long, long[]> dailySales = new HashMap<>();
+        jdbcTemplate.query(SELECT_SALES_SQL, resultSet -> {
+            int daysAgo = (int) ChronoUnit.DAYS.between(
+                    resultSet.getDate(2).toLocalDate(), today);
+            if (daysAgo >= 0 && daysAgo < HISTORY_DAYS) {
+                dailySales.computeIfAbsent(resultSet.getLong(1), id -> new long[HISTORY_DAYS])
+                        [daysAgo] += resultSet.getLong(3);
+            }
+        }, since);
+        Map<Long, List<Long>> bookIdsByCategory = new HashMap<>();
+        jdbcTemplate.query(SELECT_CATEGORIES_SQL, resultSet -> {
+            bookIdsByCategory.computeIfAbsent(resultSet.getLong(2), id -> new ArrayList<>())
+                    .add(resultSet.getLong(1));
+        }, since);
+        snapshot = new Snapshot(dailySales, bookIdsByCategory);
+    }
+
+    @Scheduled(fixedDelayString = "${book.rankings.flushIntervalInMillis:1000}")
+    public void flushSales() {
+        Map<SaleKey, Long> sales = new TreeMap<>();
+        for (SaleKey key : pendingSales.keySet()) {
+            Long quantity = pendingSales.remove(key);
+            if (quantity != null && quantity != 0) {
+                sales.put(key, quantity);
+            }
+        }
+        if (sales.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(sales.size());
+        sales.forEach((key, quantity) -> rows.add(
+                new Object[]{Date.valueOf(key.saleDate()), key.bookId(), quantity}));
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        } catch (RuntimeException ex) {
+            sales.forEach(this::addPendingSale);
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushSales();
+    }
+
+    public void recordOrder(Order order) {
+        recordSales(order, 1);
+    }
+
+    public void recordCancellation(Order order) {
+        recordSales(order, -1);
+    }
+
+    public List<Long> getBestsellers(int days, Long categoryId, int limit) {
+        return snapshot.rank(Ranking.BESTSELLERS, days, categoryId, limit);
+    }
+
+    public List<Long> getTrending(int days, Long categoryId, int limit) {
+        return snapshot.rank(Ranking.TRENDING, days, categoryId, limit);
+    }
+
+    private void recordSales(Order order, int sign) {
+        LocalDate saleDate = order.getOrderDate().toLocalDate();
+        Map<SaleKey, Long> sales = new TreeMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            sales.merge(new SaleKey(saleDate, item.getBook().getId()),
+                    (long) item.getQuantity() * sign, Long::sum);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sales.forEach(this::addPendingSale);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sales.forEach(BookSalesRanking.this::addPendingSale);
+            }
+        });
+    }
+
+    private void addPendingSale(SaleKey key, Long quantity) {
+        pendingSales.merge(key, quantity, Long::sum);
+    }
+
+    private enum Ranking {
+        BESTSELLERS {
+            @Override
+            long score(long[] dailySales, int days) {
+                return sum(dailySales, 0, days);
+            }
+        },
+        TRENDING {
+            @Override
+            long score(long[] dailySales, int days) {
+                return sum(dailySales, 0, days) - sum(dailySales, days, days * 2);
+            }
+        };
+
+        abstract long score(long[] dailySales, int days);
+
+        private static long sum(long[] dailySales, int from, int to) {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += dailySales[i];
+            }
+            return sum;
+        }
+    }
+
+    private record SaleKey(LocalDate saleDate, Long bookId) implements Comparable<SaleKey> {
+        @Override
+        public int compareTo(SaleKey other) {
+            int bySaleDate = saleDate.compareTo(other.saleDate);
+            return bySaleDate != 0 ? bySaleDate : bookId.compareTo(other.bookId);
+        }
+    }
+
+    private record Snapshot(
+            Map<Long, long[]> dailySales,
+            Map<Long, List<Long>> bookIdsByCategory,
+            Map<String, List<Long>> rankings
+    ) {
+        private Snapshot(Map<Long, long[]> dailySales, Map<Long, List<Long>> bookIdsByCategory) {
+            this(dailySales, bookIdsByCategory, new ConcurrentHashMap<>());
+        }
+
+        List<Long> rank(Ranking ranking, int days, Long categoryId, int limit) {
+            if (categoryId != null && !bookIdsByCategory.containsKey(categoryId)) {
+                return List.of();
+            }
+            List<Long> ranked = rankings.computeIfAbsent(ranking + ":" + days + ":" + categoryId,
+                    key -> topBooks(ranking, days, categoryId));
+            return ranked.subList(0, Math.min(limit, ranked.size()));
+        }
+
+        private List<Long> topBooks(Ranking ranking, int days, Long categoryId) {
+            Iterable<Long> bookIds = categoryId == null
+                    ? dailySales.keySet()
+                    : bookIdsByCategory.get(categoryId);
+            Comparator<Map.Entry<Long, Long>> byScore =
+                    Map.Entry.<Long, Long>comparingByValue()
+                            .thenComparing(Map.Entry.<Long, Long>comparingByKey().reversed());
+            PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(byScore);
+            for (Long bookId : bookIds) {
+                long score = ranking.score(dailySales.get(bookId), days);
+                if (score <= 0) {
+                    continue;
+                }
+                top.offer(Map.entry(bookId, score));
+                if (top.size() > MAX_LIMIT) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Long, Long>> entries = new ArrayList<>(top);
+            entries.sort(byScore.reversed());
+            return entries.stream()
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package bookstore.recommendation;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookRecommendationIndex {
+    private static final String SELECT_SETTLED_ORDER_ID_SQL =
+            "SELECT MAX(id) FROM orders WHERE order_date < ?";
+    private static final String SELECT_MAX_ORDER_ID_SQL = "SELECT MAX(id) FROM orders";
+    private static final String SELECT_ORDER_BOOKS_SQL = "SELECT order_id, book_id "
+            + "FROM order_items WHERE is_deleted = false AND order_id > ? AND order_id <= ? "
+            + "ORDER BY order_id";
+    private static final long MAX_PACKED_BOOK_ID = 0xffffffffL;
+    private final LongIntHashMap coOccurrences = new LongIntHashMap(1024);
+    private final Set<Long> countedOrderIds = new HashSet<>();
+    private final AtomicInteger newOrders = new AtomicInteger();
+    private final Lock refreshLock = new ReentrantLock();
+    private final ScheduledExecutorService refresher =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "book-recommendations");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int neighboursPerBook;
+    private final int batchSize;
+    private final int maxOrderSize;
+    private final int refreshAfterOrders;
+    private final long settleDelayInMillis;
+    private long settledOrderId;
+    private volatile TopNeighbours topNeighbours;
+
+    public BookRecommendationIndex(
+            JdbcTemplate jdbcTemplate,
+            @Value("${book.recommendations.enabled:false}") boolean enabled,
+            @Value("${book.recommendations.neighboursPerBook:20}") int neighboursPerBook,
+            @Value("${book.recommendations.batchSize:1000}") int batchSize,
+            @Value("${book.recommendations.maxOrderSize:100}") int maxOrderSize,
+            @Value("${book.recommendations.refreshAfterOrders:100}") int refreshAfterOrders,
+            @Value("${book.recommendations.settleDelayInMillis:5000}") long settleDelayInMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.neighboursPerBook = neighboursPerBook;
+        this.batchSize = batchSize;
+        this.maxOrderSize = maxOrderSize;
+        this.refreshAfterOrders = refreshAfterOrders;
+        this.settleDelayInMillis = settleDelayInMillis;
+        this.topNeighbours = new TopNeighbours(neighboursPerBook, 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${book.recommendations.refreshIntervalInMillis:600000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            newOrders.set(0);
+            if (addNewOrders()) {
+                topNeighbours = rankNeighbours();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void recordOrder() {
+        if (enabled && newOrders.incrementAndGet() == refreshAfterOrders) {
+            refresher.schedule(this::refresh, settleDelayInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public List<Long> getRecommendations(Long bookId, int limit) {
+        return topNeighbours.get(bookId, limit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private boolean addNewOrders() {
+        Timestamp settledBefore = Timestamp.valueOf(
+                LocalDateTime.now().minus(Duration.ofMillis(settleDelayInMillis)));
+        Long settledUpTo = jdbcTemplate.queryForObject(SELECT_SETTLED_ORDER_ID_SQL, Long.class,
+                settledBefore);
+        Long maxOrderId = jdbcTemplate.queryForObject(SELECT_MAX_ORDER_ID_SQL, Long.class);
+        if (maxOrderId == null || maxOrderId <= settledOrderId) {
+            return false;
+        }
+        OrderBooks orderBooks = new OrderBooks(settledUpTo == null ? 0 : settledUpTo);
+        for (long fromOrderId = settledOrderId; fromOrderId < maxOrderId;
+                fromOrderId += batchSize) {
+            long toOrderId = Math.min(maxOrderId, fromOrderId + batchSize);
+            jdbcTemplate.query(SELECT_ORDER_BOOKS_SQL, orderBooks, fromOrderId, toOrderId);
+            orderBooks.flush();
+        }
+        if (settledUpTo != null && settledUpTo > settledOrderId) {
+            settledOrderId = settledUpTo;
+            countedOrderIds.removeIf(orderId -> orderId <= settledUpTo);
+        }
+        return orderBooks.counted > 0;
+    }
+
+    private TopNeighbours rankNeighbours() {
+        TopNeighbours ranked = new TopNeighbours(neighboursPerBook, topNeighbours.size());
+        coOccurrences.forEach((pair, count) -> {
+            long bookId = pair >>> Integer.SIZE;
+            long neighbourId = pair & MAX_PACKED_BOOK_ID;
+            ranked.offer(bookId, neighbourId, count);
+            ranked.offer(neighbourId, bookId, count);
+        });
+        return ranked;
+    }
+
+    private void addPairs(long[] bookIds, int size) {
+        Arrays.sort(bookIds, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || bookIds[distinct - 1] != bookIds[i]) {
+                bookIds[distinct++] = bookIds[i];
+            }
+        }
+        if (distinct < 2 || distinct > maxOrderSize
+                || bookIds[distinct - 1] > MAX_PACKED_BOOK_ID) {
+            return;
+        }
+        for (int i = 0; i < distinct; i++) {
+            for (int j = i + 1; j < distinct; j++) {
+                coOccurrences.addTo(bookIds[i] << Integer.SIZE | bookIds[j], 1);
+            }
+        }
+    }
+
+    private class OrderBooks implements RowCallbackHandler {
+        private final long settledUpTo;
+        private long[] bookIds = new long[16];
+        private int size;
+        private long orderId;
+        private int counted;
+
+        OrderBooks(long settledUpTo) {
+            this.settledUpTo = settledUpTo;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long itemOrderId = resultSet.getLong(1);
+            long bookId = resultSet.getLong(2);
+            if (itemOrderId != orderId) {
+                flush();
+                orderId = itemOrderId;
+            }
+            if (size == bookIds.length) {
+                bookIds = Arrays.copyOf(bookIds, size * 2);
+            }
+            bookIds[size++] = bookId;
+        }
+
+        void flush() {
+            if (size > 0 && !countedOrderIds.contains(orderId)) {
+                if (orderId > settledUpTo) {
+                    countedOrderIds.add(orderId);
+                }
+                addPairs(bookIds, size);
+                counted++;
+            }
+            size = 0;
+        }
+    }
+}
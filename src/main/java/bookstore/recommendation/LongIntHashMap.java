@@ -0,0 +1,94 @@
+package bookstore.recommendation;
+
+final class LongIntHashMap {
+    private static final long EMPTY_KEY = 0;
+    private static final int MIN_CAPACITY = 16;
+    private static final String ZERO_KEY_MESSAGE = "A key must not be 0";
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    int get(long key, int defaultValue) {
+        int index = indexOf(key);
+        return keys[index] == EMPTY_KEY ? defaultValue : values[index];
+    }
+
+    void put(long key, int value) {
+        int index = insertionIndex(key);
+        values[index] = value;
+    }
+
+    void addTo(long key, int delta) {
+        int index = insertionIndex(key);
+        values[index] += delta;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(LongIntConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int insertionIndex(long key) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException(ZERO_KEY_MESSAGE);
+        }
+        int index = indexOf(key);
+        if (keys[index] == EMPTY_KEY) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+                index = indexOf(key);
+            }
+            keys[index] = key;
+            size++;
+        }
+        return index;
+    }
+
+    private int indexOf(long key) {
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9e3779b97f4a7c15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @FunctionalInterface
+    interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+}
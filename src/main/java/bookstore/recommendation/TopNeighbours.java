@@ -0,0 +1,75 @@
+package bookstore.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class TopNeighbours {
+    private static final int INITIAL_SLOTS = 16;
+    private static final int MISSING_SLOT = -1;
+    private final LongIntHashMap slots;
+    private final int neighboursPerBook;
+    private long[] neighbourIds;
+    private int[] counts;
+    private int slotCount;
+
+    TopNeighbours(int neighboursPerBook, int expectedBooks) {
+        this.neighboursPerBook = neighboursPerBook;
+        this.slots = new LongIntHashMap(expectedBooks);
+        int initialSlots = Math.max(INITIAL_SLOTS, expectedBooks);
+        this.neighbourIds = new long[initialSlots * neighboursPerBook];
+        this.counts = new int[initialSlots * neighboursPerBook];
+    }
+
+    void offer(long bookId, long neighbourId, int count) {
+        int start = slotOf(bookId) * neighboursPerBook;
+        int position = start + neighboursPerBook - 1;
+        if (!ranksBefore(neighbourId, count, position)) {
+            return;
+        }
+        while (position > start && ranksBefore(neighbourId, count, position - 1)) {
+            neighbourIds[position] = neighbourIds[position - 1];
+            counts[position] = counts[position - 1];
+            position--;
+        }
+        neighbourIds[position] = neighbourId;
+        counts[position] = count;
+    }
+
+    List<Long> get(long bookId, int limit) {
+        int slot = slots.get(bookId, MISSING_SLOT);
+        if (slot == MISSING_SLOT) {
+            return List.of();
+        }
+        int start = slot * neighboursPerBook;
+        int end = start + Math.min(limit, neighboursPerBook);
+        List<Long> neighbours = new ArrayList<>(end - start);
+        for (int i = start; i < end && neighbourIds[i] != 0; i++) {
+            neighbours.add(neighbourIds[i]);
+        }
+        return neighbours;
+    }
+
+    int size() {
+        return slotCount;
+    }
+
+    private int slotOf(long bookId) {
+        int slot = slots.get(bookId, MISSING_SLOT);
+        if (slot != MISSING_SLOT) {
+            return slot;
+        }
+        slot = slotCount++;
+        slots.put(bookId, slot);
+        if (slotCount * neighboursPerBook > neighbourIds.length) {
+            neighbourIds = Arrays.copyOf(neighbourIds, neighbourIds.length * 2);
+            counts = Arrays.copyOf(counts, counts.length * 2);
+        }
+        return slot;
+    }
+
+    private boolean ranksBefore(long neighbourId, int count, int position) {
+        return neighbourIds[position] == 0 || count > counts[position]
+                || count == counts[position] && neighbourId < neighbourIds[position];
+    }
+}
@@ -1,22 +1,34 @@
 package bookstore.repository;
 
 import bookstore.model.Book;
+import java.util.List;
 import java.util.Optional;
 import lombok.NonNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.Nullable;
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookRepositoryCustom {
     boolean existsByIsbn(String isbn);
 
-    @Query("SELECT DISTINCT b FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
-    Page<Book> findAllByCategoryId(Long categoryId, Pageable pageable);
+    List<Book> findAllByIdGreaterThanOrderById(Long id, Limit limit);
+
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Modifying
+    @Query(value = "UPDATE books b JOIN books_categories bc ON bc.book_id = b.id "
+            + "SET b.version = b.version + 1 WHERE bc.category_id = :categoryId",
+            nativeQuery = true)
+    int incrementVersionsByCategoryId(Long categoryId);
 
     @NonNull
     Page<Book> findAll(@NonNull Pageable pageable);
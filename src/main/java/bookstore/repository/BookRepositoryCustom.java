@@ -0,0 +1,26 @@
+package bookstore.repository;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookDtoWithoutCategoryIds;
+import bookstore.dto.facet.CategoryFacetDto;
+import bookstore.model.Book;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookRepositoryCustom {
+    Slice<BookDtoWithoutCategoryIds> findSummaries(Specification<Book> spec, Pageable pageable);
+
+    Map<Long, List<Long>> findCategoryIdsByBookIds(Collection<Long> bookIds);
+
+    Stream<BookDto> streamAllWithCategoryIds(int fetchSize);
+
+    List<CategoryFacetDto> countByCategory(Specification<Book> spec);
+
+    List<Long> countByPriceBucket(Specification<Book> spec, List<BigDecimal> bounds);
+}
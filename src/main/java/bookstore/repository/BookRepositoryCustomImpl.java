@@ -0,0 +1,226 @@
+package bookstore.repository;
+
+import bookstore.cover.CoverSize;
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookDtoWithoutCategoryIds;
+import bookstore.dto.facet.CategoryFacetDto;
+import bookstore.model.Book;
+import bookstore.model.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+    private static final String BOOK_ID_ALIAS = "bookId";
+    private static final String CATEGORY_ID_ALIAS = "categoryId";
+    private static final String TITLE_ALIAS = "title";
+    private static final String AUTHOR_ALIAS = "author";
+    private static final String ISBN_ALIAS = "isbn";
+    private static final String PRICE_ALIAS = "price";
+    private static final String DESCRIPTION_ALIAS = "description";
+    private static final String COVER_IMAGE_ALIAS = "coverImage";
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<BookDtoWithoutCategoryIds> findSummaries(Specification<Book> spec,
+                                                          Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookDtoWithoutCategoryIds> query =
+                criteriaBuilder.createQuery(BookDtoWithoutCategoryIds.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(criteriaBuilder.construct(BookDtoWithoutCategoryIds.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("author"),
+                root.get("isbn"),
+                root.get("price"),
+                root.get("description"),
+                root.get("coverImage")));
+        applySpecification(spec, root, query, criteriaBuilder);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+        TypedQuery<BookDtoWithoutCategoryIds> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        List<BookDtoWithoutCategoryIds> books = typedQuery
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = books.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? books.subList(0, pageable.getPageSize()) : books,
+                pageable, hasNext);
+    }
+
+    @Override
+    public Map<Long, List<Long>> findCategoryIdsByBookIds(Collection<Long> bookIds) {
+        Map<Long, List<Long>> categoryIds = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return categoryIds;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Join<Book, Category> categories = root.join("categories");
+        query.multiselect(root.get("id").alias(BOOK_ID_ALIAS),
+                        categories.get("id").alias(CATEGORY_ID_ALIAS))
+                .where(root.get("id").in(bookIds))
+                .orderBy(criteriaBuilder.asc(categories.get("id")));
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            categoryIds.computeIfAbsent(tuple.get(BOOK_ID_ALIAS, Long.class),
+                    key -> new ArrayList<>()).add(tuple.get(CATEGORY_ID_ALIAS, Long.class));
+        }
+        return categoryIds;
+    }
+
+    @Override
+    public Stream<BookDto> streamAllWithCategoryIds(int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Join<Book, Category> categories = root.join("categories", JoinType.LEFT);
+        query.multiselect(root.get("id").alias(BOOK_ID_ALIAS),
+                        root.get("title").alias(TITLE_ALIAS),
+                        root.get("author").alias(AUTHOR_ALIAS),
+                        root.get("isbn").alias(ISBN_ALIAS),
+                        root.get("price").alias(PRICE_ALIAS),
+                        root.get("description").alias(DESCRIPTION_ALIAS),
+                        root.get("coverImage").alias(COVER_IMAGE_ALIAS),
+                        categories.get("id").alias(CATEGORY_ID_ALIAS))
+                .orderBy(criteriaBuilder.asc(root.get("id")),
+                        criteriaBuilder.asc(categories.get("id")));
+        Stream<Tuple> tuples = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        Iterator<BookDto> books = new BookTupleIterator(tuples.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(books,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(tuples::close);
+    }
+
+    @Override
+    public List<CategoryFacetDto> countByCategory(Specification<Book> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CategoryFacetDto> query =
+                criteriaBuilder.createQuery(CategoryFacetDto.class);
+        Root<Book> root = query.from(Book.class);
+        Join<Book, Category> categories = root.join("categories");
+        Expression<Long> count = criteriaBuilder.count(root);
+        query.select(criteriaBuilder.construct(CategoryFacetDto.class,
+                        categories.get("id"), categories.get("name"), count))
+                .groupBy(categories.get("id"), categories.get("name"))
+                .orderBy(criteriaBuilder.desc(count), criteriaBuilder.asc(categories.get("id")));
+        applySpecification(spec, root, query, criteriaBuilder);
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Long> countByPriceBucket(Specification<Book> spec, List<BigDecimal> bounds) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Expression<BigDecimal> price = root.get("price");
+        List<Selection<?>> buckets = new ArrayList<>();
+        for (int i = 0; i <= bounds.size(); i++) {
+            Predicate inBucket = criteriaBuilder.and(
+                    i > 0 ? criteriaBuilder.greaterThanOrEqualTo(price, bounds.get(i - 1))
+                            : criteriaBuilder.conjunction(),
+                    i < bounds.size() ? criteriaBuilder.lessThan(price, bounds.get(i))
+                            : criteriaBuilder.conjunction());
+            buckets.add(criteriaBuilder.sum(criteriaBuilder.<Long>selectCase()
+                    .when(inBucket, 1L)
+                    .otherwise(0L)));
+        }
+        query.multiselect(buckets);
+        applySpecification(spec, root, query, criteriaBuilder);
+        Tuple counts = entityManager.createQuery(query).getSingleResult();
+        List<Long> bucketCounts = new ArrayList<>(buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            Number count = counts.get(i, Number.class);
+            bucketCounts.add(count == null ? 0 : count.longValue());
+        }
+        return bucketCounts;
+    }
+
+    private void applySpecification(Specification<Book> spec, Root<Book> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+
+    private static class BookTupleIterator implements Iterator<BookDto> {
+        private final Iterator<Tuple> tuples;
+        private Tuple next;
+
+        BookTupleIterator(Iterator<Tuple> tuples) {
+            this.tuples = tuples;
+            this.next = tuples.hasNext() ? tuples.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public BookDto next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Tuple first = next;
+            Long bookId = first.get(BOOK_ID_ALIAS, Long.class);
+            String coverImage = first.get(COVER_IMAGE_ALIAS, String.class);
+            List<Long> categoryIds = new ArrayList<>();
+            do {
+                Long categoryId = next.get(CATEGORY_ID_ALIAS, Long.class);
+                if (categoryId != null) {
+                    categoryIds.add(categoryId);
+                }
+                next = tuples.hasNext() ? tuples.next() : null;
+            } while (next != null && bookId.equals(next.get(BOOK_ID_ALIAS, Long.class)));
+            return new BookDto(bookId,
+                    first.get(TITLE_ALIAS, String.class),
+                    first.get(AUTHOR_ALIAS, String.class),
+                    first.get(ISBN_ALIAS, String.class),
+                    first.get(PRICE_ALIAS, BigDecimal.class),
+                    first.get(DESCRIPTION_ALIAS, String.class),
+                    coverImage,
+                    CoverSize.thumbnailUrls(coverImage),
+                    categoryIds);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package bookstore.repository;
 
 import bookstore.model.Category;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByNameIgnoreCase(String name);
+
+    Slice<Category> findAllBy(Pageable pageable);
 }
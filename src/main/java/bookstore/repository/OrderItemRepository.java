@@ -1,18 +1,27 @@
 package bookstore.repository;
 
+import bookstore.dto.orderitem.BookSalesDto;
 import bookstore.model.OrderItem;
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @EntityGraph(attributePaths = "book")
-    Page<OrderItem> findByOrderIdAndOrderUserId(Long orderId, Long userId, Pageable pageable);
+    Slice<OrderItem> findByOrderIdAndOrderUserId(Long orderId, Long userId, Pageable pageable);
+
+    long countByOrderIdAndOrderUserId(Long orderId, Long userId);
 
     @EntityGraph(attributePaths = "book")
     Optional<OrderItem> findByIdAndOrderIdAndOrderUserId(Long orderItemId,
                                                          Long orderId,
                                                          Long userId);
+
+    @Query("SELECT new bookstore.dto.orderitem.BookSalesDto(oi.book.id, SUM(oi.quantity)) "
+            + "FROM OrderItem oi GROUP BY oi.book.id")
+    List<BookSalesDto> sumQuantityGroupByBookId();
 }
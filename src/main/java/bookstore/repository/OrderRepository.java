@@ -2,14 +2,16 @@ package bookstore.repository;
 
 import bookstore.model.Order;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     @EntityGraph(attributePaths = "orderItems")
-    Page<Order> findAllByUserId(Long userId, Pageable pageable);
+    Slice<Order> findAllByUserId(Long userId, Pageable pageable);
+
+    long countByUserId(Long userId);
 
     @EntityGraph(attributePaths = "orderItems")
     Optional<Order> findByIdAndUserId(Long orderId, Long userId);
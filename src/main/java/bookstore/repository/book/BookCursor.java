@@ -0,0 +1,121 @@
+package bookstore.repository.book;
+
+import bookstore.dto.book.BookDtoWithoutCategoryIds;
+import bookstore.exception.InvalidCursorException;
+import bookstore.model.Book;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public record BookCursor(SortKey sortKey, String sortValue, Long id) {
+    private static final String SEPARATOR = "\n";
+    private static final String INVALID_CURSOR_MESSAGE = "The cursor is invalid";
+    private static final String UNSUPPORTED_SORT_MESSAGE =
+            "Cursor pagination supports a single ascending sort by id, title or price";
+
+    public static BookCursor parse(String token, Sort sort) {
+        SortKey sortKey = SortKey.of(sort);
+        if (token == null || token.isBlank()) {
+            return new BookCursor(sortKey, null, null);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8).split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new InvalidCursorException(INVALID_CURSOR_MESSAGE);
+            }
+            BookCursor cursor = new BookCursor(SortKey.valueOf(parts[0]), parts[2],
+                    Long.valueOf(parts[1]));
+            if (cursor.sortKey() == SortKey.PRICE) {
+                cursor.priceValue();
+            }
+            return cursor;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(INVALID_CURSOR_MESSAGE, ex);
+        }
+    }
+
+    public static BookCursor after(SortKey sortKey, BookDtoWithoutCategoryIds book) {
+        return new BookCursor(sortKey, sortKey.extract(book), book.bookId());
+    }
+
+    public String encode() {
+        String value = sortKey + SEPARATOR + id + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public BigDecimal priceValue() {
+        return new BigDecimal(sortValue);
+    }
+
+    public Sort getSort() {
+        return sortKey == SortKey.ID
+                ? Sort.by(SortKey.ID.property)
+                : Sort.by(sortKey.property, SortKey.ID.property);
+    }
+
+    public Specification<Book> toSpecification() {
+        return (root, query, criteriaBuilder) -> switch (sortKey) {
+            case ID -> criteriaBuilder.greaterThan(root.get(SortKey.ID.property), id);
+            case TITLE -> isAfter(criteriaBuilder, root.get(SortKey.TITLE.property), sortValue,
+                    root.get(SortKey.ID.property));
+            case PRICE -> isAfter(criteriaBuilder, root.get(SortKey.PRICE.property), priceValue(),
+                    root.get(SortKey.ID.property));
+        };
+    }
+
+    private <T extends Comparable<? super T>> Predicate isAfter(CriteriaBuilder criteriaBuilder,
+                                                                Expression<T> key, T value,
+                                                                Expression<Long> idPath) {
+        return criteriaBuilder.or(
+                criteriaBuilder.greaterThan(key, value),
+                criteriaBuilder.and(criteriaBuilder.equal(key, value),
+                        criteriaBuilder.greaterThan(idPath, id)));
+    }
+
+    public enum SortKey {
+        ID("id"),
+        TITLE("title"),
+        PRICE("price");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        static SortKey of(Sort sort) {
+            if (sort.isUnsorted()) {
+                return ID;
+            }
+            List<Sort.Order> orders = sort.toList();
+            if (orders.size() == 1 && orders.get(0).isAscending()) {
+                for (SortKey sortKey : values()) {
+                    if (sortKey.property.equals(orders.get(0).getProperty())) {
+                        return sortKey;
+                    }
+                }
+            }
+            throw new InvalidCursorException(UNSUPPORTED_SORT_MESSAGE);
+        }
+
+        String extract(BookDtoWithoutCategoryIds book) {
+            return switch (this) {
+                case ID -> book.bookId().toString();
+                case TITLE -> book.title();
+                case PRICE -> book.price().toPlainString();
+            };
+        }
+    }
+}
@@ -2,7 +2,16 @@ package bookstore.repository.book;
 
 import bookstore.dto.book.BookSearchParametersDto;
 import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.repository.book.spec.FullTextSpecificationProvider;
 import bookstore.repository.specification.SpecificationBuilder;
+import bookstore.repository.specification.SpecificationProvider;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -15,26 +24,56 @@ public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
     @Override
     public Specification<Book> build(BookSearchParametersDto searchParameters) {
         Specification<Book> spec = Specification.where(null);
-        if (searchParameters.title() != null) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("title")
-                    .getSpecification(searchParameters.title()));
-        }
-        if (searchParameters.author() != null) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("author")
-                    .getSpecification(searchParameters.author()));
-        }
-        if (searchParameters.isbn() != null) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("isbn")
-                    .getSpecification(searchParameters.isbn()));
-        }
-        if (searchParameters.minPrice() != null) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("min_price")
-                    .getSpecification(searchParameters.minPrice().toString()));
-        }
-        if (searchParameters.maxPrice() != null) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("max_price")
-                    .getSpecification(searchParameters.maxPrice().toString()));
+        for (SpecificationProvider<Book, ?> provider
+                : bookSpecificationProviderManager.getSpecificationProviders()) {
+            spec = and(spec, provider, searchParameters);
         }
         return spec;
     }
+
+    public Specification<Book> buildCategorySpecification(Long categoryId) {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Book> book = subquery.correlate(root);
+            Join<Book, Category> category = book.join("categories");
+            return criteriaBuilder.exists(subquery.select(category.get("id"))
+                    .where(criteriaBuilder.equal(category.get("id"), categoryId)));
+        };
+    }
+
+    public Specification<Book> buildRelevanceOrder(BookSearchParametersDto searchParameters) {
+        Map<String, String> textParameters = new LinkedHashMap<>();
+        textParameters.put("title", searchParameters.title());
+        textParameters.put("author", searchParameters.author());
+        textParameters.put("keywords", searchParameters.keywords());
+        return (root, query, criteriaBuilder) -> {
+            Expression<Double> relevance = null;
+            for (Map.Entry<String, String> parameter : textParameters.entrySet()) {
+                if (parameter.getValue() == null) {
+                    continue;
+                }
+                SpecificationProvider<Book, ?> provider = bookSpecificationProviderManager
+                        .getSpecificationProvider(parameter.getKey());
+                if (provider instanceof FullTextSpecificationProvider fullTextProvider) {
+                    Expression<Double> score = fullTextProvider.getRelevance(root,
+                            criteriaBuilder, parameter.getValue());
+                    if (score != null) {
+                        relevance = relevance == null
+                                ? score : criteriaBuilder.sum(relevance, score);
+                    }
+                }
+            }
+            if (relevance != null) {
+                query.orderBy(criteriaBuilder.desc(relevance));
+            }
+            return null;
+        };
+    }
+
+    private <P> Specification<Book> and(Specification<Book> spec,
+                                        SpecificationProvider<Book, P> provider,
+                                        BookSearchParametersDto searchParameters) {
+        P param = provider.getParameter(searchParameters);
+        return param == null ? spec : spec.and(provider.getSpecification(param));
+    }
 }
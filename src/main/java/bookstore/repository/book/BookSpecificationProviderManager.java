@@ -1,23 +1,56 @@
 package bookstore.repository.book;
 
 import bookstore.model.Book;
+import bookstore.repository.book.spec.FullTextSpecificationProvider;
 import bookstore.repository.specification.SpecificationProvider;
 import bookstore.repository.specification.SpecificationProviderManager;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-@AllArgsConstructor
 @Component
 public class BookSpecificationProviderManager implements SpecificationProviderManager<Book> {
-    private final List<SpecificationProvider<Book>> bookSpecificationProviders;
+    private static final String FULLTEXT_SEARCH_MODE = "fulltext";
+    private final Map<String, SpecificationProvider<Book, ?>> bookSpecificationProviders =
+            new LinkedHashMap<>();
+    private final List<SpecificationProvider<Book, ?>> activeSpecificationProviders;
+
+    public BookSpecificationProviderManager(
+            List<SpecificationProvider<Book, ?>> bookSpecificationProviders,
+            @Value("${book.search.mode:like}") String searchMode
+    ) {
+        boolean fullTextMode = FULLTEXT_SEARCH_MODE.equalsIgnoreCase(searchMode);
+        for (SpecificationProvider<Book, ?> provider : bookSpecificationProviders) {
+            if (!(provider instanceof FullTextSpecificationProvider)) {
+                this.bookSpecificationProviders.put(provider.getKey(), provider);
+            }
+        }
+        if (fullTextMode) {
+            for (SpecificationProvider<Book, ?> provider : bookSpecificationProviders) {
+                if (provider instanceof FullTextSpecificationProvider) {
+                    this.bookSpecificationProviders.put(provider.getKey(), provider);
+                }
+            }
+        }
+        this.activeSpecificationProviders =
+                List.copyOf(this.bookSpecificationProviders.values());
+    }
+
+    @Override
+    public SpecificationProvider<Book, ?> getSpecificationProvider(String key) {
+        SpecificationProvider<Book, ?> provider = bookSpecificationProviders.get(key);
+        if (provider == null) {
+            throw new RuntimeException(
+                    "Can't find a correct specification provider for the key " + key);
+        }
+        return provider;
+    }
 
     @Override
-    public SpecificationProvider<Book> getSpecificationProvider(String key) {
-        return bookSpecificationProviders.stream()
-                .filter(provider -> provider.getKey().equals(key))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException(
-                        "Can't find a correct specification provider for the key " + key));
+    public Collection<SpecificationProvider<Book, ?>> getSpecificationProviders() {
+        return activeSpecificationProviders;
     }
 }
@@ -1,17 +1,24 @@
 package bookstore.repository.book.spec;
 
+import bookstore.dto.book.BookSearchParametersDto;
 import bookstore.model.Book;
 import bookstore.repository.specification.SpecificationProvider;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
-public class AuthorSpecificationProvider implements SpecificationProvider<Book> {
+public class AuthorSpecificationProvider implements SpecificationProvider<Book, String> {
     @Override
     public String getKey() {
         return "author";
     }
 
+    @Override
+    public String getParameter(BookSearchParametersDto searchParameters) {
+        return searchParameters.author();
+    }
+
+    @Override
     public Specification<Book> getSpecification(String param) {
         return (root, query, criteriaBuilder)
                 -> criteriaBuilder.like(root.get("author"), "%" + param + "%");
@@ -0,0 +1,27 @@
+package bookstore.repository.book.spec;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.repository.specification.SpecificationProvider;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthorsSpecificationProvider implements SpecificationProvider<Book, List<String>> {
+    @Override
+    public String getKey() {
+        return "authors";
+    }
+
+    @Override
+    public List<String> getParameter(BookSearchParametersDto searchParameters) {
+        List<String> authors = searchParameters.authors();
+        return authors == null || authors.isEmpty() ? null : authors;
+    }
+
+    @Override
+    public Specification<Book> getSpecification(List<String> param) {
+        return (root, query, criteriaBuilder) -> root.get("author").in(param);
+    }
+}
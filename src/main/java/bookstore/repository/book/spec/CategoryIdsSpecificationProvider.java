@@ -0,0 +1,38 @@
+package bookstore.repository.book.spec;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.repository.specification.SpecificationProvider;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryIdsSpecificationProvider
+        implements SpecificationProvider<Book, List<Long>> {
+    @Override
+    public String getKey() {
+        return "category_ids";
+    }
+
+    @Override
+    public List<Long> getParameter(BookSearchParametersDto searchParameters) {
+        List<Long> categoryIds = searchParameters.categoryIds();
+        return categoryIds == null || categoryIds.isEmpty() ? null : categoryIds;
+    }
+
+    @Override
+    public Specification<Book> getSpecification(List<Long> param) {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Book> book = subquery.correlate(root);
+            Join<Book, Category> category = book.join("categories");
+            return criteriaBuilder.exists(subquery.select(category.get("id"))
+                    .where(category.get("id").in(param)));
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package bookstore.repository.book.spec;
+
+import bookstore.model.Book;
+import bookstore.repository.specification.SpecificationProvider;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.data.jpa.domain.Specification;
+
+public abstract class FullTextSpecificationProvider
+        implements SpecificationProvider<Book, String> {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    @Override
+    public Specification<Book> getSpecification(String param) {
+        String booleanQuery = toBooleanQuery(param);
+        if (booleanQuery.isEmpty()) {
+            return (root, query, criteriaBuilder) ->
+                    getFallbackPredicate(root, criteriaBuilder, "%" + param + "%");
+        }
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(
+                getScore(root, criteriaBuilder, criteriaBuilder.literal(booleanQuery)), 0.0);
+    }
+
+    public Expression<Double> getRelevance(Root<Book> root, CriteriaBuilder criteriaBuilder,
+                                           String param) {
+        String booleanQuery = toBooleanQuery(param);
+        if (booleanQuery.isEmpty()) {
+            return null;
+        }
+        return getScore(root, criteriaBuilder, criteriaBuilder.literal(booleanQuery));
+    }
+
+    protected abstract Expression<Double> getScore(Root<Book> root,
+                                                   CriteriaBuilder criteriaBuilder,
+                                                   Expression<String> booleanQuery);
+
+    protected abstract Predicate getFallbackPredicate(Root<Book> root,
+                                                      CriteriaBuilder criteriaBuilder,
+                                                      String pattern);
+
+    static String toBooleanQuery(String param) {
+        return Arrays.stream(SEPARATORS.split(param.toLowerCase(Locale.ROOT)))
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .map(token -> "+" + token + "*")
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,27 @@
+package bookstore.repository.book.spec;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.repository.specification.SpecificationProvider;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IsbnsSpecificationProvider implements SpecificationProvider<Book, List<String>> {
+    @Override
+    public String getKey() {
+        return "isbns";
+    }
+
+    @Override
+    public List<String> getParameter(BookSearchParametersDto searchParameters) {
+        List<String> isbns = searchParameters.isbns();
+        return isbns == null || isbns.isEmpty() ? null : isbns;
+    }
+
+    @Override
+    public Specification<Book> getSpecification(List<String> param) {
+        return (root, query, criteriaBuilder) -> root.get("isbn").in(param);
+    }
+}
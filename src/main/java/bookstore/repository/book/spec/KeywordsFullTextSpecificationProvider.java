@@ -0,0 +1,40 @@
+package bookstore.repository.book.spec;
+
+import static bookstore.config.FullTextFunctionContributor.MATCH_AGAINST_3_FUNCTION;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KeywordsFullTextSpecificationProvider extends FullTextSpecificationProvider {
+    @Override
+    public String getKey() {
+        return "keywords";
+    }
+
+    @Override
+    public String getParameter(BookSearchParametersDto searchParameters) {
+        return searchParameters.keywords();
+    }
+
+    @Override
+    protected Expression<Double> getScore(Root<Book> root, CriteriaBuilder criteriaBuilder,
+                                          Expression<String> booleanQuery) {
+        return criteriaBuilder.function(MATCH_AGAINST_3_FUNCTION, Double.class,
+                root.get("title"), root.get("author"), root.get("description"), booleanQuery);
+    }
+
+    @Override
+    protected Predicate getFallbackPredicate(Root<Book> root, CriteriaBuilder criteriaBuilder,
+                                             String pattern) {
+        return criteriaBuilder.or(
+                criteriaBuilder.like(root.get("title"), pattern),
+                criteriaBuilder.like(root.get("author"), pattern),
+                criteriaBuilder.like(root.get("description"), pattern));
+    }
+}
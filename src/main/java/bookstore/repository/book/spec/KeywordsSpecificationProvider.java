@@ -0,0 +1,29 @@
+package bookstore.repository.book.spec;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.repository.specification.SpecificationProvider;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KeywordsSpecificationProvider implements SpecificationProvider<Book, String> {
+    @Override
+    public String getKey() {
+        return "keywords";
+    }
+
+    @Override
+    public String getParameter(BookSearchParametersDto searchParameters) {
+        return searchParameters.keywords();
+    }
+
+    @Override
+    public Specification<Book> getSpecification(String param) {
+        String pattern = "%" + param + "%";
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.like(root.get("title"), pattern),
+                criteriaBuilder.like(root.get("author"), pattern),
+                criteriaBuilder.like(root.get("description"), pattern));
+    }
+}
@@ -1,5 +1,6 @@
 package bookstore.repository.book.spec;
 
+import bookstore.dto.book.BookSearchParametersDto;
 import bookstore.model.Book;
 import bookstore.repository.specification.SpecificationProvider;
 import java.math.BigDecimal;
@@ -7,14 +8,20 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
-public class MaxPriceSpecificationProvider implements SpecificationProvider<Book> {
+public class MaxPriceSpecificationProvider implements SpecificationProvider<Book, Integer> {
     @Override
     public String getKey() {
         return "max_price";
     }
 
-    public Specification<Book> getSpecification(String param) {
+    @Override
+    public Integer getParameter(BookSearchParametersDto searchParameters) {
+        return searchParameters.maxPrice();
+    }
+
+    @Override
+    public Specification<Book> getSpecification(Integer param) {
         return (root, query, criteriaBuilder)
-                -> criteriaBuilder.lt(root.get("price"), new BigDecimal(param));
+                -> criteriaBuilder.lt(root.get("price"), BigDecimal.valueOf(param));
     }
 }
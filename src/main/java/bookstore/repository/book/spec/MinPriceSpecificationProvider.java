@@ -1,5 +1,6 @@
 package bookstore.repository.book.spec;
 
+import bookstore.dto.book.BookSearchParametersDto;
 import bookstore.model.Book;
 import bookstore.repository.specification.SpecificationProvider;
 import java.math.BigDecimal;
@@ -7,14 +8,20 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
-public class MinPriceSpecificationProvider implements SpecificationProvider<Book> {
+public class MinPriceSpecificationProvider implements SpecificationProvider<Book, Integer> {
     @Override
     public String getKey() {
         return "min_price";
     }
 
-    public Specification<Book> getSpecification(String param) {
+    @Override
+    public Integer getParameter(BookSearchParametersDto searchParameters) {
+        return searchParameters.minPrice();
+    }
+
+    @Override
+    public Specification<Book> getSpecification(Integer param) {
         return (root, query, criteriaBuilder)
-                -> criteriaBuilder.gt(root.get("price"), new BigDecimal(param));
+                -> criteriaBuilder.gt(root.get("price"), BigDecimal.valueOf(param));
     }
 }
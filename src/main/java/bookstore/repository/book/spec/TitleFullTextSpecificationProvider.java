@@ -0,0 +1,37 @@
+package bookstore.repository.book.spec;
+
+import static bookstore.config.FullTextFunctionContributor.MATCH_AGAINST_FUNCTION;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TitleFullTextSpecificationProvider extends FullTextSpecificationProvider {
+    @Override
+    public String getKey() {
+        return "title";
+    }
+
+    @Override
+    public String getParameter(BookSearchParametersDto searchParameters) {
+        return searchParameters.title();
+    }
+
+    @Override
+    protected Expression<Double> getScore(Root<Book> root, CriteriaBuilder criteriaBuilder,
+                                          Expression<String> booleanQuery) {
+        return criteriaBuilder.function(MATCH_AGAINST_FUNCTION, Double.class,
+                root.get("title"), booleanQuery);
+    }
+
+    @Override
+    protected Predicate getFallbackPredicate(Root<Book> root, CriteriaBuilder criteriaBuilder,
+                                             String pattern) {
+        return criteriaBuilder.like(root.get("title"), pattern);
+    }
+}
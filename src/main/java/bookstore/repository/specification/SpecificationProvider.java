@@ -1,9 +1,12 @@
 package bookstore.repository.specification;
 
+import bookstore.dto.book.BookSearchParametersDto;
 import org.springframework.data.jpa.domain.Specification;
 
-public interface SpecificationProvider<T> {
+public interface SpecificationProvider<T, P> {
     String getKey();
 
-    Specification<T> getSpecification(String param);
+    P getParameter(BookSearchParametersDto searchParameters);
+
+    Specification<T> getSpecification(P param);
 }
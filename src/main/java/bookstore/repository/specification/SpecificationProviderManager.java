@@ -1,5 +1,9 @@
 package bookstore.repository.specification;
 
+import java.util.Collection;
+
 public interface SpecificationProviderManager<T> {
-    SpecificationProvider<T> getSpecificationProvider(String key);
+    SpecificationProvider<T, ?> getSpecificationProvider(String key);
+
+    Collection<SpecificationProvider<T, ?>> getSpecificationProviders();
 }
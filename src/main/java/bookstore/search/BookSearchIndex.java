@@ -0,0 +1,226 @@
+package bookstore.search;
+
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookSearchIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private final Map<Field, NavigableMap<String, Map<Long, Integer>>> postings =
+            new EnumMap<>(Field.class);
+    private final Map<Long, Map<Field, Set<String>>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BookRepository bookRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private volatile boolean ready;
+
+    public BookSearchIndex(
+            BookRepository bookRepository,
+            @Value("${book.search.index.enabled:false}") boolean enabled,
+            @Value("${book.search.index.batchSize:1000}") int batchSize
+    ) {
+        this.bookRepository = bookRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        for (Field field : Field.values()) {
+            postings.put(field, new TreeMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long lastId = 0;
+        List<Book> books = bookRepository.findAllByIdGreaterThanOrderById(lastId,
+                Limit.of(batchSize));
+        while (!books.isEmpty()) {
+            books.forEach(this::add);
+            lastId = books.get(books.size() - 1).getId();
+            books = bookRepository.findAllByIdGreaterThanOrderById(lastId, Limit.of(batchSize));
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Book book) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            Map<Field, Set<String>> terms = new EnumMap<>(Field.class);
+            for (Field field : Field.values()) {
+                Map<String, Integer> frequencies = new HashMap<>();
+                tokenize(field.extractor.apply(book))
+                        .forEach(token -> frequencies.merge(token, 1, Integer::sum));
+                frequencies.forEach((term, frequency) -> postings.get(field)
+                        .computeIfAbsent(term, key -> new HashMap<>())
+                        .put(book.getId(), frequency));
+                terms.put(field, frequencies.keySet());
+            }
+            documents.put(book.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String title, String author, String keywords) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = match(null, title, EnumSet.of(Field.TITLE));
+            scores = match(scores, author, EnumSet.of(Field.AUTHOR));
+            scores = match(scores, keywords, EnumSet.allOf(Field.class));
+            if (scores == null) {
+                return List.of();
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private Map<Long, Double> match(Map<Long, Double> candidates, String text,
+                                    Set<Field> fields) {
+        List<String> tokens = tokenize(text);
+        Map<Long, Double> result = candidates;
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean lastToken = i == tokens.size() - 1;
+            Map<Long, Double> tokenScores = score(tokens.get(i), lastToken, fields);
+            result = result == null ? tokenScores : intersect(result, tokenScores);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, Double> score(String token, boolean matchPrefix, Set<Field> fields) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        for (Field field : fields) {
+            NavigableMap<String, Map<Long, Integer>> fieldPostings = postings.get(field);
+            Map<String, Map<Long, Integer>> terms = matchPrefix
+                    ? fieldPostings.subMap(token, true, token + Character.MAX_VALUE, false)
+                    : fieldPostings.subMap(token, true, token, true);
+            terms.forEach((term, frequencies) -> {
+                double weight = field.weight
+                        * Math.log(1.0 + (double) documentCount / frequencies.size())
+                        * (term.equals(token) ? 1.0 : PREFIX_MATCH_WEIGHT);
+                frequencies.forEach((bookId, frequency) -> scores.merge(bookId,
+                        weight * (1.0 + Math.log(frequency)), Double::sum));
+            });
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        Map<Long, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Double> larger = smaller == left ? right : left;
+        Map<Long, Double> result = new HashMap<>();
+        smaller.forEach((bookId, score) -> {
+            Double otherScore = larger.get(bookId);
+            if (otherScore != null) {
+                result.put(bookId, score + otherScore);
+            }
+        });
+        return result;
+    }
+
+    private void removeDocument(Long bookId) {
+        Map<Field, Set<String>> terms = documents.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        terms.forEach((field, fieldTerms) -> {
+            NavigableMap<String, Map<Long, Integer>> fieldPostings = postings.get(field);
+            for (String term : fieldTerms) {
+                Map<Long, Integer> frequencies = fieldPostings.get(term);
+                frequencies.remove(bookId);
+                if (frequencies.isEmpty()) {
+                    fieldPostings.remove(term);
+                }
+            }
+        });
+    }
+
+    private enum Field {
+        TITLE(Book::getTitle, 3.0),
+        AUTHOR(Book::getAuthor, 2.0),
+        DESCRIPTION(Book::getDescription, 1.0);
+
+        private final Function<Book, String> extractor;
+        private final double weight;
+
+        Field(Function<Book, String> extractor, double weight) {
+            this.extractor = extractor;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package bookstore.search;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.repository.book.BookSpecificationBuilder;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookSearchSpecifications {
+    private static final int MAX_IDS_PER_IN_CLAUSE = 1000;
+    private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+
+    public Specification<Book> build(BookSearchParametersDto formattedDto) {
+        return findIndexMatch(formattedDto)
+                .map(match -> buildIdSpecification(match.remainingParameters(), match.bookIds()))
+                .orElseGet(() -> bookSpecificationBuilder.build(formattedDto));
+    }
+
+    public Optional<IndexMatch> findIndexMatch(BookSearchParametersDto formattedDto) {
+        if (isFuzzySearch(formattedDto)) {
+            return Optional.of(new IndexMatch(withoutFuzzyParameters(formattedDto),
+                    bookTrigramIndex.search(formattedDto.title(), formattedDto.author())));
+        }
+        if (bookSearchIndex.isReady() && hasTextParameters(formattedDto)) {
+            return Optional.of(new IndexMatch(withoutTextParameters(formattedDto),
+                    bookSearchIndex.search(formattedDto.title(), formattedDto.author(),
+                            formattedDto.keywords())));
+        }
+        return Optional.empty();
+    }
+
+    public Specification<Book> buildIdSpecification(
+            BookSearchParametersDto remainingParameters, List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.disjunction();
+        }
+        return bookSpecificationBuilder.build(remainingParameters)
+                .and((root, query, criteriaBuilder) -> {
+                    List<Predicate> idPredicates = new ArrayList<>();
+                    for (int from = 0; from < bookIds.size(); from += MAX_IDS_PER_IN_CLAUSE) {
+                        idPredicates.add(root.get("id").in(bookIds.subList(from,
+                                Math.min(from + MAX_IDS_PER_IN_CLAUSE, bookIds.size()))));
+                    }
+                    return criteriaBuilder.or(idPredicates.toArray(Predicate[]::new));
+                });
+    }
+
+    private boolean isFuzzySearch(BookSearchParametersDto parametersDto) {
+        return Boolean.TRUE.equals(parametersDto.fuzzy()) && bookTrigramIndex.isReady()
+                && (parametersDto.title() != null || parametersDto.author() != null);
+    }
+
+    private boolean hasTextParameters(BookSearchParametersDto parametersDto) {
+        return parametersDto.title() != null
+                || parametersDto.author() != null
+                || parametersDto.keywords() != null;
+    }
+
+    private BookSearchParametersDto withoutTextParameters(BookSearchParametersDto parametersDto) {
+        return new BookSearchParametersDto(null, null, parametersDto.isbn(),
+                parametersDto.minPrice(), parametersDto.maxPrice(), null, null,
+                parametersDto.categoryIds(), parametersDto.authors(), parametersDto.isbns());
+    }
+
+    private BookSearchParametersDto withoutFuzzyParameters(
+            BookSearchParametersDto parametersDto) {
+        return new BookSearchParametersDto(null, null, parametersDto.isbn(),
+                parametersDto.minPrice(), parametersDto.maxPrice(), parametersDto.keywords(),
+                null, parametersDto.categoryIds(), parametersDto.authors(), parametersDto.isbns());
+    }
+
+    public record IndexMatch(BookSearchParametersDto remainingParameters, List<Long> bookIds) {
+    }
+}
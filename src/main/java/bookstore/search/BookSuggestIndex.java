@@ -0,0 +1,156 @@
+package bookstore.search;
+
+import bookstore.dto.book.BookSuggestionsDto;
+import bookstore.dto.orderitem.BookSalesDto;
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import bookstore.repository.OrderItemRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookSuggestIndex {
+    private static final BookSuggestionsDto NO_SUGGESTIONS =
+            new BookSuggestionsDto(List.of(), List.of());
+    private final SuggestTrie titles = new SuggestTrie();
+    private final SuggestTrie authors = new SuggestTrie();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private final Map<Long, Long> sales = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BookRepository bookRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public BookSuggestIndex(
+            BookRepository bookRepository,
+            OrderItemRepository orderItemRepository,
+            @Value("${book.suggest.enabled:false}") boolean enabled,
+            @Value("${book.suggest.batchSize:1000}") int batchSize
+    ) {
+        this.bookRepository = bookRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        List<BookSalesDto> bookSales = orderItemRepository.sumQuantityGroupByBookId();
+        lock.writeLock().lock();
+        try {
+            bookSales.forEach(bookSale -> sales.put(bookSale.bookId(), bookSale.quantity()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long lastId = 0;
+        List<Book> batch = bookRepository.findAllByIdGreaterThanOrderById(lastId,
+                Limit.of(batchSize));
+        while (!batch.isEmpty()) {
+            batch.forEach(this::add);
+            lastId = batch.get(batch.size() - 1).getId();
+            batch = bookRepository.findAllByIdGreaterThanOrderById(lastId, Limit.of(batchSize));
+        }
+    }
+
+    public void add(Book book) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            IndexedBook indexedBook = new IndexedBook(book.getTitle(), book.getAuthor());
+            long weight = sales.getOrDefault(book.getId(), 0L);
+            forEachTerm(indexedBook, (trie, key, text) -> trie.add(key, text, weight));
+            books.put(book.getId(), indexedBook);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+            sales.remove(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordSale(Long bookId, int quantity) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            sales.merge(bookId, (long) quantity, Long::sum);
+            IndexedBook indexedBook = books.get(bookId);
+            if (indexedBook != null) {
+                forEachTerm(indexedBook, (trie, key, text) -> trie.addWeight(key, quantity));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookSuggestionsDto suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return NO_SUGGESTIONS;
+        }
+        lock.readLock().lock();
+        try {
+            return new BookSuggestionsDto(titles.complete(key, limit),
+                    authors.complete(key, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        return String.join(" ", BookSearchIndex.tokenize(text));
+    }
+
+    private void removeBook(Long bookId) {
+        IndexedBook indexedBook = books.remove(bookId);
+        if (indexedBook != null) {
+            long weight = sales.getOrDefault(bookId, 0L);
+            forEachTerm(indexedBook, (trie, key, text) -> trie.remove(key, weight));
+        }
+    }
+
+    private void forEachTerm(IndexedBook indexedBook, TermConsumer consumer) {
+        String titleKey = normalize(indexedBook.title());
+        if (!titleKey.isEmpty()) {
+            consumer.accept(titles, titleKey, indexedBook.title());
+        }
+        String authorKey = normalize(indexedBook.author());
+        if (!authorKey.isEmpty()) {
+            consumer.accept(authors, authorKey, indexedBook.author());
+        }
+    }
+
+    @FunctionalInterface
+    private interface TermConsumer {
+        void accept(SuggestTrie trie, String key, String text);
+    }
+
+    private record IndexedBook(String title, String author) {
+    }
+}
@@ -0,0 +1,213 @@
+package bookstore.search;
+
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookTrigramIndex {
+    private static final String WORD_PREFIX = "  ";
+    private static final String WORD_SUFFIX = " ";
+    private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+    private final Map<Long, Map<Field, Set<String>>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BookRepository bookRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxCandidates;
+    private final double similarityThreshold;
+    private volatile boolean ready;
+
+    public BookTrigramIndex(
+            BookRepository bookRepository,
+            @Value("${book.search.fuzzy.enabled:false}") boolean enabled,
+            @Value("${book.search.fuzzy.batchSize:1000}") int batchSize,
+            @Value("${book.search.fuzzy.maxCandidates:1000}") int maxCandidates,
+            @Value("${book.search.fuzzy.similarityThreshold:0.5}") double similarityThreshold
+    ) {
+        this.bookRepository = bookRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxCandidates = maxCandidates;
+        this.similarityThreshold = similarityThreshold;
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long lastId = 0;
+        List<Book> books = bookRepository.findAllByIdGreaterThanOrderById(lastId,
+                Limit.of(batchSize));
+        while (!books.isEmpty()) {
+            books.forEach(this::add);
+            lastId = books.get(books.size() - 1).getId();
+            books = bookRepository.findAllByIdGreaterThanOrderById(lastId, Limit.of(batchSize));
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(Book book) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            Map<Field, Set<String>> trigrams = new EnumMap<>(Field.class);
+            for (Field field : Field.values()) {
+                Set<String> fieldTrigrams = trigrams(field.extractor.apply(book));
+                fieldTrigrams.forEach(trigram -> postings.get(field)
+                        .computeIfAbsent(trigram, key -> new HashSet<>())
+                        .add(book.getId()));
+                trigrams.put(field, fieldTrigrams);
+            }
+            documents.put(book.getId(), trigrams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String title, String author) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = match(null, title, Field.TITLE);
+            scores = match(scores, author, Field.AUTHOR);
+            if (scores == null) {
+                return List.of();
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String token : BookSearchIndex.tokenize(text)) {
+            String padded = WORD_PREFIX + token + WORD_SUFFIX;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private Map<Long, Double> match(Map<Long, Double> candidates, String text, Field field) {
+        Set<String> queryTrigrams = trigrams(text);
+        if (queryTrigrams.isEmpty()) {
+            return candidates;
+        }
+        Map<String, Set<Long>> fieldPostings = postings.get(field);
+        List<Set<Long>> postingLists = new ArrayList<>();
+        for (String trigram : queryTrigrams) {
+            Set<Long> bookIds = fieldPostings.get(trigram);
+            if (bookIds != null) {
+                postingLists.add(bookIds);
+            }
+        }
+        postingLists.sort(Comparator.comparingInt(Set::size));
+        Map<Long, Integer> sharedTrigrams = new HashMap<>();
+        for (Set<Long> bookIds : postingLists) {
+            if (bookIds.size() <= sharedTrigrams.size()) {
+                for (Long bookId : bookIds) {
+                    Integer shared = sharedTrigrams.get(bookId);
+                    if (shared != null) {
+                        sharedTrigrams.put(bookId, shared + 1);
+                    } else if (sharedTrigrams.size() < maxCandidates) {
+                        sharedTrigrams.put(bookId, 1);
+                    }
+                }
+                continue;
+            }
+            sharedTrigrams.replaceAll((bookId, shared) ->
+                    bookIds.contains(bookId) ? shared + 1 : shared);
+            Iterator<Long> newCandidates = bookIds.iterator();
+            while (sharedTrigrams.size() < maxCandidates && newCandidates.hasNext()) {
+                sharedTrigrams.putIfAbsent(newCandidates.next(), 1);
+            }
+        }
+        Map<Long, Double> result = new HashMap<>();
+        sharedTrigrams.forEach((bookId, shared) -> {
+            if (candidates != null && !candidates.containsKey(bookId)) {
+                return;
+            }
+            double similarity = (double) shared / queryTrigrams.size();
+            if (similarity >= similarityThreshold) {
+                int documentSize = documents.get(bookId).get(field).size();
+                double score = similarity + (double) shared
+                        / (queryTrigrams.size() + documentSize - shared);
+                result.put(bookId, candidates == null ? score : candidates.get(bookId) + score);
+            }
+        });
+        return result;
+    }
+
+    private void removeDocument(Long bookId) {
+        Map<Field, Set<String>> trigrams = documents.remove(bookId);
+        if (trigrams == null) {
+            return;
+        }
+        trigrams.forEach((field, fieldTrigrams) -> {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String trigram : fieldTrigrams) {
+                Set<Long> bookIds = fieldPostings.get(trigram);
+                bookIds.remove(bookId);
+                if (bookIds.isEmpty()) {
+                    fieldPostings.remove(trigram);
+                }
+            }
+        });
+    }
+
+    private enum Field {
+        TITLE(Book::getTitle),
+        AUTHOR(Book::getAuthor);
+
+        private final Function<Book, String> extractor;
+
+        Field(Function<Book, String> extractor) {
+            this.extractor = extractor;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package bookstore.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+class SuggestTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Candidate> BEST_FIRST =
+            Comparator.comparingLong(Candidate::weight).reversed()
+                    .thenComparing(candidate -> candidate.entry() == null);
+    private final Node root = new Node("");
+    private int size;
+    private int nodeCount = 1;
+
+    void add(String key, String text, long weight) {
+        update(root, key, 0, text, weight, 1);
+    }
+
+    void remove(String key, long weight) {
+        update(root, key, 0, null, -weight, -1);
+    }
+
+    void addWeight(String key, long weight) {
+        update(root, key, 0, null, weight, 0);
+    }
+
+    List<String> complete(String prefix, int limit) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            Node child = node.child(prefix.charAt(offset));
+            if (child == null) {
+                return List.of();
+            }
+            int remaining = prefix.length() - offset;
+            if (remaining <= child.label.length()) {
+                if (!child.label.startsWith(prefix.substring(offset))) {
+                    return List.of();
+                }
+            } else if (!prefix.startsWith(child.label, offset)) {
+                return List.of();
+            }
+            offset += child.label.length();
+            node = child;
+        }
+        List<String> completions = new ArrayList<>(limit);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        candidates.add(new Candidate(node.maxWeight, node, null));
+        while (!candidates.isEmpty() && completions.size() < limit) {
+            Candidate candidate = candidates.poll();
+            if (candidate.entry() != null) {
+                completions.add(candidate.entry().text);
+                continue;
+            }
+            Node current = candidate.node();
+            if (current.entry != null) {
+                candidates.add(new Candidate(current.entry.weight, null, current.entry));
+            }
+            for (Node child : current.children) {
+                candidates.add(new Candidate(child.maxWeight, child, null));
+            }
+        }
+        return completions;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    private void update(Node node, String key, int offset, String text, long weight,
+                        int references) {
+        if (offset == key.length()) {
+            updateEntry(node, text, weight, references);
+            node.recompute();
+            return;
+        }
+        int index = node.indexOf(key.charAt(offset));
+        if (index < 0) {
+            if (references <= 0) {
+                return;
+            }
+            Node leaf = new Node(key.substring(offset));
+            updateEntry(leaf, text, weight, references);
+            leaf.recompute();
+            node.insertChild(-index - 1, leaf);
+            nodeCount++;
+            node.recompute();
+            return;
+        }
+        Node child = node.children[index];
+        int common = commonPrefixLength(child.label, key, offset);
+        if (common < child.label.length()) {
+            if (references <= 0) {
+                return;
+            }
+            Node parent = new Node(child.label.substring(0, common));
+            child.label = child.label.substring(common);
+            parent.children = new Node[] {child};
+            node.children[index] = parent;
+            nodeCount++;
+            child = parent;
+        }
+        update(child, key, offset + common, text, weight, references);
+        if (child.entry == null && child.children.length == 0) {
+            node.removeChild(index);
+            nodeCount--;
+        } else if (child.entry == null && child.children.length == 1) {
+            Node grandchild = child.children[0];
+            child.label = child.label + grandchild.label;
+            child.entry = grandchild.entry;
+            child.children = grandchild.children;
+            child.maxWeight = grandchild.maxWeight;
+            nodeCount--;
+        }
+        node.recompute();
+    }
+
+    private void updateEntry(Node node, String text, long weight, int references) {
+        if (node.entry == null) {
+            if (references <= 0) {
+                return;
+            }
+            node.entry = new Entry(text);
+            size++;
+        }
+        node.entry.weight += weight;
+        node.entry.references += references;
+        if (node.entry.references <= 0) {
+            node.entry = null;
+            size--;
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Entry entry;
+        private long maxWeight = Long.MIN_VALUE;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index < 0 ? null : children[index];
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char middleFirst = children[middle].label.charAt(0);
+                if (middleFirst < first) {
+                    low = middle + 1;
+                } else if (middleFirst > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insertChild(int index, Node child) {
+            Node[] expanded = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(expanded, index, expanded, index + 1, children.length - index);
+            expanded[index] = child;
+            children = expanded;
+        }
+
+        private void removeChild(int index) {
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, shrunk.length - index);
+            children = shrunk;
+        }
+
+        private void recompute() {
+            long max = entry == null ? Long.MIN_VALUE : entry.weight;
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+
+    private static final class Entry {
+        private final String text;
+        private long weight;
+        private int references;
+
+        private Entry(String text) {
+            this.text = text;
+        }
+    }
+
+    private record Candidate(long weight, Node node, Entry entry) {
+    }
+}
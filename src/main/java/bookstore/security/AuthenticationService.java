@@ -1,13 +1,14 @@
 package bookstore.security;
 
+import static bookstore.security.JwtService.TOKEN_VERSION_CLAIM;
+
 import bookstore.dto.jwt.JwtResponseDto;
 import bookstore.dto.user.UserLoginRequestDto;
 import bookstore.exception.AuthenticationException;
 import bookstore.model.User;
 import bookstore.service.UserService;
 import io.jsonwebtoken.Claims;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Objects;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,8 +19,9 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
+    private static final String INVALID_JWT_TOKEN_MESSAGE = "Invalid JWT token";
     private final UserService userService;
-    private final Map<String, String> refreshStorage = new HashMap<>();
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
 
@@ -29,7 +31,7 @@ public class AuthenticationService {
         User user = (User) authentication.getPrincipal();
         final String accessToken = jwtService.generateAccessToken(user);
         final String refreshToken = jwtService.generateRefreshToken(user);
-        refreshStorage.put(user.getEmail(), refreshToken);
+        refreshTokenStore.save(user.getEmail(), refreshToken);
         return new JwtResponseDto(accessToken, refreshToken);
     }
 
@@ -37,9 +39,9 @@ public class AuthenticationService {
         if (jwtService.validateRefreshToken(refreshToken)) {
             final Claims claims = jwtService.getRefreshClaims(refreshToken);
             final String email = claims.getSubject();
-            final String savedRefreshToken = refreshStorage.get(email);
-            if (savedRefreshToken != null && savedRefreshToken.equals(refreshToken)) {
+            if (refreshTokenStore.matches(email, refreshToken)) {
                 final User user = (User) userService.loadUserByUsername(email);
+                throwIfTokenVersionOutdated(claims, user);
                 final String accessToken = jwtService.generateAccessToken(user);
                 return new JwtResponseDto(accessToken, null);
             }
@@ -51,15 +53,24 @@ public class AuthenticationService {
         if (jwtService.validateRefreshToken(refreshToken)) {
             final Claims claims = jwtService.getRefreshClaims(refreshToken);
             final String email = claims.getSubject();
-            final String saveRefreshToken = refreshStorage.get(email);
-            if (saveRefreshToken != null && saveRefreshToken.equals(refreshToken)) {
+            if (refreshTokenStore.matches(email, refreshToken)) {
                 final User user = (User) userService.loadUserByUsername(email);
+                throwIfTokenVersionOutdated(claims, user);
                 final String accessToken = jwtService.generateAccessToken(user);
                 final String newRefreshToken = jwtService.generateRefreshToken(user);
-                refreshStorage.put(user.getEmail(), newRefreshToken);
-                return new JwtResponseDto(accessToken, newRefreshToken);
+                if (refreshTokenStore.replace(email, refreshToken, newRefreshToken)) {
+                    return new JwtResponseDto(accessToken, newRefreshToken);
+                }
             }
         }
-        throw new AuthenticationException("Invalid JWT token");
+        throw new AuthenticationException(INVALID_JWT_TOKEN_MESSAGE);
+    }
+
+    private void throwIfTokenVersionOutdated(Claims claims, User user) {
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (!user.isEnabled() || !Objects.equals(tokenVersion, user.getTokenVersion())) {
+            refreshTokenStore.remove(user.getEmail());
+            throw new AuthenticationException(INVALID_JWT_TOKEN_MESSAGE);
+        }
     }
 }
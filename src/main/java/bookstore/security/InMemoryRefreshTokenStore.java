@@ -0,0 +1,69 @@
+package bookstore.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "jwt.refreshTokenStore", havingValue = "memory",
+        matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private final Map<String, StoredToken> tokens = new ConcurrentHashMap<>();
+    private final Duration timeToLive;
+
+    public InMemoryRefreshTokenStore(
+            @Value("${jwt.refreshTokenExpirationInDays}") long refreshExpirationInDays) {
+        this.timeToLive = Duration.ofDays(refreshExpirationInDays);
+    }
+
+    @Override
+    public void save(String email, String refreshToken) {
+        tokens.put(email, createStoredToken(refreshToken));
+    }
+
+    @Override
+    public boolean matches(String email, String refreshToken) {
+        StoredToken storedToken = tokens.get(email);
+        return storedToken != null
+                && !storedToken.isExpired(Instant.now())
+                && storedToken.tokenHash().equals(DigestUtils.sha256Hex(refreshToken));
+    }
+
+    @Override
+    public boolean replace(String email, String currentRefreshToken, String newRefreshToken) {
+        String currentHash = DigestUtils.sha256Hex(currentRefreshToken);
+        StoredToken newToken = createStoredToken(newRefreshToken);
+        StoredToken result = tokens.computeIfPresent(email, (key, storedToken) ->
+                storedToken.tokenHash().equals(currentHash)
+                        && !storedToken.isExpired(Instant.now()) ? newToken : storedToken);
+        return result == newToken;
+    }
+
+    @Override
+    public void remove(String email) {
+        tokens.remove(email);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refreshTokenSweepIntervalInMillis:60000}")
+    public void removeExpiredTokens() {
+        Instant now = Instant.now();
+        tokens.values().removeIf(storedToken -> storedToken.isExpired(now));
+    }
+
+    private StoredToken createStoredToken(String refreshToken) {
+        return new StoredToken(DigestUtils.sha256Hex(refreshToken),
+                Instant.now().plus(timeToLive));
+    }
+
+    private record StoredToken(String tokenHash, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+}
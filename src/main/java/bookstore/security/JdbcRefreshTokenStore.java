@@ -0,0 +1,303 @@
+package bookstore.security;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "jwt.refreshTokenStore", havingValue = "jdbc")
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+    private static final String SELECT_SQL =
+            "SELECT token_hash, expires_at FROM refresh_tokens WHERE email = ?";
+    private static final String UPSERT_SQL =
+            "INSERT INTO refresh_tokens (email, token_hash, expires_at) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE token_hash = VALUES(token_hash), "
+                    + "expires_at = VALUES(expires_at)";
+    private static final String REPLACE_SQL =
+            "UPDATE refresh_tokens SET token_hash = ?, expires_at = ? "
+                    + "WHERE email = ? AND token_hash = ? AND expires_at > ?";
+    private static final String SELECT_HASH_SQL =
+            "SELECT token_hash FROM refresh_tokens WHERE email = ?";
+    private static final String DELETE_SQL = "DELETE FROM refresh_tokens WHERE email = ?";
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM refresh_tokens WHERE expires_at <= ?";
+    private static final String STORE_UNAVAILABLE_MESSAGE =
+            "The refresh token store is unavailable";
+    private final Map<String, RetiredToken> retiredTokens = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "refresh-token-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration timeToLive;
+    private final Duration nearCacheTimeToLive;
+    private final int batchSize;
+    private final long flushTimeoutInMillis;
+    private volatile boolean running = true;
+
+    public JdbcRefreshTokenStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${jwt.refreshTokenExpirationInDays}") long refreshExpirationInDays,
+            @Value("${jwt.refreshTokenNearCacheTtlInSeconds:30}") long nearCacheTtlInSeconds,
+            @Value("${jwt.refreshTokenBatchSize:100}") int batchSize,
+            @Value("${jwt.refreshTokenFlushTimeoutInMillis:5000}") long flushTimeoutInMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeToLive = Duration.ofDays(refreshExpirationInDays);
+        this.nearCacheTimeToLive = Duration.ofSeconds(nearCacheTtlInSeconds);
+        this.batchSize = batchSize;
+        this.flushTimeoutInMillis = flushTimeoutInMillis;
+        writer.execute(this::flushPendingWrites);
+    }
+
+    @Override
+    public void save(String email, String refreshToken) {
+        String tokenHash = DigestUtils.sha256Hex(refreshToken);
+        Instant expiresAt = Instant.now().plus(timeToLive);
+        await(enqueue(new PendingWrite(WriteType.UPSERT, email, tokenHash, null, expiresAt)));
+    }
+
+    @Override
+    public boolean matches(String email, String refreshToken) {
+        String tokenHash = DigestUtils.sha256Hex(refreshToken);
+        Instant now = Instant.now();
+        RetiredToken retiredToken = retiredTokens.get(email);
+        if (retiredToken != null && retiredToken.isFresh(now, nearCacheTimeToLive)
+                && retiredToken.tokenHash().equals(tokenHash)) {
+            return false;
+        }
+        StoredToken storedToken = load(email);
+        if (storedToken != null && storedToken.matches(tokenHash, now)) {
+            return true;
+        }
+        retire(email, tokenHash, now);
+        return false;
+    }
+
+    @Override
+    public boolean replace(String email, String currentRefreshToken, String newRefreshToken) {
+        String currentTokenHash = DigestUtils.sha256Hex(currentRefreshToken);
+        String newTokenHash = DigestUtils.sha256Hex(newRefreshToken);
+        Instant expiresAt = Instant.now().plus(timeToLive);
+        boolean replaced = await(enqueue(new PendingWrite(WriteType.REPLACE, email,
+                newTokenHash, currentTokenHash, expiresAt)));
+        if (!newTokenHash.equals(currentTokenHash)) {
+            retire(email, currentTokenHash, Instant.now());
+        }
+        return replaced;
+    }
+
+    @Override
+    public void remove(String email) {
+        await(enqueue(new PendingWrite(WriteType.DELETE, email, null, null, null)));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refreshTokenSweepIntervalInMillis:60000}")
+    public void removeExpiredTokens() {
+        Instant now = Instant.now();
+        retiredTokens.entrySet().removeIf(entry ->
+                !entry.getValue().isFresh(now, nearCacheTimeToLive));
+        jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.from(now));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(flushTimeoutInMillis, TimeUnit.MILLISECONDS)) {
+            writer.shutdownNow();
+        }
+        List<PendingWrite> abandoned = new ArrayList<>();
+        pendingWrites.drainTo(abandoned);
+        fail(abandoned, new IllegalStateException(STORE_UNAVAILABLE_MESSAGE));
+    }
+
+    private StoredToken load(String email) {
+        List<StoredToken> tokens = jdbcTemplate.query(SELECT_SQL, (resultSet, rowNum) ->
+                new StoredToken(resultSet.getString("token_hash"),
+                        resultSet.getTimestamp("expires_at").toInstant()), email);
+        return tokens.isEmpty() ? null : tokens.get(0);
+    }
+
+    private void retire(String email, String tokenHash, Instant now) {
+        if (!nearCacheTimeToLive.isZero()) {
+            retiredTokens.put(email, new RetiredToken(tokenHash, now));
+        }
+    }
+
+    private CompletableFuture<Boolean> enqueue(PendingWrite pendingWrite) {
+        if (!running) {
+            pendingWrite.result().completeExceptionally(
+                    new IllegalStateException(STORE_UNAVAILABLE_MESSAGE));
+            return pendingWrite.result();
+        }
+        pendingWrites.add(pendingWrite);
+        return pendingWrite.result();
+    }
+
+    private boolean await(CompletableFuture<Boolean> result) {
+        try {
+            return result.get(flushTimeoutInMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new TransientDataAccessResourceException(STORE_UNAVAILABLE_MESSAGE, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new TransientDataAccessResourceException(STORE_UNAVAILABLE_MESSAGE, ex);
+        }
+    }
+
+    private void flushPendingWrites() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !pendingWrites.isEmpty()) {
+            try {
+                PendingWrite first = pendingWrites.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingWrites.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                fail(batch, ex);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                fail(batch, ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        int start = 0;
+        while (start < batch.size()) {
+            WriteType type = batch.get(start).type();
+            int end = start + 1;
+            while (end < batch.size() && batch.get(end).type() == type) {
+                end++;
+            }
+            flush(type, batch.subList(start, end));
+            start = end;
+        }
+    }
+
+    private void flush(WriteType type, List<PendingWrite> writes) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int[][] counts = jdbcTemplate.batchUpdate(type.sql, writes, writes.size(),
+                (statement, pendingWrite) -> type.bind(statement, pendingWrite, now));
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                PendingWrite pendingWrite = writes.get(index++);
+                pendingWrite.result().complete(isApplied(type, pendingWrite, count));
+            }
+        }
+    }
+
+    private boolean isApplied(WriteType type, PendingWrite pendingWrite, int count) {
+        if (count != Statement.SUCCESS_NO_INFO) {
+            return count > 0;
+        }
+        if (type != WriteType.REPLACE) {
+            return true;
+        }
+        List<String> hashes = jdbcTemplate.queryForList(SELECT_HASH_SQL, String.class,
+                pendingWrite.email());
+        return hashes.contains(pendingWrite.tokenHash());
+    }
+
+    private void fail(List<PendingWrite> writes, Exception ex) {
+        writes.forEach(pendingWrite -> pendingWrite.result().completeExceptionally(ex));
+    }
+
+    private enum WriteType {
+        UPSERT(UPSERT_SQL) {
+            @Override
+            void bind(PreparedStatement statement, PendingWrite write, Timestamp now)
+                    throws SQLException {
+                statement.setString(1, write.email());
+                statement.setString(2, write.tokenHash());
+                statement.setTimestamp(3, Timestamp.from(write.expiresAt()));
+            }
+        },
+        REPLACE(REPLACE_SQL) {
+            @Override
+            void bind(PreparedStatement statement, PendingWrite write, Timestamp now)
+                    throws SQLException {
+                statement.setString(1, write.tokenHash());
+                statement.setTimestamp(2, Timestamp.from(write.expiresAt()));
+                statement.setString(3, write.email());
+                statement.setString(4, write.expectedTokenHash());
+                statement.setTimestamp(5, now);
+            }
+        },
+        DELETE(DELETE_SQL) {
+            @Override
+            void bind(PreparedStatement statement, PendingWrite write, Timestamp now)
+                    throws SQLException {
+                statement.setString(1, write.email());
+            }
+        };
+
+        private final String sql;
+
+        WriteType(String sql) {
+            this.sql = sql;
+        }
+
+        abstract void bind(PreparedStatement statement, PendingWrite write,
+                           Timestamp now) throws SQLException;
+    }
+
+    private record PendingWrite(
+            WriteType type,
+            String email,
+            String tokenHash,
+            String expectedTokenHash,
+            Instant expiresAt,
+            CompletableFuture<Boolean> result
+    ) {
+        PendingWrite(WriteType type, String email, String tokenHash,
+                     String expectedTokenHash, Instant expiresAt) {
+            this(type, email, tokenHash, expectedTokenHash, expiresAt, new CompletableFuture<>());
+        }
+    }
+
+    private record StoredToken(String tokenHash, Instant expiresAt) {
+        boolean matches(String candidateHash, Instant now) {
+            return expiresAt.isAfter(now) && tokenHash.equals(candidateHash);
+        }
+    }
+
+    private record RetiredToken(String tokenHash, Instant retiredAt) {
+        boolean isFresh(Instant now, Duration timeToLive) {
+            return retiredAt.plus(timeToLive).isAfter(now);
+        }
+    }
+}
@@ -34,8 +34,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws IOException {
         try {
             final String token = getTokenFromRequest(request);
-            if (token != null && jwtService.validateAccessToken(token)) {
-                final Claims claims = jwtService.getAccessClaims(token);
+            if (token != null) {
+                final Claims claims = jwtService.verifyAccessToken(token);
                 final JwtAuthentication authentication =
                         jwtAuthenticationProvider.createAuthentication(claims);
                 authentication.setAuthenticated(true);
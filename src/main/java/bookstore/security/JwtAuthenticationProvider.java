@@ -1,12 +1,15 @@
 package bookstore.security;
 
+import static bookstore.security.JwtService.TOKEN_VERSION_CLAIM;
+import static bookstore.security.JwtService.USER_ID_CLAIM;
+
 import bookstore.model.Role;
 import bookstore.model.User;
-import bookstore.repository.RoleRepository;
-import bookstore.service.UserService;
+import bookstore.service.RoleRegistry;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -16,16 +19,33 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationProvider {
-    private final RoleRepository roleRepository;
     private final ObjectMapper objectMapper;
-    private final UserService userService;
+    private final RoleRegistry roleRegistry;
+    private final TokenVersionCache tokenVersionCache;
 
     public JwtAuthentication createAuthentication(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (userId == null || tokenVersion == null) {
+            throw new JwtException("Invalid token");
+        }
+        if (!tokenVersionCache.isCurrent(userId, tokenVersion)) {
+            throw new JwtException("Token has been revoked");
+        }
+        Set<Role> roles = getRoles(claims);
+        String firstName = claims.get("firstName", String.class);
+        User principal = new User()
+                .setId(userId)
+                .setEmail(claims.getSubject())
+                .setFirstName(firstName)
+                .setTokenVersion(tokenVersion)
+                .setRoles(roles);
         return JwtAuthentication.builder()
-                .roles(getRoles(claims))
-                .firstName(claims.get("firstName", String.class))
+                .userId(userId)
+                .roles(roles)
+                .firstName(firstName)
                 .email(claims.getSubject())
-                .user((User) userService.loadUserByUsername(claims.getSubject()))
+                .user(principal)
                 .build();
     }
 
@@ -37,7 +57,7 @@ public class JwtAuthenticationProvider {
         );
         return roles.stream()
                 .map(Role.RoleName::valueOf)
-                .map(roleRepository::getByName)
+                .map(roleRegistry::getByName)
                 .collect(Collectors.toSet());
     }
 }
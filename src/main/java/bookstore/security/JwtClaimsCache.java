@@ -0,0 +1,49 @@
+package bookstore.security;
+
+import bookstore.cache.TinyLfuCache;
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+import java.util.function.LongSupplier;
+import org.apache.commons.codec.digest.DigestUtils;
+
+public class JwtClaimsCache {
+    private final TinyLfuCache<String, CachedClaims> cache;
+    private final LongSupplier clock;
+
+    public JwtClaimsCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    JwtClaimsCache(int maxSize, LongSupplier clock) {
+        this.cache = new TinyLfuCache<>(maxSize);
+        this.clock = clock;
+    }
+
+    public Claims get(String token) {
+        String key = DigestUtils.sha256Hex(token);
+        CachedClaims cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() <= clock.getAsLong()) {
+            cache.invalidate(key);
+            return null;
+        }
+        return cached.claims();
+    }
+
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return;
+        }
+        cache.put(DigestUtils.sha256Hex(token), new CachedClaims(claims, expiration.getTime()));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
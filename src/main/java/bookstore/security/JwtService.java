@@ -4,6 +4,7 @@ import bookstore.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -11,6 +12,7 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import javax.crypto.SecretKey;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,10 +20,15 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class JwtService {
+    static final String USER_ID_CLAIM = "userId";
+    static final String TOKEN_VERSION_CLAIM = "tokenVersion";
     private static final int MILLISECONDS_IN_A_MINUTE = 60000;
     private static final int MILLISECONDS_IN_A_DAY = 86400000;
     private final SecretKey jwtAccessSecret;
     private final SecretKey jwtRefreshSecret;
+    private final JwtParser accessParser;
+    private final JwtParser refreshParser;
+    private final JwtClaimsCache accessClaimsCache;
     @Value("${jwt.accessTokenExpirationInMinutes}")
     private long accessExpirationInMinutes;
     @Value("${jwt.refreshTokenExpirationInDays}")
@@ -29,12 +36,16 @@ public class JwtService {
 
     public JwtService(
             @Value("${jwt.accessSecret}") String jwtAccessSecret,
-            @Value("${jwt.refreshSecret}") String jwtRefreshSecret
+            @Value("${jwt.refreshSecret}") String jwtRefreshSecret,
+            @Value("${jwt.claimsCacheMaxSize:10000}") int claimsCacheMaxSize
     ) {
         this.jwtAccessSecret =
                 Keys.hmacShaKeyFor(jwtAccessSecret.getBytes(StandardCharsets.UTF_8));
         this.jwtRefreshSecret =
                 Keys.hmacShaKeyFor(jwtRefreshSecret.getBytes(StandardCharsets.UTF_8));
+        this.accessParser = Jwts.parser().verifyWith(this.jwtAccessSecret).build();
+        this.refreshParser = Jwts.parser().verifyWith(this.jwtRefreshSecret).build();
+        this.accessClaimsCache = new JwtClaimsCache(claimsCacheMaxSize);
     }
 
     public String generateAccessToken(@NonNull User user) {
@@ -43,44 +54,55 @@ public class JwtService {
                         + accessExpirationInMinutes * MILLISECONDS_IN_A_MINUTE
                 ))
                 .signWith(jwtAccessSecret)
+                .claim(USER_ID_CLAIM, user.getId())
                 .claim("roles", user.getAuthoritiesNamesList())
                 .claim("firstName", user.getFirstName())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .compact();
     }
 
     public String generateRefreshToken(@NonNull User user) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getEmail())
                 .expiration(new Date(System.currentTimeMillis()
                         + refreshExpirationInDays * MILLISECONDS_IN_A_DAY
                 ))
                 .signWith(jwtRefreshSecret)
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .compact();
     }
 
     public boolean validateAccessToken(@NonNull String accessToken) {
-        return validateToken(accessToken, jwtAccessSecret);
+        verifyAccessToken(accessToken);
+        return true;
     }
 
     public boolean validateRefreshToken(@NonNull String refreshToken) {
-        return validateToken(refreshToken, jwtRefreshSecret);
+        parseToken(refreshToken, refreshParser);
+        return true;
+    }
+
+    public Claims verifyAccessToken(@NonNull String accessToken) {
+        Claims claims = accessClaimsCache.get(accessToken);
+        if (claims == null) {
+            claims = parseToken(accessToken, accessParser);
+            accessClaimsCache.put(accessToken, claims);
+        }
+        return claims;
     }
 
     public Claims getAccessClaims(@NonNull String token) {
-        return getClaims(token, jwtAccessSecret);
+        return verifyAccessToken(token);
     }
 
     public Claims getRefreshClaims(@NonNull String token) {
-        return getClaims(token, jwtRefreshSecret);
+        return parseToken(token, refreshParser);
     }
 
-    private boolean validateToken(@NonNull String token, @NonNull SecretKey secret) {
+    private Claims parseToken(@NonNull String token, @NonNull JwtParser parser) {
         try {
-            Jwts.parser()
-                    .verifyWith(secret)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException ex) {
             throw new JwtException("Token expired", ex);
         } catch (UnsupportedJwtException ex) {
@@ -93,12 +115,4 @@ public class JwtService {
             throw new JwtException("Invalid token", ex);
         }
     }
-
-    private Claims getClaims(@NonNull String token, @NonNull SecretKey secret) {
-        return Jwts.parser()
-                .verifyWith(secret)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
 }
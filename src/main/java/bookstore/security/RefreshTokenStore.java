@@ -0,0 +1,11 @@
+package bookstore.security;
+
+public interface RefreshTokenStore {
+    void save(String email, String refreshToken);
+
+    boolean matches(String email, String refreshToken);
+
+    boolean replace(String email, String currentRefreshToken, String newRefreshToken);
+
+    void remove(String email);
+}
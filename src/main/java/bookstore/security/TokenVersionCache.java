@@ -0,0 +1,56 @@
+package bookstore.security;
+
+import bookstore.cache.TinyLfuCache;
+import bookstore.repository.UserRepository;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenVersionCache {
+    private final TinyLfuCache<Long, CachedVersion> cache;
+    private final UserRepository userRepository;
+    private final long ttlInMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TokenVersionCache(
+            UserRepository userRepository,
+            @Value("${jwt.tokenVersionCacheMaxSize:0}") int maxSize,
+            @Value("${jwt.tokenVersionCacheTtlInSeconds:0}") long ttlInSeconds
+    ) {
+        this(userRepository, maxSize, ttlInSeconds, System::currentTimeMillis);
+    }
+
+    TokenVersionCache(UserRepository userRepository, int maxSize, long ttlInSeconds,
+                      LongSupplier clock) {
+        this.cache = new TinyLfuCache<>(ttlInSeconds > 0 ? maxSize : 0);
+        this.userRepository = userRepository;
+        this.ttlInMillis = TimeUnit.SECONDS.toMillis(ttlInSeconds);
+        this.clock = clock;
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        CachedVersion cached = cache.get(userId, this::load);
+        if (ttlInMillis > 0 && cached.loadedAt() + ttlInMillis <= clock.getAsLong()) {
+            cache.invalidate(userId);
+            cached = cache.get(userId, this::load);
+        }
+        return Objects.equals(cached.tokenVersion(), tokenVersion);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private CachedVersion load(Long userId) {
+        return new CachedVersion(userRepository.findTokenVersionById(userId).orElse(null),
+                clock.getAsLong());
+    }
+
+    private record CachedVersion(Integer tokenVersion, long loadedAt) {
+    }
+}
@@ -0,0 +1,8 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookDto;
+import java.io.InputStream;
+
+public interface BookCoverService {
+    BookDto uploadCover(Long bookId, InputStream content);
+}
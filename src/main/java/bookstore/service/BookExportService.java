@@ -0,0 +1,8 @@
+package bookstore.service;
+
+import bookstore.exporter.BookExportFormat;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void export(OutputStream outputStream, BookExportFormat format);
+}
@@ -0,0 +1,8 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.facet.BookFacetsDto;
+
+public interface BookFacetService {
+    BookFacetsDto findFacets(BookSearchParametersDto parametersDto);
+}
@@ -0,0 +1,9 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookImportResultDto;
+import java.io.InputStream;
+import org.springframework.http.MediaType;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(InputStream body, MediaType contentType);
+}
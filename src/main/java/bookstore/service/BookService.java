@@ -1,25 +1,57 @@
 package bookstore.service;
 
+import bookstore.dto.book.AddBookStockRequestDto;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookStockDto;
+import bookstore.dto.book.BookSuggestionsDto;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.dto.book.UpdateBookRequestDto;
-import org.springframework.data.domain.Page;
+import bookstore.dto.page.CountMode;
+import bookstore.dto.page.CursorPageDto;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface BookService {
     BookDto save(CreateBookRequestDto bookDto);
 
-    BookDto findById(Long id);
+    BookDto findById(Long id, long version);
 
-    Page<BookDto> findAll(Pageable pageable);
+    long getVersion(Long id);
+
+    Slice<BookDto> findAll(Pageable pageable, CountMode countMode);
+
+    CursorPageDto<BookDto> findAll(String cursor, Pageable pageable);
 
     BookDto update(UpdateBookRequestDto requestDto, Long id);
 
+    BookDto updateCoverImage(Long id, String coverImage);
+
+    BookStockDto getStock(Long id);
+
+    BookStockDto addStock(Long id, AddBookStockRequestDto requestDto);
+
     void deleteById(Long id);
 
-    Page<BookDto> search(BookSearchParametersDto parametersDto, Pageable pageable);
+    Slice<BookDto> search(BookSearchParametersDto parametersDto, Pageable pageable,
+                          CountMode countMode);
+
+    CursorPageDto<BookDto> search(BookSearchParametersDto parametersDto, String cursor,
+                                  Pageable pageable);
+
+    BookSuggestionsDto suggest(String prefix, int limit);
+
+    List<BookDto> findRecommendations(Long id, int limit);
+
+    List<BookDto> findBestsellers(int days, Long categoryId, int limit);
+
+    List<BookDto> findTrending(int days, Long categoryId, int limit);
+
+    Slice<BookDtoWithoutCategoryIds> findByCategoryId(Long id, Pageable pageable,
+                                                      CountMode countMode);
 
-    Page<BookDtoWithoutCategoryIds> findByCategoryId(Long id, Pageable pageable);
+    CursorPageDto<BookDtoWithoutCategoryIds> findByCategoryId(Long id, String cursor,
+                                                              Pageable pageable);
 }
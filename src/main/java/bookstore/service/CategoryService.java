@@ -3,11 +3,12 @@ package bookstore.service;
 import bookstore.dto.category.CategoryDto;
 import bookstore.dto.category.CreateCategoryRequestDto;
 import bookstore.dto.category.UpdateCategoryRequestDto;
-import org.springframework.data.domain.Page;
+import bookstore.dto.page.CountMode;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface CategoryService {
-    Page<CategoryDto> findAll(Pageable pageable);
+    Slice<CategoryDto> findAll(Pageable pageable, CountMode countMode);
 
     CategoryDto getById(Long id);
 
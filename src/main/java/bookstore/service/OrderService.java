@@ -4,18 +4,20 @@ import bookstore.dto.order.OrderAddressDto;
 import bookstore.dto.order.OrderDto;
 import bookstore.dto.order.OrderStatusDto;
 import bookstore.dto.orderitem.OrderItemDto;
+import bookstore.dto.page.CountMode;
 import bookstore.model.User;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface OrderService {
     OrderDto placeOrder(User user, OrderAddressDto addressDto);
 
-    Page<OrderDto> getAllOrders(User user, Pageable pageable);
+    Slice<OrderDto> getAllOrders(User user, Pageable pageable, CountMode countMode);
 
     OrderDto updateStatus(Long orderId, OrderStatusDto statusDto);
 
-    Page<OrderItemDto> getOrderItems(Long orderId, User user, Pageable pageable);
+    Slice<OrderItemDto> getOrderItems(Long orderId, User user, Pageable pageable,
+                                      CountMode countMode);
 
     OrderDto getOrder(Long orderId, User user);
 
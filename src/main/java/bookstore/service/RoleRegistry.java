@@ -0,0 +1,29 @@
+package bookstore.service;
+
+import bookstore.model.Role;
+import bookstore.repository.RoleRepository;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoleRegistry {
+    private static final String ROLE_NOT_FOUND_MESSAGE = "The role %s is missing in the database";
+    private final Map<Role.RoleName, Role> roles;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        Map<Role.RoleName, Role> loadedRoles = new EnumMap<>(Role.RoleName.class);
+        roleRepository.findAll().forEach(role -> loadedRoles.put(role.getName(), role));
+        for (Role.RoleName roleName : Role.RoleName.values()) {
+            if (!loadedRoles.containsKey(roleName)) {
+                throw new IllegalStateException(String.format(ROLE_NOT_FOUND_MESSAGE, roleName));
+            }
+        }
+        this.roles = Collections.unmodifiableMap(loadedRoles);
+    }
+
+    public Role getByName(Role.RoleName name) {
+        return roles.get(name);
+    }
+}
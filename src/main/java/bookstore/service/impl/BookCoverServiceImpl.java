@@ -0,0 +1,24 @@
+package bookstore.service.impl;
+
+import bookstore.cover.CoverSize;
+import bookstore.cover.CoverStorage;
+import bookstore.dto.book.BookDto;
+import bookstore.service.BookCoverService;
+import bookstore.service.BookService;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookCoverServiceImpl implements BookCoverService {
+    private final BookService bookService;
+    private final CoverStorage coverStorage;
+
+    @Override
+    public BookDto uploadCover(Long bookId, InputStream content) {
+        bookService.getVersion(bookId);
+        String name = coverStorage.store(content);
+        return bookService.updateCoverImage(bookId, CoverSize.toUrl(name));
+    }
+}
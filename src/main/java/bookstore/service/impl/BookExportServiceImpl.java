@@ -0,0 +1,46 @@
+package bookstore.service.impl;
+
+import bookstore.dto.book.BookDto;
+import bookstore.exporter.BookExportFormat;
+import bookstore.exporter.BookRowWriter;
+import bookstore.repository.BookRepository;
+import bookstore.service.BookExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    @Override
+    public void export(OutputStream outputStream, BookExportFormat format) {
+        BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        BookRowWriter rowWriter = format.createWriter(writer, objectMapper);
+        try (Stream<BookDto> books =
+                     bookRepository.streamAllWithCategoryIds(STREAMING_FETCH_SIZE)) {
+            Iterator<BookDto> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.write(iterator.next());
+            }
+            rowWriter.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package bookstore.service.impl;
+
+import bookstore.cache.CountCache;
+import bookstore.cache.TinyLfuCache;
+import bookstore.config.BookFacetProperties;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.facet.BookFacetsDto;
+import bookstore.dto.facet.PriceBucketFacetDto;
+import bookstore.mapper.BookMapper;
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import bookstore.search.BookSearchSpecifications;
+import bookstore.service.BookFacetService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class BookFacetServiceImpl implements BookFacetService {
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final BookSearchSpecifications bookSearchSpecifications;
+    private final BookFacetProperties bookFacetProperties;
+    private final CountCache countCache;
+    private final TinyLfuCache<String, BookFacetsDto> bookFacetCache;
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookFacetsDto findFacets(BookSearchParametersDto parametersDto) {
+        BookSearchParametersDto formattedDto = bookMapper.formatParametersDto(parametersDto);
+        String key = countCache.currentGeneration(CountCache.BOOKS) + ":" + formattedDto;
+        return bookFacetCache.get(key, ignored -> countFacets(formattedDto));
+    }
+
+    private BookFacetsDto countFacets(BookSearchParametersDto parametersDto) {
+        Specification<Book> bookSpecification = bookSearchSpecifications.build(parametersDto);
+        List<BigDecimal> bounds = bookFacetProperties.getPriceBuckets().stream()
+                .sorted()
+                .toList();
+        List<Long> bucketCounts = bookRepository.countByPriceBucket(bookSpecification, bounds);
+        List<PriceBucketFacetDto> priceBuckets = new ArrayList<>(bucketCounts.size());
+        for (int i = 0; i < bucketCounts.size(); i++) {
+            priceBuckets.add(new PriceBucketFacetDto(i > 0 ? bounds.get(i - 1) : null,
+                    i < bounds.size() ? bounds.get(i) : null, bucketCounts.get(i)));
+        }
+        return new BookFacetsDto(bookRepository.countByCategory(bookSpecification),
+                priceBuckets);
+    }
+}
@@ -0,0 +1,273 @@
+package bookstore.service.impl;
+
+import bookstore.cache.CountCache;
+import bookstore.dto.book.BookImportResultDto;
+import bookstore.dto.book.BookImportRowDto;
+import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.exception.BookImportException;
+import bookstore.importer.BookRow;
+import bookstore.importer.BookRowReader;
+import bookstore.importer.CsvBookRowReader;
+import bookstore.importer.NdjsonBookRowReader;
+import bookstore.mapper.BookMapper;
+import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.search.BookSearchIndex;
+import bookstore.search.BookSuggestIndex;
+import bookstore.search.BookTrigramIndex;
+import bookstore.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final String SELECT_ISBNS_SQL = "SELECT isbn FROM books";
+    private static final String SELECT_CATEGORY_IDS_SQL =
+            "SELECT id FROM categories WHERE is_deleted = false";
+    private static final String INSERT_BOOKS_SQL = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image) VALUES ";
+    private static final String BOOK_VALUES = "(?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_BOOK_IDS_SQL = "SELECT id, isbn FROM books WHERE isbn IN ";
+    private static final String INSERT_BOOK_CATEGORIES_SQL =
+            "INSERT INTO books_categories (book_id, category_id) VALUES ";
+    private static final String BOOK_CATEGORY_VALUES = "(?, ?)";
+    private static final String BOOK_ALREADY_EXISTS_MESSAGE = "isbn already exists";
+    private static final String DUPLICATE_ISBN_MESSAGE = "isbn is duplicated in row ";
+    private static final String CATEGORY_NOT_FOUND_MESSAGE = "categoryIds contains unknown id ";
+    private static final String READ_FAILED_MESSAGE = "Could not read the import body";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final BookMapper bookMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+    private final CountCache countCache;
+    private final int batchSize;
+
+    public BookImportServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ObjectMapper objectMapper,
+            BookMapper bookMapper,
+            BookSearchIndex bookSearchIndex,
+            BookSuggestIndex bookSuggestIndex,
+            BookTrigramIndex bookTrigramIndex,
+            CountCache countCache,
+            @Value("${book.import.batchSize:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.bookMapper = bookMapper;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestIndex = bookSuggestIndex;
+        this.bookTrigramIndex = bookTrigramIndex;
+        this.countCache = countCache;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public BookImportResultDto importBooks(InputStream body, MediaType contentType) {
+        Set<String> existingIsbns = loadIsbns();
+        Map<String, Long> importedIsbns = new HashMap<>();
+        Set<Long> categoryIds = loadCategoryIds();
+        List<BookImportRowDto> rows = new ArrayList<>();
+        List<PendingBook> batch = new ArrayList<>(batchSize);
+        try (BookRowReader reader = openReader(body, contentType)) {
+            for (BookRow row = reader.read(); row != null; row = reader.read()) {
+                if (row.isMalformed()) {
+                    rows.add(BookImportRowDto.rejected(row.rowNumber(), null,
+                            List.of(row.error())));
+                    continue;
+                }
+                CreateBookRequestDto bookDto = withCategoryIds(row.book());
+                List<String> errors = validate(bookDto, categoryIds);
+                if (!errors.isEmpty()) {
+                    rows.add(BookImportRowDto.rejected(row.rowNumber(), bookDto.isbn(), errors));
+                    continue;
+                }
+                Book book = bookMapper.toModel(bookDto);
+                if (existingIsbns.contains(book.getIsbn())) {
+                    rows.add(BookImportRowDto.rejected(row.rowNumber(), book.getIsbn(),
+                            List.of(BOOK_ALREADY_EXISTS_MESSAGE)));
+                    continue;
+                }
+                Long firstRowNumber = importedIsbns.putIfAbsent(book.getIsbn(), row.rowNumber());
+                if (firstRowNumber != null) {
+                    rows.add(BookImportRowDto.rejected(row.rowNumber(), book.getIsbn(),
+                            List.of(DUPLICATE_ISBN_MESSAGE + firstRowNumber)));
+                    continue;
+                }
+                batch.add(new PendingBook(row.rowNumber(), book));
+                if (batch.size() >= batchSize) {
+                    flush(batch, importedIsbns, rows);
+                }
+            }
+            flush(batch, importedIsbns, rows);
+        } catch (IOException ex) {
+            throw new BookImportException(READ_FAILED_MESSAGE, ex);
+        } finally {
+            countCache.invalidate(CountCache.BOOKS);
+        }
+        rows.sort(Comparator.comparing(BookImportRowDto::rowNumber));
+        int created = (int) rows.stream()
+                .filter(row -> row.status() == BookImportRowDto.Status.CREATED)
+                .count();
+        return new BookImportResultDto(rows.size(), created, rows.size() - created, rows);
+    }
+
+    private BookRowReader openReader(InputStream body, MediaType contentType) {
+        Charset charset = contentType.getCharset() != null
+                ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader =
+                new BufferedReader(new InputStreamReader(body, charset), READ_BUFFER_SIZE);
+        return MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? new NdjsonBookRowReader(reader, objectMapper)
+                : new CsvBookRowReader(reader);
+    }
+
+    private Set<String> loadIsbns() {
+        Set<String> isbns = new HashSet<>();
+        jdbcTemplate.query(SELECT_ISBNS_SQL, resultSet -> {
+            isbns.add(resultSet.getString(1));
+        });
+        return isbns;
+    }
+
+    private Set<Long> loadCategoryIds() {
+        Set<Long> categoryIds = new HashSet<>();
+        jdbcTemplate.query(SELECT_CATEGORY_IDS_SQL, resultSet -> {
+            categoryIds.add(resultSet.getLong(1));
+        });
+        return categoryIds;
+    }
+
+    private CreateBookRequestDto withCategoryIds(CreateBookRequestDto bookDto) {
+        if (bookDto.categoryIds() != null) {
+            return bookDto;
+        }
+        return new CreateBookRequestDto(bookDto.title(), bookDto.author(), bookDto.isbn(),
+                bookDto.price(), bookDto.description(), bookDto.coverImage(), List.of());
+    }
+
+    private List<String> validate(CreateBookRequestDto bookDto, Set<Long> categoryIds) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<CreateBookRequestDto> violation : validator.validate(bookDto)) {
+            errors.add(getFieldName(violation) + " " + violation.getMessage());
+        }
+        for (Long categoryId : bookDto.categoryIds()) {
+            if (categoryId != null && !categoryIds.contains(categoryId)) {
+                errors.add(CATEGORY_NOT_FOUND_MESSAGE + categoryId);
+            }
+        }
+        return errors;
+    }
+
+    private String getFieldName(ConstraintViolation<?> violation) {
+        return StreamSupport.stream(violation.getPropertyPath().spliterator(), false)
+                .reduce((first, second) -> second)
+                .map(Path.Node::getName)
+                .orElse("field");
+    }
+
+    private void flush(List<PendingBook> batch, Map<String, Long> importedIsbns,
+                       List<BookImportRowDto> rows) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Long> bookIds = transactionTemplate.execute(status -> insert(batch));
+            for (PendingBook pendingBook : batch) {
+                Book book = pendingBook.book();
+                book.setId(bookIds.get(book.getIsbn()));
+                bookSearchIndex.add(book);
+                bookSuggestIndex.add(book);
+                bookTrigramIndex.add(book);
+                rows.add(BookImportRowDto.created(pendingBook.rowNumber(), book.getId(),
+                        book.getIsbn()));
+            }
+        } catch (DataAccessException ex) {
+            List<String> errors = List.of(ex.getMostSpecificCause().getMessage());
+            for (PendingBook pendingBook : batch) {
+                importedIsbns.remove(pendingBook.book().getIsbn());
+                rows.add(BookImportRowDto.rejected(pendingBook.rowNumber(),
+                        pendingBook.book().getIsbn(), errors));
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private Map<String, Long> insert(List<PendingBook> batch) {
+        List<Object> bookValues = new ArrayList<>(batch.size() * 6);
+        for (PendingBook pendingBook : batch) {
+            Book book = pendingBook.book();
+            Collections.addAll(bookValues, book.getTitle(), book.getAuthor(), book.getIsbn(),
+                    book.getPrice(), book.getDescription(), book.getCoverImage());
+        }
+        jdbcTemplate.update(INSERT_BOOKS_SQL + repeat(BOOK_VALUES, batch.size()),
+                bookValues.toArray());
+        Map<String, Long> bookIds = new HashMap<>();
+        jdbcTemplate.query(SELECT_BOOK_IDS_SQL + "(" + repeat("?", batch.size()) + ")",
+                resultSet -> {
+                    bookIds.put(resultSet.getString("isbn"), resultSet.getLong("id"));
+                },
+                batch.stream().map(pendingBook -> pendingBook.book().getIsbn()).toArray());
+        List<Object> bookCategories = new ArrayList<>();
+        for (PendingBook pendingBook : batch) {
+            Long bookId = bookIds.get(pendingBook.book().getIsbn());
+            for (Category category : pendingBook.book().getCategories()) {
+                Collections.addAll(bookCategories, bookId, category.getId());
+                if (bookCategories.size() == batchSize * 2) {
+                    insertBookCategories(bookCategories);
+                }
+            }
+        }
+        insertBookCategories(bookCategories);
+        return bookIds;
+    }
+
+    private void insertBookCategories(List<Object> bookCategories) {
+        if (!bookCategories.isEmpty()) {
+            jdbcTemplate.update(INSERT_BOOK_CATEGORIES_SQL
+                    + repeat(BOOK_CATEGORY_VALUES, bookCategories.size() / 2),
+                    bookCategories.toArray());
+            bookCategories.clear();
+        }
+    }
+
+    private String repeat(String values, int count) {
+        return String.join(", ", Collections.nCopies(count, values));
+    }
+
+    private record PendingBook(long rowNumber, Book book) {
+    }
+}
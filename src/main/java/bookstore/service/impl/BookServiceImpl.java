@@ -2,28 +2,59 @@ package bookstore.service.impl;
 
 import static bookstore.exception.EntityNotFoundException.entityNotFoundException;
 import static bookstore.service.impl.CategoryServiceImpl.CATEGORY_NOT_FOUND_MESSAGE;
+import static bookstore.service.impl.TransactionCallbacks.afterCommit;
 
+import bookstore.cache.BookSearchCache;
+import bookstore.cache.CountCache;
+import bookstore.cache.TinyLfuCache;
+import bookstore.cache.Versioned;
+import bookstore.dto.book.AddBookStockRequestDto;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookStockDto;
+import bookstore.dto.book.BookSuggestionsDto;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.dto.book.UpdateBookRequestDto;
+import bookstore.dto.page.CountMode;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.exception.EntityAlreadyExistsException;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.inventory.BookStockReservations;
 import bookstore.mapper.BookMapper;
 import bookstore.model.Book;
+import bookstore.ranking.BookSalesRanking;
+import bookstore.recommendation.BookRecommendationIndex;
 import bookstore.repository.BookRepository;
 import bookstore.repository.CategoryRepository;
+import bookstore.repository.book.BookCursor;
 import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.search.BookSearchIndex;
+import bookstore.search.BookSearchSpecifications;
+import bookstore.search.BookSearchSpecifications.IndexMatch;
+import bookstore.search.BookSuggestIndex;
+import bookstore.search.BookTrigramIndex;
 import bookstore.service.BookService;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
 
 @Service
 @RequiredArgsConstructor
@@ -31,10 +62,24 @@ public class BookServiceImpl implements BookService {
     protected static final String BOOK_NOT_FOUND_MESSAGE = "A book with id {0} does not exist";
     private static final String BOOK_ALREADY_EXISTS_MESSAGE =
             "A book with isbn {0} already exists";
+    private static final String RELEVANCE_SORT_PROPERTY = "relevance";
+    private static final String ALL_BOOKS_QUERY = "all";
+    private static final String SEARCH_QUERY_PREFIX = "search:";
+    private static final String CATEGORY_QUERY_PREFIX = "category:";
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
     private final CategoryRepository categoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+    private final BookSearchSpecifications bookSearchSpecifications;
+    private final BookRecommendationIndex bookRecommendationIndex;
+    private final BookSalesRanking bookSalesRanking;
+    private final BookStockReservations bookStockReservations;
+    private final CountCache countCache;
+    private final BookSearchCache bookSearchCache;
+    private final TinyLfuCache<Long, Versioned<BookDto>> bookDetailCache;
 
     @Transactional
     @Override
@@ -44,20 +89,43 @@ public class BookServiceImpl implements BookService {
             throw new EntityAlreadyExistsException(BOOK_ALREADY_EXISTS_MESSAGE, book.getIsbn());
         }
         throwExceptionIfCategoriesNotExist(bookDto.categoryIds());
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        afterCommit(() -> addToIndexes(savedBook));
+        countCache.invalidate(CountCache.BOOKS);
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
-    public BookDto findById(Long bookId) {
+    public BookDto findById(Long bookId, long version) {
+        Versioned<BookDto> cached = bookDetailCache.getIfPresent(bookId);
+        if (cached != null && cached.version() >= version) {
+            return cached.value();
+        }
         Book book = getBookOrThrow(bookId);
-        return bookMapper.toDto(book);
+        Versioned<BookDto> loaded = new Versioned<>(bookMapper.toDto(book), book.getVersion());
+        bookDetailCache.put(bookId, loaded);
+        return loaded.value();
+    }
+
+    @Override
+    public long getVersion(Long bookId) {
+        return bookRepository.findVersionById(bookId)
+                .orElseThrow(entityNotFoundException(BOOK_NOT_FOUND_MESSAGE, bookId));
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Page<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable)
-                .map(bookMapper::toDto);
+    public Slice<BookDto> findAll(Pageable pageable, CountMode countMode) {
+        return countCache.withTotal(withCategoryIds(bookRepository.findSummaries(null, pageable)),
+                countMode, CountCache.BOOKS, ALL_BOOKS_QUERY, bookRepository::count);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDto<BookDto> findAll(String cursor, Pageable pageable) {
+        BookCursor bookCursor = BookCursor.parse(cursor, pageable.getSort());
+        return toCursorPage(findSummariesAfter(null, bookCursor, pageable.getPageSize()),
+                bookCursor, pageable.getPageSize());
     }
 
     @Transactional
@@ -66,7 +134,40 @@ public class BookServiceImpl implements BookService {
         throwExceptionIfCategoriesNotExist(requestDto.categoryIds());
         Book book = getBookOrThrow(bookId);
         bookMapper.updateBookFromDto(book, requestDto);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        afterCommit(() -> addToIndexes(savedBook));
+        countCache.invalidate(CountCache.BOOKS);
+        evictFromDetailCache(bookId);
+        return bookMapper.toDto(savedBook);
+    }
+
+    @Transactional
+    @Override
+    public BookDto updateCoverImage(Long bookId, String coverImage) {
+        Book book = getBookOrThrow(bookId);
+        book.setCoverImage(coverImage);
+        Book savedBook = bookRepository.save(book);
+        countCache.invalidate(CountCache.BOOKS);
+        evictFromDetailCache(bookId);
+        return bookMapper.toDto(savedBook);
+    }
+
+    @Override
+    public BookStockDto getStock(Long bookId) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException(BOOK_NOT_FOUND_MESSAGE, bookId);
+        }
+        return new BookStockDto(bookId, bookStockReservations.getStock(bookId));
+    }
+
+    @Transactional
+    @Override
+    public BookStockDto addStock(Long bookId, AddBookStockRequestDto requestDto) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException(BOOK_NOT_FOUND_MESSAGE, bookId);
+        }
+        bookStockReservations.addStock(bookId, requestDto.quantity());
+        return new BookStockDto(bookId, bookStockReservations.getStock(bookId));
     }
 
     @Transactional
@@ -76,26 +177,91 @@ public class BookServiceImpl implements BookService {
             throw new EntityNotFoundException(BOOK_NOT_FOUND_MESSAGE, bookId);
         }
         bookRepository.deleteById(bookId);
+        afterCommit(() -> removeFromIndexes(bookId));
+        countCache.invalidate(CountCache.BOOKS);
+        evictFromDetailCache(bookId);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Page<BookDto> search(BookSearchParametersDto parametersDto, Pageable pageable) {
+    public Slice<BookDto> search(BookSearchParametersDto parametersDto, Pageable pageable,
+                                 CountMode countMode) {
+        boolean orderByRelevance =
+                pageable.getSort().getOrderFor(RELEVANCE_SORT_PROPERTY) != null;
+        Pageable searchPageable = orderByRelevance ? withoutRelevanceSort(pageable) : pageable;
         if (isEmptySearchParameters(parametersDto)) {
-            return bookRepository.findAll(pageable)
-                    .map(bookMapper::toDto);
+            return findAll(searchPageable, countMode);
         }
         BookSearchParametersDto formattedDto = bookMapper.formatParametersDto(parametersDto);
-        Specification<Book> bookSpecification = bookSpecificationBuilder.build(formattedDto);
-        return bookRepository.findAll(bookSpecification, pageable)
-                .map(bookMapper::toDto);
+        return bookSearchCache.get(formattedDto, pageable, countMode,
+                () -> findSearchResults(formattedDto, searchPageable, orderByRelevance, countMode),
+                this::findByIds);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDto<BookDto> search(BookSearchParametersDto parametersDto, String cursor,
+                                         Pageable pageable) {
+        BookCursor bookCursor = BookCursor.parse(cursor, pageable.getSort());
+        Specification<Book> bookSpecification = isEmptySearchParameters(parametersDto)
+                ? null
+                : bookSearchSpecifications.build(bookMapper.formatParametersDto(parametersDto));
+        return toCursorPage(
+                findSummariesAfter(bookSpecification, bookCursor, pageable.getPageSize()),
+                bookCursor, pageable.getPageSize());
+    }
+
+    @Override
+    public BookSuggestionsDto suggest(String prefix, int limit) {
+        return bookSuggestIndex.suggest(prefix, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookDto> findRecommendations(Long bookId, int limit) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException(BOOK_NOT_FOUND_MESSAGE, bookId);
+        }
+        return findByIds(bookRecommendationIndex.getRecommendations(bookId, limit));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookDto> findBestsellers(int days, Long categoryId, int limit) {
+        return findByIds(bookSalesRanking.getBestsellers(days, categoryId, limit));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookDto> findTrending(int days, Long categoryId, int limit) {
+        return findByIds(bookSalesRanking.getTrending(days, categoryId, limit));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId, Pageable pageable,
+                                                             CountMode countMode) {
+        throwExceptionIfCategoriesNotExist(Collections.singletonList(categoryId));
+        Specification<Book> categorySpecification =
+                bookSpecificationBuilder.buildCategorySpecification(categoryId);
+        return countCache.withTotal(
+                bookRepository.findSummaries(categorySpecification, pageable),
+                countMode, CountCache.BOOKS, CATEGORY_QUERY_PREFIX + categoryId,
+                () -> bookRepository.count(categorySpecification));
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Page<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId, Pageable pageable) {
+    public CursorPageDto<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId,
+                                                                     String cursor,
+                                                                     Pageable pageable) {
+        BookCursor bookCursor = BookCursor.parse(cursor, pageable.getSort());
         throwExceptionIfCategoriesNotExist(Collections.singletonList(categoryId));
-        return bookRepository.findAllByCategoryId(categoryId, pageable)
-                .map(bookMapper::toDtoWithoutCategories);
+        Slice<BookDtoWithoutCategoryIds> books = findSummariesAfter(
+                bookSpecificationBuilder.buildCategorySpecification(categoryId), bookCursor,
+                pageable.getPageSize());
+        return new CursorPageDto<>(books.getContent(), pageable.getPageSize(),
+                nextCursor(bookCursor, books), !books.hasNext());
     }
 
     private boolean isEmptySearchParameters(BookSearchParametersDto parametersDto) {
@@ -103,7 +269,135 @@ public class BookServiceImpl implements BookService {
                 && parametersDto.author() == null
                 && parametersDto.isbn() == null
                 && parametersDto.minPrice() == null
-                && parametersDto.maxPrice() == null;
+                && parametersDto.maxPrice() == null
+                && parametersDto.keywords() == null
+                && CollectionUtils.isEmpty(parametersDto.categoryIds())
+                && CollectionUtils.isEmpty(parametersDto.authors())
+                && CollectionUtils.isEmpty(parametersDto.isbns());
+    }
+
+    private Slice<BookDto> findSearchResults(BookSearchParametersDto formattedDto,
+                                             Pageable searchPageable, boolean orderByRelevance,
+                                             CountMode countMode) {
+        Optional<IndexMatch> indexMatch = bookSearchSpecifications.findIndexMatch(formattedDto);
+        if (indexMatch.isPresent()) {
+            return searchByIds(formattedDto, indexMatch.get().remainingParameters(),
+                    indexMatch.get().bookIds(), searchPageable, countMode);
+        }
+        Specification<Book> bookSpecification = bookSpecificationBuilder.build(formattedDto);
+        if (orderByRelevance && searchPageable.getSort().isUnsorted()) {
+            bookSpecification = bookSpecification.and(
+                    bookSpecificationBuilder.buildRelevanceOrder(formattedDto));
+        }
+        return findSlice(bookSpecification, searchPageable, countMode,
+                SEARCH_QUERY_PREFIX + formattedDto);
+    }
+
+    private void evictFromDetailCache(Long bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bookDetailCache.invalidate(bookId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        bookDetailCache.invalidate(bookId);
+                    }
+                });
+    }
+
+    private void addToIndexes(Book book) {
+        bookSearchIndex.add(book);
+        bookSuggestIndex.add(book);
+        bookTrigramIndex.add(book);
+    }
+
+    private void removeFromIndexes(Long bookId) {
+        bookSearchIndex.remove(bookId);
+        bookSuggestIndex.remove(bookId);
+        bookTrigramIndex.remove(bookId);
+    }
+
+    private Pageable withoutRelevanceSort(Pageable pageable) {
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> !order.getProperty().equals(RELEVANCE_SORT_PROPERTY))
+                .toList());
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
+    private Slice<BookDto> findSlice(Specification<Book> bookSpecification, Pageable pageable,
+                                     CountMode countMode, String queryKey) {
+        return countCache.withTotal(
+                withCategoryIds(bookRepository.findSummaries(bookSpecification, pageable)),
+                countMode, CountCache.BOOKS, queryKey,
+                () -> bookRepository.count(bookSpecification));
+    }
+
+    private Slice<BookDto> withCategoryIds(Slice<BookDtoWithoutCategoryIds> books) {
+        Map<Long, List<Long>> categoryIds = bookRepository.findCategoryIdsByBookIds(
+                books.map(BookDtoWithoutCategoryIds::bookId).getContent());
+        return books.map(book -> bookMapper.toDto(book,
+                categoryIds.getOrDefault(book.bookId(), List.of())));
+    }
+
+    private Slice<BookDtoWithoutCategoryIds> findSummariesAfter(
+            Specification<Book> bookSpecification, BookCursor bookCursor, int pageSize) {
+        Specification<Book> seekSpecification = bookCursor.isFirst()
+                ? bookSpecification
+                : Specification.where(bookSpecification).and(bookCursor.toSpecification());
+        return bookRepository.findSummaries(seekSpecification,
+                PageRequest.of(0, pageSize, bookCursor.getSort()));
+    }
+
+    private CursorPageDto<BookDto> toCursorPage(Slice<BookDtoWithoutCategoryIds> books,
+                                                BookCursor bookCursor, int pageSize) {
+        return new CursorPageDto<>(withCategoryIds(books).getContent(), pageSize,
+                nextCursor(bookCursor, books), !books.hasNext());
+    }
+
+    private String nextCursor(BookCursor bookCursor, Slice<BookDtoWithoutCategoryIds> books) {
+        return books.hasNext()
+                ? BookCursor.after(bookCursor.sortKey(),
+                        books.getContent().get(books.getNumberOfElements() - 1)).encode()
+                : null;
+    }
+
+    private Slice<BookDto> searchByIds(BookSearchParametersDto parametersDto,
+                                       BookSearchParametersDto remainingParameters,
+                                       List<Long> bookIds, Pageable pageable,
+                                       CountMode countMode) {
+        if (!bookIds.isEmpty() && (pageable.getSort().isSorted()
+                || !isEmptySearchParameters(remainingParameters))) {
+            return findSlice(
+                    bookSearchSpecifications.buildIdSpecification(remainingParameters, bookIds),
+                    pageable, countMode, SEARCH_QUERY_PREFIX + parametersDto);
+        }
+        int fromIndex = pageable.isPaged()
+                ? (int) Math.min(pageable.getOffset(), bookIds.size()) : 0;
+        int toIndex = pageable.isPaged()
+                ? Math.min(fromIndex + pageable.getPageSize(), bookIds.size()) : bookIds.size();
+        List<BookDto> books = findByIds(bookIds.subList(fromIndex, toIndex));
+        return countMode == CountMode.NONE
+                ? new SliceImpl<>(books, pageable, toIndex < bookIds.size())
+                : new PageImpl<>(books, pageable, bookIds.size());
+    }
+
+    private List<BookDto> findByIds(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        Specification<Book> idSpecification =
+                (root, query, criteriaBuilder) -> root.get("id").in(bookIds);
+        Map<Long, BookDto> books = withCategoryIds(
+                bookRepository.findSummaries(idSpecification, Pageable.unpaged())).stream()
+                .collect(Collectors.toMap(BookDto::bookId, Function.identity()));
+        return bookIds.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     private void throwExceptionIfCategoriesNotExist(List<Long> categoryIds) {
@@ -1,19 +1,26 @@
 package bookstore.service.impl;
 
 import static bookstore.exception.EntityNotFoundException.entityNotFoundException;
+import static bookstore.service.impl.TransactionCallbacks.afterCommit;
 
+import bookstore.cache.CountCache;
+import bookstore.cache.TinyLfuCache;
+import bookstore.cache.Versioned;
+import bookstore.dto.book.BookDto;
 import bookstore.dto.category.CategoryDto;
 import bookstore.dto.category.CreateCategoryRequestDto;
 import bookstore.dto.category.UpdateCategoryRequestDto;
+import bookstore.dto.page.CountMode;
 import bookstore.exception.EntityAlreadyExistsException;
 import bookstore.exception.EntityNotFoundException;
 import bookstore.mapper.CategoryMapper;
 import bookstore.model.Category;
+import bookstore.repository.BookRepository;
 import bookstore.repository.CategoryRepository;
 import bookstore.service.CategoryService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,13 +31,18 @@ public class CategoryServiceImpl implements CategoryService {
             "A category with id {0} does not exist";
     private static final String CATEGORY_ALREADY_EXISTS_MESSAGE =
             "A category with name {0} already exists";
+    private static final String ALL_CATEGORIES_QUERY = "all";
     private final CategoryRepository categoryRepository;
+    private final BookRepository bookRepository;
     private final CategoryMapper categoryMapper;
+    private final CountCache countCache;
+    private final TinyLfuCache<Long, Versioned<BookDto>> bookDetailCache;
 
     @Override
-    public Page<CategoryDto> findAll(Pageable pageable) {
-        return categoryRepository.findAll(pageable)
-                .map(categoryMapper::toDto);
+    public Slice<CategoryDto> findAll(Pageable pageable, CountMode countMode) {
+        return countCache.withTotal(categoryRepository.findAllBy(pageable)
+                        .map(categoryMapper::toDto), countMode, CountCache.CATEGORIES,
+                ALL_CATEGORIES_QUERY, categoryRepository::count);
     }
 
     @Override
@@ -44,6 +56,7 @@ public class CategoryServiceImpl implements CategoryService {
     public CategoryDto save(CreateCategoryRequestDto requestDto) {
         throwIfCategoryExistsByName(requestDto.name());
         Category savedCategory = categoryRepository.save(categoryMapper.toModel(requestDto));
+        countCache.invalidate(CountCache.CATEGORIES);
         return categoryMapper.toDto(savedCategory);
     }
 
@@ -55,7 +68,9 @@ public class CategoryServiceImpl implements CategoryService {
             throwIfCategoryExistsByName(requestDto.name());
         }
         categoryMapper.updateCategory(category, requestDto);
-        return categoryMapper.toDto(categoryRepository.save(category));
+        Category savedCategory = categoryRepository.save(category);
+        countCache.invalidate(CountCache.CATEGORIES);
+        return categoryMapper.toDto(savedCategory);
     }
 
     @Transactional
@@ -64,7 +79,10 @@ public class CategoryServiceImpl implements CategoryService {
         if (!categoryRepository.existsById(categoryId)) {
             throw new EntityNotFoundException(CATEGORY_NOT_FOUND_MESSAGE, categoryId);
         }
+        bookRepository.incrementVersionsByCategoryId(categoryId);
         categoryRepository.deleteById(categoryId);
+        countCache.invalidate(CountCache.CATEGORIES, CountCache.BOOKS);
+        afterCommit(bookDetailCache::invalidateAll);
     }
 
     private Category getCategoryOrThrow(Long id) {
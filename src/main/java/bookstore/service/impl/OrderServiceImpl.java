@@ -1,12 +1,16 @@
 package bookstore.service.impl;
 
 import static bookstore.exception.EntityNotFoundException.entityNotFoundException;
+import static bookstore.service.impl.TransactionCallbacks.afterCommit;
 
+import bookstore.cache.CountCache;
 import bookstore.dto.order.OrderAddressDto;
 import bookstore.dto.order.OrderDto;
 import bookstore.dto.order.OrderStatusDto;
 import bookstore.dto.orderitem.OrderItemDto;
+import bookstore.dto.page.CountMode;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.inventory.BookStockReservations;
 import bookstore.mapper.CartItemMapper;
 import bookstore.mapper.OrderItemMapper;
 import bookstore.mapper.OrderMapper;
@@ -15,17 +19,20 @@ import bookstore.model.Order;
 import bookstore.model.OrderItem;
 import bookstore.model.ShoppingCart;
 import bookstore.model.User;
+import bookstore.ranking.BookSalesRanking;
+import bookstore.recommendation.BookRecommendationIndex;
 import bookstore.repository.CartItemRepository;
 import bookstore.repository.OrderItemRepository;
 import bookstore.repository.OrderRepository;
 import bookstore.repository.ShoppingCartRepository;
+import bookstore.search.BookSuggestIndex;
 import bookstore.service.OrderService;
 import jakarta.transaction.Transactional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -38,6 +45,8 @@ public class OrderServiceImpl implements OrderService {
     private static final String EMPTY_SHOPPING_CART_MESSAGE = "First add books to shopping cart";
     private static final String ORDER_ITEM_NOT_FOUND_MESSAGE =
             "An order item with itemId {0}, orderId {1} and userId {2} does not exist";
+    private static final String USER_QUERY_PREFIX = "user:";
+    private static final String ORDER_QUERY_PREFIX = "order:";
     private final ShoppingCartRepository cartRepository;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
@@ -45,6 +54,11 @@ public class OrderServiceImpl implements OrderService {
     private final CartItemRepository cartItemRepository;
     private final OrderItemMapper orderItemMapper;
     private final CartItemMapper cartItemMapper;
+    private final CountCache countCache;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final BookRecommendationIndex bookRecommendationIndex;
+    private final BookSalesRanking bookSalesRanking;
+    private final BookStockReservations bookStockReservations;
 
     @Transactional
     @Override
@@ -56,13 +70,23 @@ public class OrderServiceImpl implements OrderService {
         Set<OrderItem> orderItems = mapToOrderItems(itemsFromCart);
         order.setOrderItems(orderItems);
         cartItemRepository.deleteAll(itemsFromCart);
-        return orderMapper.toDto(orderRepository.save(order));
+        final Order savedOrder = orderRepository.save(order);
+        bookStockReservations.reserve(savedOrder);
+        countCache.invalidate(CountCache.ORDERS);
+        afterCommit(() -> orderItems.forEach(item ->
+                bookSuggestIndex.recordSale(item.getBook().getId(), item.getQuantity())));
+        bookRecommendationIndex.recordOrder();
+        bookSalesRanking.recordOrder(savedOrder);
+        return orderMapper.toDto(savedOrder);
     }
 
     @Override
-    public Page<OrderDto> getAllOrders(User user, Pageable pageable) {
-        return orderRepository.findAllByUserId(user.getId(), pageable)
+    public Slice<OrderDto> getAllOrders(User user, Pageable pageable, CountMode countMode) {
+        Long userId = user.getId();
+        Slice<OrderDto> orders = orderRepository.findAllByUserId(userId, pageable)
                 .map(orderMapper::toDto);
+        return countCache.withTotal(orders, countMode, CountCache.ORDERS,
+                USER_QUERY_PREFIX + userId, () -> orderRepository.countByUserId(userId));
     }
 
     @Transactional
@@ -75,13 +99,17 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public Page<OrderItemDto> getOrderItems(Long orderId, User user, Pageable pageable) {
-        Page<OrderItem> itemsPage = orderItemRepository
-                .findByOrderIdAndOrderUserId(orderId, user.getId(), pageable);
-        if (itemsPage.isEmpty()) {
-            throw new EntityNotFoundException(ORDER_NOT_FOUND_MESSAGE, orderId, user.getId());
+    public Slice<OrderItemDto> getOrderItems(Long orderId, User user, Pageable pageable,
+                                             CountMode countMode) {
+        Long userId = user.getId();
+        Slice<OrderItem> itemsSlice = orderItemRepository
+                .findByOrderIdAndOrderUserId(orderId, userId, pageable);
+        if (itemsSlice.isEmpty()) {
+            throw new EntityNotFoundException(ORDER_NOT_FOUND_MESSAGE, orderId, userId);
         }
-        return itemsPage.map(orderItemMapper::toDto);
+        return countCache.withTotal(itemsSlice.map(orderItemMapper::toDto), countMode,
+                CountCache.ORDER_ITEMS, ORDER_QUERY_PREFIX + orderId,
+                () -> orderItemRepository.countByOrderIdAndOrderUserId(orderId, userId));
     }
 
     @Override
@@ -105,6 +133,8 @@ public class OrderServiceImpl implements OrderService {
     public OrderDto cancelOrder(Long orderId, User user) {
         Order order = getOrderOrThrow(orderId, user.getId());
         order.handleCancel();
+        bookStockReservations.release(order);
+        bookSalesRanking.recordCancellation(order);
         return orderMapper.toDto(orderRepository.save(order));
     }
 
@@ -1,18 +1,22 @@
 package bookstore.service.impl;
 
+import static bookstore.exception.EntityNotFoundException.entityNotFoundException;
+
 import bookstore.config.AdminProperties;
 import bookstore.dto.user.UserRegistrationRequestDto;
 import bookstore.dto.user.UserResponseDto;
 import bookstore.dto.user.UserUpdateDto;
+import bookstore.exception.AuthenticationException;
 import bookstore.exception.EntityNotFoundException;
 import bookstore.exception.RegistrationException;
 import bookstore.mapper.UserMapper;
 import bookstore.model.Role;
 import bookstore.model.ShoppingCart;
 import bookstore.model.User;
-import bookstore.repository.RoleRepository;
 import bookstore.repository.ShoppingCartRepository;
 import bookstore.repository.UserRepository;
+import bookstore.security.TokenVersionCache;
+import bookstore.service.RoleRegistry;
 import bookstore.service.UserService;
 import java.text.MessageFormat;
 import java.util.HashSet;
@@ -24,6 +28,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -33,13 +39,18 @@ public class UserServiceImpl implements UserService {
     private static final String USER_NOT_FOUND_MESSAGE = "A user with email {0} does not exist";
     private static final String USER_ALREADY_HAS_ROLE_MESSAGE =
             "User with email %s already has the %s role";
+    private static final String USER_WITH_ID_NOT_FOUND_MESSAGE =
+            "A user with id {0} does not exist";
+    private static final String OUTDATED_TOKEN_MESSAGE =
+            "The token has been revoked, please log in again";
     private static final String INCORRECT_INVITE_CODE_MESSAGE = "{0} is an incorrect invite code";
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final AdminProperties adminProperties;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final ShoppingCartRepository shoppingCartRepository;
+    private final TokenVersionCache tokenVersionCache;
 
     @Transactional
     @Override
@@ -67,23 +78,51 @@ public class UserServiceImpl implements UserService {
             throw new IllegalStateException(
                     String.format(USER_ALREADY_HAS_ROLE_MESSAGE, email, roleName));
         }
-        Role role = roleRepository.getByName(roleName);
+        Role role = roleRegistry.getByName(roleName);
         user.addRole(role);
+        revokeTokens(user);
         return userMapper.toDto(userRepository.save(user));
     }
 
     @Override
-    public UserResponseDto getCurrentUserInfo(User user) {
-        return userMapper.toDto(user);
+    public UserResponseDto getCurrentUserInfo(User principal) {
+        return userMapper.toDto(getUserByPrincipalOrThrow(principal));
     }
 
     @Transactional
     @Override
-    public UserResponseDto update(UserUpdateDto updateDto, User user) {
+    public UserResponseDto update(UserUpdateDto updateDto, User principal) {
+        User user = getUserByPrincipalOrThrow(principal);
         userMapper.updateUser(user, updateDto);
         return userMapper.toDto(userRepository.save(user));
     }
 
+    private User getUserByPrincipalOrThrow(User principal) {
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(entityNotFoundException(
+                        USER_WITH_ID_NOT_FOUND_MESSAGE, principal.getId()));
+        if (user.getTokenVersion() != principal.getTokenVersion()) {
+            throw new AuthenticationException(OUTDATED_TOKEN_MESSAGE);
+        }
+        return user;
+    }
+
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            tokenVersionCache.invalidate(userId);
+                        }
+                    });
+        } else {
+            tokenVersionCache.invalidate(userId);
+        }
+    }
+
     private User getUserByEmailOrThrow(String email) {
         try {
             return (User) loadUserByUsername(email);
@@ -94,12 +133,12 @@ public class UserServiceImpl implements UserService {
 
     private Set<Role> assignRolesByEmail(String email, String inviteCode) {
         Set<Role> roles = new HashSet<>();
-        roles.add(roleRepository.getByName(Role.RoleName.USER));
+        roles.add(roleRegistry.getByName(Role.RoleName.USER));
         if (Objects.equals(adminProperties.getEmail(), email)) {
             if (!Objects.equals(inviteCode, adminProperties.getInviteCode())) {
                 throw new RegistrationException(INCORRECT_INVITE_CODE_MESSAGE, inviteCode);
             }
-            roles.add(roleRepository.getByName(Role.RoleName.ADMIN));
+            roles.add(roleRegistry.getByName(Role.RoleName.ADMIN));
         }
         return roles;
     }
@@ -29,13 +29,19 @@ import bookstore.model.Role;
 import bookstore.model.ShoppingCart;
 import bookstore.model.User;
 import bookstore.model.enumeration.OrderStatus;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import javax.imageio.ImageIO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -108,12 +114,22 @@ public class TestObjectsFactory {
                 null,
                 null,
                 null,
+                null,
+                null,
+                null,
+                null,
+                null,
                 null
         );
     }
 
     public static BookSearchParametersDto createEmptySearchParameters() {
         return new BookSearchParametersDto(
+                null,
+                null,
+                null,
+                null,
+                null,
                 null,
                 null,
                 null,
@@ -337,6 +353,7 @@ public class TestObjectsFactory {
                 BigDecimal.valueOf(-9.99),
                 null,
                 null,
+                null,
                 null
         );
     }
@@ -365,6 +382,7 @@ public class TestObjectsFactory {
                         + " through the eyes of a young girl.",
                 "https://upload.wikimedia.org/wikipedia/commons/4/4f/To_Kill_a_Mockingbi"
                         + "rd_%28first_edition_cover%29.jpg",
+                Map.of(),
                 List.of(1L)
         );
     }
@@ -378,6 +396,7 @@ public class TestObjectsFactory {
                 BigDecimal.valueOf(9.99),
                 "Dystopian novel about totalitarian regime of Big Brother.",
                 "https://upload.wikimedia.org/wikipedia/commons/5/51/1984_first_edition_cover.jpg",
+                Map.of(),
                 List.of(1L)
         );
     }
@@ -391,6 +410,7 @@ public class TestObjectsFactory {
                 BigDecimal.valueOf(14.99),
                 "Non-fiction book explaining cosmology for general audience.",
                 "https://upload.wikimedia.org/wikipedia/en/a/a3/BriefHistoryTime.jpg",
+                Map.of(),
                 List.of(2L)
         );
     }
@@ -411,14 +431,6 @@ public class TestObjectsFactory {
         );
     }
 
-    public static Page<Book> createTwoBooksPage() {
-        return new PageImpl<>(
-                List.of(create1984Book(), createToKillMockingbirdBook()),
-                DEFAULT_PAGE_REQUEST,
-                2
-        );
-    }
-
     public static UpdateBookRequestDto createUpdateBookRequestDto(String title) {
         List<Long> categoryIds = new ArrayList<>();
         categoryIds.add(1L);
@@ -441,18 +453,11 @@ public class TestObjectsFactory {
                 BigDecimal.valueOf(-9.99),
                 null,
                 null,
+                null,
                 null
         );
     }
 
-    public static Page<Book> createOneBookPage() {
-        return new PageImpl<>(
-                List.of(create1984Book()),
-                DEFAULT_PAGE_REQUEST,
-                1
-        );
-    }
-
     public static BookDtoWithoutCategoryIds create1984BookDtoWithoutCategory() {
         return new BookDtoWithoutCategoryIds(
                 1L,
@@ -487,6 +492,14 @@ public class TestObjectsFactory {
         );
     }
 
+    public static Page<BookDtoWithoutCategoryIds> createTwoBookSummariesPage() {
+        return new PageImpl<>(
+                createTwoBookDtoWithoutCategoryIdsList(),
+                DEFAULT_PAGE_REQUEST,
+                2
+        );
+    }
+
     public static Page<Category> createTwoCategoriesPage() {
         return new PageImpl<>(
                 List.of(createFictionCategory(), createNonFictionCategory()),
@@ -551,4 +564,18 @@ public class TestObjectsFactory {
                 2
         );
     }
+
+    public static byte[] createCoverImage(int width, int height, String format) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            image.setRGB(y % width, y, y * 0x010203);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, format, output);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return output.toByteArray();
+    }
 }
@@ -0,0 +1,131 @@
+package bookstore.archival;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Sql(scripts = {
+        "classpath:database/clear-db.sql",
+        "classpath:database/insert-books.sql",
+        "classpath:database/insert-users.sql",
+        "classpath:database/insert-shopping_cart.sql",
+        "classpath:database/insert-cart_items.sql"}, executionPhase = BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/clear-db.sql", executionPhase = AFTER_TEST_METHOD)
+class SoftDeleteArchiverIntegrationTest {
+    private static final String SOFT_DELETE_SQL =
+            "UPDATE %s SET is_deleted = true, deleted_at = ? WHERE id = ?";
+    private static final String SELECT_IDS_SQL = "SELECT id FROM %s ORDER BY id";
+    private static final int RETENTION_IN_DAYS = 30;
+    private static final int BATCH_SIZE = 1;
+    private static final int LARGE_BATCH_SIZE = 10;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private SoftDeleteArchiver softDeleteArchiver;
+
+    @BeforeEach
+    void setUp() {
+        softDeleteArchiver = new SoftDeleteArchiver(jdbcTemplate, transactionTemplate, true,
+                RETENTION_IN_DAYS, BATCH_SIZE, 0);
+    }
+
+    @Test
+    @DisplayName("Should move only rows deleted before the retention window to the archive")
+    void archive_ExpiredAndRecentlyDeletedCartItems_MovesOnlyExpiredItems() {
+        softDelete("cart_items", 1L, RETENTION_IN_DAYS + 10);
+        softDelete("cart_items", 2L, RETENTION_IN_DAYS + 1);
+        softDelete("cart_items", 3L, 1);
+
+        softDeleteArchiver.archive();
+
+        assertThat(selectIds("cart_items")).containsExactly(3L);
+        assertThat(selectIds("cart_items_archive")).containsExactly(1L, 2L);
+        ArchivalStats stats = softDeleteArchiver.getStats().get("cart_items");
+        assertThat(stats.rowsMoved()).isEqualTo(2);
+        assertThat(stats.batches()).isEqualTo(2);
+        assertThat(stats.failedBatches()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should archive the rest of a failing batch row by row and record the failure")
+    void archive_RowAlreadyArchived_MovesOtherRowsAndRecordsFailedIds() {
+        softDelete("cart_items", 1L, RETENTION_IN_DAYS + 1);
+        softDelete("cart_items", 2L, RETENTION_IN_DAYS + 1);
+        softDelete("cart_items", 3L, RETENTION_IN_DAYS + 1);
+        jdbcTemplate.update("INSERT INTO cart_items_archive (id, shopping_cart_id, book_id, "
+                + "quantity, archived_at) VALUES (2, 1, 2, 2, NOW())");
+        SoftDeleteArchiver batchingArchiver = new SoftDeleteArchiver(jdbcTemplate,
+                transactionTemplate, true, RETENTION_IN_DAYS, LARGE_BATCH_SIZE, 0);
+
+        batchingArchiver.archive();
+
+        assertThat(selectIds("cart_items")).containsExactly(2L);
+        assertThat(selectIds("cart_items_archive")).containsExactly(1L, 2L, 3L);
+        ArchivalStats stats = batchingArchiver.getStats().get("cart_items");
+        assertThat(stats.rowsMoved()).isEqualTo(2);
+        assertThat(stats.failedBatches()).isEqualTo(1);
+        assertThat(stats.failedRows()).isEqualTo(1);
+        assertThat(stats.lastFailedFromId()).isEqualTo(2L);
+        assertThat(stats.lastFailedToId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should keep deleted rows that live rows still reference")
+    void archive_DeletedBookInLiveCart_KeepsBookInHotTable() {
+        softDelete("books", 1L, RETENTION_IN_DAYS + 1);
+        softDelete("books", 3L, RETENTION_IN_DAYS + 1);
+
+        softDeleteArchiver.archive();
+
+        assertThat(selectIds("books")).containsExactly(1L, 2L);
+        assertThat(selectIds("books_archive")).containsExactly(3L);
+        assertThat(softDeleteArchiver.getStats().get("books").rowsMoved()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep stock tracking columns when archiving books and order items")
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(scripts = {
+            "classpath:database/insert-order.sql",
+            "classpath:database/insert-order_items.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void archive_StockTrackedRows_KeepsStockColumns() {
+        jdbcTemplate.update("UPDATE books SET stock = 5 WHERE id = 3");
+        jdbcTemplate.update("UPDATE order_items SET stock_reserved = true, stock_lease_id = 7 "
+                + "WHERE id = 2");
+        softDelete("books", 3L, RETENTION_IN_DAYS + 1);
+        softDelete("order_items", 2L, RETENTION_IN_DAYS + 1);
+
+        softDeleteArchiver.archive();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock FROM books_archive WHERE id = 3", Integer.class)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT stock_reserved, stock_lease_id FROM order_items_archive WHERE id = 2"))
+                .containsEntry("stock_reserved", true)
+                .containsEntry("stock_lease_id", 7L);
+    }
+
+    private void softDelete(String table, Long id, int daysAgo) {
+        jdbcTemplate.update(SOFT_DELETE_SQL.formatted(table),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(daysAgo)), id);
+    }
+
+    private List<Long> selectIds(String table) {
+        return jdbcTemplate.queryForList(SELECT_IDS_SQL.formatted(table), Long.class);
+    }
+}
@@ -0,0 +1,71 @@
+package bookstore.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.TestReporter;
+
+public class BenchmarkReport {
+    private final Map<String, String> entries = new LinkedHashMap<>();
+    private final TestReporter reporter;
+
+    public BenchmarkReport(TestReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    public static long time(Operation operation) throws Exception {
+        long start = System.nanoTime();
+        operation.run();
+        return System.nanoTime() - start;
+    }
+
+    public static Latencies sample(int samples, IntFunction<Runnable> operations) {
+        long[] latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            Runnable operation = operations.apply(i);
+            long start = System.nanoTime();
+            operation.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return new Latencies(latencies);
+    }
+
+    public static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public BenchmarkReport add(String key, Object value) {
+        entries.put(key, String.valueOf(value));
+        return this;
+    }
+
+    public BenchmarkReport addMillis(String key, long nanos) {
+        return add(key + "Millis", TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    public BenchmarkReport addMicros(String key, long nanos) {
+        return add(key + "Micros", TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void publish() {
+        reporter.publishEntry(entries);
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    public record Latencies(long[] sorted) {
+        public long percentile(int percent) {
+            return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package bookstore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import bookstore.TestObjectsFactory;
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.page.CountMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+class BookSearchCacheTest {
+    private static final PageRequest DEFAULT_PAGE_REQUEST = PageRequest.of(0, 2);
+    private static final long TOTAL = 42;
+    private static final long TTL_IN_MILLIS = 60_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final CountCache countCache =
+            new CountCache(100, 60_000, 600_000, System::currentTimeMillis);
+    private final BookSearchCache bookSearchCache = new BookSearchCache(
+            new TinyLfuCache<>(100), countCache, TTL_IN_MILLIS, now::get);
+    private final BookSearchParametersDto parametersDto =
+            TestObjectsFactory.createSearchParameters("kill");
+    private final List<BookDto> books = List.of(TestObjectsFactory.create1984BookDto("1984"),
+            TestObjectsFactory.createToKillMockingbirdBookDto());
+    private final AtomicInteger searches = new AtomicInteger();
+    private final List<List<Long>> loadedIds = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should serve a repeated search from cached ids and total without searching")
+    void get_RepeatedSearch_ShouldSearchOnce() {
+        Slice<BookDto> first = get(DEFAULT_PAGE_REQUEST);
+        Slice<BookDto> second = get(DEFAULT_PAGE_REQUEST);
+
+        assertThat(searches.get()).isEqualTo(1);
+        assertThat(loadedIds).containsExactly(List.of(1L, 2L));
+        assertThat(second.getContent()).isEqualTo(first.getContent());
+        assertThat(((Page<BookDto>) second).getTotalElements()).isEqualTo(TOTAL);
+    }
+
+    @Test
+    @DisplayName("Should search again after the catalog version changes")
+    void get_AfterCatalogWrite_ShouldSearchAgain() {
+        get(DEFAULT_PAGE_REQUEST);
+
+        countCache.invalidate(CountCache.BOOKS);
+        get(DEFAULT_PAGE_REQUEST);
+
+        assertThat(searches.get()).isEqualTo(2);
+        assertThat(loadedIds).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should search again once cached results outlive the TTL")
+    void get_AfterTimeToLive_ShouldSearchAgain() {
+        get(DEFAULT_PAGE_REQUEST);
+        now.set(TTL_IN_MILLIS - 1);
+        get(DEFAULT_PAGE_REQUEST);
+
+        now.set(TTL_IN_MILLIS);
+        get(DEFAULT_PAGE_REQUEST);
+
+        assertThat(searches.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should cache each page of the same search separately")
+    void get_DifferentPages_ShouldSearchEachPage() {
+        get(DEFAULT_PAGE_REQUEST);
+        get(DEFAULT_PAGE_REQUEST.next());
+
+        assertThat(searches.get()).isEqualTo(2);
+    }
+
+    private Slice<BookDto> get(PageRequest pageRequest) {
+        return bookSearchCache.get(parametersDto, pageRequest, CountMode.EXACT, () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(books, pageRequest, TOTAL);
+        }, this::load);
+    }
+
+    private List<BookDto> load(List<Long> bookIds) {
+        loadedIds.add(bookIds);
+        return books.stream()
+                .filter(book -> bookIds.contains(book.bookId()))
+                .toList();
+    }
+}
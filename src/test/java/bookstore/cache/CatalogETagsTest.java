@@ -0,0 +1,46 @@
+package bookstore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import bookstore.dto.page.CountMode;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+class CatalogETagsTest {
+    private static final PageRequest DEFAULT_PAGE_REQUEST = PageRequest.of(0, 20);
+    private static final long TTL_IN_MILLIS = 60_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final CountCache countCache =
+            new CountCache(100, 60_000, 600_000, System::currentTimeMillis);
+    private final CatalogETags catalogETags =
+            new CatalogETags(countCache, TTL_IN_MILLIS, now::get);
+
+    @Test
+    @DisplayName("Should keep a page ETag within the TTL and change it once the TTL elapses")
+    void forPage_TtlElapsed_ShouldChangeETag() {
+        String first = catalogETags.forPage(CountCache.BOOKS, DEFAULT_PAGE_REQUEST,
+                CountMode.EXACT);
+        now.addAndGet(TTL_IN_MILLIS - 1);
+
+        assertThat(catalogETags.forPage(CountCache.BOOKS, DEFAULT_PAGE_REQUEST, CountMode.EXACT))
+                .isEqualTo(first);
+        now.addAndGet(1);
+        assertThat(catalogETags.forPage(CountCache.BOOKS, DEFAULT_PAGE_REQUEST, CountMode.EXACT))
+                .isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Should change a page ETag when its region is invalidated")
+    void forPage_RegionInvalidated_ShouldChangeETag() {
+        String first = catalogETags.forPage(CountCache.BOOKS, DEFAULT_PAGE_REQUEST,
+                CountMode.EXACT);
+
+        countCache.invalidate(CountCache.BOOKS);
+
+        assertThat(catalogETags.forPage(CountCache.BOOKS, DEFAULT_PAGE_REQUEST, CountMode.EXACT))
+                .isNotEqualTo(first);
+    }
+}
@@ -0,0 +1,121 @@
+package bookstore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import bookstore.dto.page.ApproximatePage;
+import bookstore.dto.page.CountMode;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CountCacheTest {
+    private static final String QUERY_KEY = "all";
+    private static final long EXACT_TTL_IN_MILLIS = 1_000;
+    private static final long APPROXIMATE_TTL_IN_MILLIS = 10_000;
+    private static final long TOTAL = 42;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicLong countCalls = new AtomicLong();
+    private final Slice<String> firstSlice =
+            new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+    private CountCache countCache;
+
+    @BeforeEach
+    void setUp() {
+        countCache = new CountCache(100, EXACT_TTL_IN_MILLIS, APPROXIMATE_TTL_IN_MILLIS,
+                now::get);
+    }
+
+    @Test
+    @DisplayName("Should return the slice as is without counting when count mode is NONE")
+    void withTotal_CountModeNone_ShouldNotCount() {
+        Slice<String> actual = countCache.withTotal(firstSlice, CountMode.NONE,
+                CountCache.BOOKS, QUERY_KEY, this::count);
+
+        assertThat(actual).isSameAs(firstSlice);
+        assertThat(countCalls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should infer the total from the last slice without counting")
+    void withTotal_LastSlice_ShouldInferTotal() {
+        Slice<String> lastSlice = new SliceImpl<>(List.of("e"), PageRequest.of(2, 2), false);
+
+        Page<String> actual = (Page<String>) countCache.withTotal(lastSlice, CountMode.EXACT,
+                CountCache.BOOKS, QUERY_KEY, this::count);
+
+        assertThat(actual.getTotalElements()).isEqualTo(5);
+        assertThat(countCalls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reuse an exact count until the region is invalidated")
+    void withTotal_CachedExactCount_ShouldCountOncePerGeneration() {
+        countCache.withTotal(firstSlice, CountMode.EXACT, CountCache.BOOKS, QUERY_KEY,
+                this::count);
+        Page<String> cached = (Page<String>) countCache.withTotal(firstSlice, CountMode.EXACT,
+                CountCache.BOOKS, QUERY_KEY, this::count);
+
+        assertThat(cached.getTotalElements()).isEqualTo(TOTAL);
+        assertThat(countCalls.get()).isEqualTo(1);
+
+        countCache.invalidate(CountCache.BOOKS);
+        countCache.withTotal(firstSlice, CountMode.EXACT, CountCache.BOOKS, QUERY_KEY,
+                this::count);
+
+        assertThat(countCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should serve a stale count as approximate after invalidation")
+    void withTotal_ApproximateAfterInvalidation_ShouldReturnApproximatePage() {
+        countCache.withTotal(firstSlice, CountMode.EXACT, CountCache.BOOKS, QUERY_KEY,
+                this::count);
+        countCache.invalidate(CountCache.BOOKS);
+        now.addAndGet(EXACT_TTL_IN_MILLIS);
+
+        Slice<String> actual = countCache.withTotal(firstSlice, CountMode.APPROXIMATE,
+                CountCache.BOOKS, QUERY_KEY, this::count);
+
+        assertThat(actual).isInstanceOf(ApproximatePage.class);
+        assertThat(((Page<String>) actual).getTotalElements()).isEqualTo(TOTAL);
+        assertThat(countCalls.get()).isEqualTo(1);
+
+        now.addAndGet(APPROXIMATE_TTL_IN_MILLIS);
+        actual = countCache.withTotal(firstSlice, CountMode.APPROXIMATE, CountCache.BOOKS,
+                QUERY_KEY, this::count);
+
+        assertThat(actual).isNotInstanceOf(ApproximatePage.class);
+        assertThat(countCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should bump the generation only after the writing transaction commits")
+    void invalidate_InsideTransaction_ShouldBumpGenerationAfterCommit() {
+        long generation = countCache.currentGeneration(CountCache.BOOKS);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            countCache.invalidate(CountCache.BOOKS);
+
+            assertThat(countCache.currentGeneration(CountCache.BOOKS)).isEqualTo(generation);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(countCache.currentGeneration(CountCache.BOOKS)).isEqualTo(generation + 1);
+    }
+
+    private long count() {
+        countCalls.incrementAndGet();
+        return TOTAL;
+    }
+}
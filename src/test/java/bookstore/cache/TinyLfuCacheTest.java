@@ -0,0 +1,160 @@
+package bookstore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TinyLfuCacheTest {
+    private static final int MAXIMUM_SIZE = 100;
+    private static final int THREADS = 16;
+
+    private final TinyLfuCache<Long, String> cache = new TinyLfuCache<>(MAXIMUM_SIZE);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should load a missing value once and serve the next read as a hit")
+    void get_RepeatedReads_ShouldLoadOnce() {
+        assertThat(cache.get(1L, this::load)).isEqualTo("book-1");
+        assertThat(cache.get(1L, this::load)).isEqualTo("book-1");
+
+        CacheStats stats = cache.stats();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent misses for the same key into one load")
+    void get_ConcurrentMisses_ShouldLoadOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<String>> reads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            reads.add(() -> cache.get(1L, key -> {
+                await(release);
+                return load(key);
+            }));
+        }
+
+        List<Future<String>> results = new ArrayList<>();
+        for (Callable<String> read : reads) {
+            results.add(executor.submit(read));
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("book-1");
+        }
+        executor.shutdown();
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload a value after it has been invalidated")
+    void invalidate_CachedValue_ShouldReload() {
+        cache.get(1L, this::load);
+
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats().invalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a value whose load was invalidated before it finished")
+    void get_InvalidatedDuringLoad_ShouldNotCacheStaleValue() {
+        String loaded = cache.get(1L, key -> {
+            String value = load(key);
+            cache.invalidate(key);
+            return value;
+        });
+
+        assertThat(loaded).isEqualTo("book-1");
+        assertThat(cache.stats().size()).isZero();
+        cache.get(1L, this::load);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep frequently read values when a scan of one-off keys overflows it")
+    void get_ScanOfOneOffKeys_ShouldKeepHotValues() {
+        for (int i = 0; i < 10; i++) {
+            for (long key = 1; key <= 10; key++) {
+                cache.get(key, this::load);
+            }
+        }
+
+        for (long key = 1_000; key < 1_000 + MAXIMUM_SIZE * 10; key++) {
+            cache.get(key, this::load);
+        }
+
+        for (long key = 1; key <= 10; key++) {
+            assertThat(cache.getIfPresent(key)).isEqualTo("book-" + key);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(MAXIMUM_SIZE);
+        assertThat(cache.stats().evictionCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should stay within its maximum size under concurrent hits and misses")
+    void get_ConcurrentHitsAndMisses_ShouldStayBounded() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long offset = i * 1_000L;
+            results.add(executor.submit(() -> {
+                for (long key = 0; key < 10_000; key++) {
+                    cache.get(key % 50, this::load);
+                    cache.get(offset + key % 1_000, this::load);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        assertThat(cache.size()).isLessThanOrEqualTo(MAXIMUM_SIZE);
+        for (long key = 0; key < 50; key++) {
+            assertThat(cache.get(key, this::load)).isEqualTo("book-" + key);
+        }
+    }
+
+    @Test
+    @DisplayName("Should load on every read when the cache is disabled")
+    void get_ZeroMaximumSize_ShouldNotCache() {
+        TinyLfuCache<Long, String> disabledCache = new TinyLfuCache<>(0);
+
+        disabledCache.get(1L, this::load);
+        disabledCache.get(1L, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(disabledCache.size()).isZero();
+    }
+
+    private String load(Long key) {
+        loads.incrementAndGet();
+        return "book-" + key;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -304,6 +304,7 @@ class AuthenticationControllerIntegrationTest {
         JwtResponseDto actual = objectMapper.readValue(jsonResponse, JwtResponseDto.class);
         assertThat(jwtService.validateAccessToken(actual.accessToken())).isTrue();
         assertThat(jwtService.validateRefreshToken(actual.refreshToken())).isTrue();
+        assertThat(actual.refreshToken()).isNotEqualTo(refreshJwtRequestDto.refreshToken());
     }
 
     @Test
@@ -1,12 +1,17 @@
 package bookstore.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import bookstore.TestObjectsFactory;
@@ -18,6 +23,7 @@ import bookstore.model.Book;
 import bookstore.repository.BookRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Optional;
@@ -27,7 +33,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
@@ -56,6 +64,8 @@ class BookControllerIntegrationTest {
     private static final String BASE_URL = "/books";
     private static final String BOOK_ID_PARAM = "/{bookId}";
     private static final String SEARCH_PART_URL = "/search";
+    private static final String COVER_PART_URL = "/{bookId}/cover";
+    private static final String RECOMMENDATIONS_PART_URL = "/{bookId}/recommendations";
 
     private static final Long VALID_BOOK_ID = 1L;
     private static final Long NEGATIVE_BOOK_ID = Long.MIN_VALUE;
@@ -129,6 +139,50 @@ class BookControllerIntegrationTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    @DisplayName("Should return 304 Not Modified while the ETag of the book matches")
+    @WithMockUser
+    void getBookById_MatchingETag_ShouldReturnNotModified() throws Exception {
+        String entityTag = mockMvc.perform(get(BASE_URL + BOOK_ID_PARAM, VALID_BOOK_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(BASE_URL + BOOK_ID_PARAM, VALID_BOOK_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Book book = bookRepository.findById(VALID_BOOK_ID).orElseThrow();
+        book.setTitle("newTitle");
+        bookRepository.save(book);
+
+        mockMvc.perform(get(BASE_URL + BOOK_ID_PARAM, VALID_BOOK_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(entityTag)))
+                .andExpect(jsonPath("$.title").value("newTitle"));
+    }
+
+    @Test
+    @DisplayName("Should return 304 Not Modified while the ETag of the page matches")
+    @WithMockUser
+    void getAll_MatchingETag_ShouldReturnNotModified() throws Exception {
+        String entityTag = mockMvc.perform(get(BASE_URL))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(BASE_URL).header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(BASE_URL).param("size", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("Should return 404 Not Found for a non-existing book ID")
     @WithMockUser
@@ -144,6 +198,30 @@ class BookControllerIntegrationTest {
                 BOOK_NOT_FOUND_MESSAGE, NON_EXISTING_BOOK_ID));
     }
 
+    @Test
+    @DisplayName("Should return no recommendations for a book that was never ordered")
+    @WithMockUser
+    void getRecommendations_NoOrders_ShouldReturnEmptyList() throws Exception {
+        String jsonResponse = mockMvc.perform(get(
+                        BASE_URL + RECOMMENDATIONS_PART_URL, VALID_BOOK_ID))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<BookDto> actual = objectMapper.readValue(jsonResponse, new TypeReference<>() {
+        });
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return 404 Not Found for recommendations of a non-existing book")
+    @WithMockUser
+    void getRecommendations_BookDoesNotExist_NotFound() throws Exception {
+        mockMvc.perform(get(BASE_URL + RECOMMENDATIONS_PART_URL, NON_EXISTING_BOOK_ID))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should return 400 Bad Request for a negative book ID")
     @WithMockUser
@@ -352,6 +430,43 @@ class BookControllerIntegrationTest {
                 CATEGORY_ID_MUST_BE_POSITIVE_MESSAGE, CATEGORY_INDEX));
     }
 
+    @Test
+    @DisplayName("Should store an uploaded cover and serve it with its thumbnails")
+    @WithMockUser(username = "admin@gmail.com", authorities = "ADMIN")
+    void uploadCover_ValidImage_ShouldServeCoverAndThumbnails() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.jpg",
+                MediaType.IMAGE_JPEG_VALUE, TestObjectsFactory.createCoverImage(800, 1200, "jpeg"));
+
+        String jsonResponse = mockMvc.perform(multipart(BASE_URL + COVER_PART_URL, VALID_BOOK_ID)
+                        .file(file))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        BookDto actual = objectMapper.readValue(jsonResponse, BookDto.class);
+        assertThat(actual.coverImage()).startsWith("/covers/").endsWith(".jpg");
+        assertThat(actual.thumbnails()).containsOnlyKeys("small", "medium");
+        mockMvc.perform(get(actual.coverImage()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(content().bytes(file.getBytes()));
+        mockMvc.perform(get(actual.thumbnails().get("small")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG));
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request for a cover that is not an image")
+    @WithMockUser(username = "admin@gmail.com", authorities = "ADMIN")
+    void uploadCover_NotAnImage_BadRequest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.txt",
+                MediaType.TEXT_PLAIN_VALUE, "not an image".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart(BASE_URL + COVER_PART_URL, VALID_BOOK_ID).file(file))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should delete a book and return 204 No Content for a valid ID")
     @WithMockUser(username = "admin@gmail.com", authorities = "ADMIN")
@@ -0,0 +1,68 @@
+package bookstore.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import bookstore.TestObjectsFactory;
+import bookstore.cover.CoverStorage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class CoverControllerTest {
+    private static final String UNPROCESSED_NAME = "0".repeat(64) + ".jpg";
+    private static final long MAX_PIXELS = 25_000_000;
+
+    @TempDir
+    private Path directory;
+    private CoverStorage coverStorage;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        coverStorage = new CoverStorage(directory.toString(), 1, 10, MAX_PIXELS);
+        mockMvc = MockMvcBuilders.standaloneSetup(new CoverController(coverStorage)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coverStorage.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should tag a thumbnail with an ETag that differs from the original")
+    void getThumbnail_GeneratedThumbnail_ShouldReturnSizeQualifiedETag() throws Exception {
+        String name = coverStorage.store(new ByteArrayInputStream(
+                TestObjectsFactory.createCoverImage(800, 1200, "jpeg")));
+        coverStorage.generateThumbnails(name).join();
+
+        mockMvc.perform(get("/covers/" + name))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + name + "\""));
+        mockMvc.perform(get("/covers/small/" + name))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"small/" + name + "\""));
+    }
+
+    @Test
+    @DisplayName("Should serve the original without an ETag while the thumbnail is missing")
+    void getThumbnail_MissingThumbnail_ShouldServeOriginalWithoutETag() throws Exception {
+        Files.write(coverStorage.getOriginal(UNPROCESSED_NAME),
+                TestObjectsFactory.createCoverImage(800, 1200, "jpeg"));
+
+        mockMvc.perform(get("/covers/small/" + UNPROCESSED_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+}
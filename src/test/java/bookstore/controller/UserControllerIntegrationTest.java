@@ -14,6 +14,8 @@ import bookstore.dto.user.UserUpdateDto;
 import bookstore.model.Role;
 import bookstore.model.User;
 import bookstore.repository.UserRepository;
+import bookstore.security.JwtService;
+import bookstore.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.text.MessageFormat;
 import org.junit.jupiter.api.DisplayName;
@@ -58,6 +60,10 @@ class UserControllerIntegrationTest {
     private ObjectMapper objectMapper;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserService userService;
 
     @Test
     @DisplayName("Should add ADMIN role to user when valid email and role name are provided")
@@ -197,4 +203,25 @@ class UserControllerIntegrationTest {
 
         assertThat(jsonResponse).contains(FILL_IN_AT_LEAST_ONE_FIELD_MESSAGE);
     }
+
+    @Test
+    @DisplayName("Should reject an access token issued before the user's roles changed")
+    void getCurrentUserInfo_TokenIssuedBeforeRoleChange_Unauthorized() throws Exception {
+        User user = userRepository.findByEmail(VALID_EMAIL).orElseThrow();
+        String accessToken = jwtService.generateAccessToken(user);
+        mockMvc.perform(get(BASE_URL + ME_PART_URL)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        userService.addRole(VALID_EMAIL, Role.RoleName.ADMIN);
+
+        mockMvc.perform(get(BASE_URL + ME_PART_URL)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        String newAccessToken = jwtService.generateAccessToken(
+                userRepository.findByEmail(VALID_EMAIL).orElseThrow());
+        mockMvc.perform(get(BASE_URL + ME_PART_URL)
+                        .header("Authorization", "Bearer " + newAccessToken))
+                .andExpect(status().isOk());
+    }
 }
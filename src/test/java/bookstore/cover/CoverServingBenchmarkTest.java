@@ -0,0 +1,57 @@
+package bookstore.cover;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import bookstore.TestObjectsFactory;
+import bookstore.benchmark.Benchmark;
+import bookstore.benchmark.BenchmarkReport;
+import bookstore.controller.CoverController;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@Benchmark
+class CoverServingBenchmarkTest {
+    private static final int REQUESTS = 20_000;
+    private static final long MAX_PIXELS = 25_000_000;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should serve thousands of cover thumbnails per second")
+    void getThumbnail_RepeatedRequests_ShouldServeThousandsPerSecond(TestReporter reporter)
+            throws Exception {
+        CoverStorage coverStorage = new CoverStorage(directory.toString(), 1, 10, MAX_PIXELS);
+        String name = coverStorage.store(new ByteArrayInputStream(
+                TestObjectsFactory.createCoverImage(800, 1200, "jpeg")));
+        coverStorage.generateThumbnails(name).join();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CoverController(coverStorage))
+                .build();
+        String[] urls = {CoverSize.toUrl(name), "/covers/small/" + name,
+                "/covers/medium/" + name};
+
+        long elapsed = BenchmarkReport.time(() -> {
+            for (int i = 0; i < REQUESTS; i++) {
+                mockMvc.perform(get(urls[i % urls.length])).andExpect(status().isOk());
+            }
+        });
+        coverStorage.shutdown();
+
+        long imagesPerSecond = REQUESTS * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        new BenchmarkReport(reporter)
+                .add("requests", REQUESTS)
+                .addMillis("elapsed", elapsed)
+                .add("imagesPerSecond", imagesPerSecond)
+                .publish();
+        assertThat(imagesPerSecond).isGreaterThan(1_000);
+    }
+}
@@ -0,0 +1,103 @@
+package bookstore.cover;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import bookstore.TestObjectsFactory;
+import bookstore.exception.CoverImageException;
+import bookstore.exception.EntityNotFoundException;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CoverStorageTest {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 1200;
+    private static final int MAX_PIXELS = 1_000_000;
+
+    @TempDir
+    private Path directory;
+    private CoverStorage coverStorage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        coverStorage = new CoverStorage(directory.toString(), 1, 10, MAX_PIXELS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coverStorage.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should store identical images once under their content hash")
+    void store_SameImageTwice_ShouldStoreOnce() throws IOException {
+        byte[] image = TestObjectsFactory.createCoverImage(WIDTH, HEIGHT, "jpeg");
+
+        String first = coverStorage.store(new ByteArrayInputStream(image));
+        String second = coverStorage.store(new ByteArrayInputStream(image));
+
+        assertThat(first).isEqualTo(second).endsWith(".jpg");
+        assertThat(coverStorage.getOriginal(first)).hasBinaryContent(image);
+        try (Stream<Path> originals = Files.list(coverStorage.getOriginal(first).getParent())) {
+            assertThat(originals).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate a thumbnail of every size keeping the aspect ratio")
+    void generateThumbnails_StoredImage_ShouldWriteEverySize() throws IOException {
+        byte[] image = TestObjectsFactory.createCoverImage(WIDTH, HEIGHT, "png");
+        String name = coverStorage.store(new ByteArrayInputStream(image));
+
+        coverStorage.generateThumbnails(name).join();
+
+        for (CoverSize size : CoverSize.values()) {
+            BufferedImage thumbnail = ImageIO.read(
+                    coverStorage.getThumbnail(size, name).toFile());
+            assertThat(thumbnail.getWidth()).isEqualTo(size.getWidth());
+            assertThat(thumbnail.getHeight()).isEqualTo(size.getWidth() * HEIGHT / WIDTH);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject content that is not a JPEG or PNG image")
+    void store_NotAnImage_ShouldThrowException() throws IOException {
+        byte[] text = "not an image".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> coverStorage.store(new ByteArrayInputStream(text)))
+                .isInstanceOf(CoverImageException.class);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).allMatch(Files::isDirectory);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an image with more pixels than allowed before decoding it")
+    void store_TooManyPixels_ShouldThrowException() throws IOException {
+        byte[] image = TestObjectsFactory.createCoverImage(WIDTH, MAX_PIXELS / WIDTH + 1, "png");
+
+        assertThatThrownBy(() -> coverStorage.store(new ByteArrayInputStream(image)))
+                .isInstanceOf(CoverImageException.class);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).allMatch(Files::isDirectory);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not resolve names outside of the storage")
+    void getOriginal_PathTraversal_ShouldThrowException() {
+        assertThatThrownBy(() -> coverStorage.getOriginal("../application.properties"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package bookstore.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.exception.BookImportException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsvBookRowReaderTest {
+    private static final String HEADER = "title,author,isbn,price,description,categoryIds\n";
+
+    @Test
+    @DisplayName("Should parse quoted fields with separators, quotes and line breaks")
+    void read_QuotedFields_ShouldParseBook() throws IOException {
+        CsvBookRowReader reader = reader(HEADER
+                + "\"War, and Peace\",Leo Tolstoy,9780140447934,12.50,"
+                + "\"A \"\"long\"\"\r\nnovel\",1;2\r\n");
+
+        BookRow row = reader.read();
+
+        assertThat(row.isMalformed()).isFalse();
+        assertThat(row.rowNumber()).isEqualTo(1);
+        assertThat(row.book()).isEqualTo(new CreateBookRequestDto("War, and Peace",
+                "Leo Tolstoy", "9780140447934", new BigDecimal("12.50"),
+                "A \"long\"\r\nnovel", null, List.of(1L, 2L)));
+        assertThat(reader.read()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report a row with an invalid price and continue with the next row")
+    void read_InvalidPrice_ShouldReturnMalformedRow() throws IOException {
+        CsvBookRowReader reader = reader(HEADER
+                + "1984,George Orwell,9780451524935,cheap,,\n"
+                + "\n"
+                + "Dune,Frank Herbert,9780441172719,9.99,,\n");
+
+        BookRow first = reader.read();
+        BookRow second = reader.read();
+
+        assertThat(first.isMalformed()).isTrue();
+        assertThat(second.rowNumber()).isEqualTo(2);
+        assertThat(second.book().title()).isEqualTo("Dune");
+        assertThat(second.book().categoryIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a header without the required columns")
+    void read_MissingRequiredColumns_ShouldThrowException() {
+        CsvBookRowReader reader = reader("title,author\n1984,George Orwell\n");
+
+        assertThatThrownBy(reader::read).isInstanceOf(BookImportException.class);
+    }
+
+    private CsvBookRowReader reader(String csv) {
+        return new CsvBookRowReader(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,88 @@
+package bookstore.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+import bookstore.TestObjectsFactory;
+import bookstore.model.Order;
+import bookstore.model.OrderItem;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {
+        "classpath:database/clear-db.sql",
+        "classpath:database/insert-users.sql",
+        "classpath:database/insert-order.sql",
+        "classpath:database/insert-books.sql",
+        "classpath:database/insert-order_items.sql"}, executionPhase = BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/clear-db.sql", executionPhase = AFTER_TEST_METHOD)
+class BookStockReservationsIntegrationTest {
+    private static final Long BOOK_ID = 1L;
+    private static final int STOCK = 100;
+    private static final int HOT_THRESHOLD = 1;
+    private static final int LEASE_SIZE = 10;
+    private static final int STRIPES = 8;
+    private static final String NODE_ID = "node-1";
+    private static final String INSERT_LEASE_SQL = "INSERT INTO book_stock_leases "
+            + "(id, book_id, node_id, units, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_LEASE_IDS_SQL = "SELECT id FROM book_stock_leases";
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should refuse to start the ledger without an explicit node id")
+    void constructor_LedgerEnabledWithoutNodeId_ShouldThrowException() {
+        assertThrows(IllegalStateException.class, () -> new BookStockReservations(jdbcTemplate,
+                transactionManager, true, HOT_THRESHOLD, LEASE_SIZE, STRIPES, ""));
+    }
+
+    @Test
+    @DisplayName("Should give back only the stock an order actually deducted")
+    void release_OrderPlacedWhileStockUntracked_ShouldNotAddStock() {
+        BookStockReservations reservations = new BookStockReservations(jdbcTemplate,
+                transactionManager, false, HOT_THRESHOLD, LEASE_SIZE, STRIPES, NODE_ID);
+        OrderItem item = TestObjectsFactory.createOrderItem();
+        Order order = new Order().setOrderItems(Set.of(item));
+
+        reservations.reserve(order);
+        reservations.addStock(BOOK_ID, STOCK);
+        reservations.release(order);
+
+        assertThat(item.isStockReserved()).isFalse();
+        assertThat(reservations.getStock(BOOK_ID)).isEqualTo(STOCK);
+    }
+
+    @Test
+    @DisplayName("Should return unsold leased units left behind by a previous run of the node")
+    void reconcile_LeaseFromPreviousRun_ShouldReturnUnsoldUnits() {
+        Timestamp previousRun = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        jdbcTemplate.update(INSERT_LEASE_SQL, 1L, BOOK_ID, NODE_ID, LEASE_SIZE, previousRun);
+        jdbcTemplate.update(INSERT_LEASE_SQL, 2L, 2L, "node-2", LEASE_SIZE, previousRun);
+        jdbcTemplate.update("UPDATE order_items SET stock_lease_id = 1 WHERE id = 1");
+        BookStockReservations reservations = new BookStockReservations(jdbcTemplate,
+                transactionManager, true, HOT_THRESHOLD, LEASE_SIZE, STRIPES, NODE_ID);
+        reservations.addStock(BOOK_ID, STOCK - LEASE_SIZE);
+
+        reservations.reconcile();
+
+        assertThat(reservations.getStock(BOOK_ID)).isEqualTo(STOCK - 1);
+        assertThat(jdbcTemplate.queryForList(SELECT_LEASE_IDS_SQL, Long.class))
+                .containsExactly(2L);
+    }
+}
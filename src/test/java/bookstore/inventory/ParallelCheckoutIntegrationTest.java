@@ -0,0 +1,158 @@
+package bookstore.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+import bookstore.TestObjectsFactory;
+import bookstore.cache.CountCache;
+import bookstore.dto.order.OrderAddressDto;
+import bookstore.exception.OutOfStockException;
+import bookstore.mapper.CartItemMapper;
+import bookstore.mapper.OrderItemMapper;
+import bookstore.mapper.OrderMapper;
+import bookstore.model.User;
+import bookstore.ranking.BookSalesRanking;
+import bookstore.recommendation.BookRecommendationIndex;
+import bookstore.repository.CartItemRepository;
+import bookstore.repository.OrderItemRepository;
+import bookstore.repository.OrderRepository;
+import bookstore.repository.ShoppingCartRepository;
+import bookstore.search.BookSuggestIndex;
+import bookstore.service.OrderService;
+import bookstore.service.impl.OrderServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@Sql(scripts = {
+        "classpath:database/clear-db.sql",
+        "classpath:database/insert-books.sql"}, executionPhase = BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/clear-db.sql", executionPhase = AFTER_TEST_METHOD)
+class ParallelCheckoutIntegrationTest {
+    private static final Long BOOK_ID = 1L;
+    private static final int STOCK = 100;
+    private static final int CHECKOUTS = 200;
+    private static final int THREADS = 16;
+    private static final int HOT_THRESHOLD = 1;
+    private static final int LEASE_SIZE = 10;
+    private static final int STRIPES = 8;
+    private static final String NODE_ID = "node-1";
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(id, email, password, first_name, last_name, shipping_address, is_deleted) "
+            + "VALUES (?, ?, 'password', 'John', 'Doe', 'Kyiv', false)";
+    private static final String INSERT_CART_SQL =
+            "INSERT INTO shopping_carts (id, is_deleted) VALUES (?, false)";
+    private static final String INSERT_CART_ITEM_SQL = "INSERT INTO cart_items "
+            + "(id, shopping_cart_id, book_id, quantity, is_deleted) VALUES (?, ?, ?, 1, false)";
+    private static final String COUNT_ORDERS_SQL = "SELECT COUNT(*) FROM orders";
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ShoppingCartRepository cartRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private OrderMapper orderMapper;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private OrderItemMapper orderItemMapper;
+    @Autowired
+    private CartItemMapper cartItemMapper;
+    @Autowired
+    private CountCache countCache;
+    @Autowired
+    private BookSuggestIndex bookSuggestIndex;
+    @Autowired
+    private BookRecommendationIndex bookRecommendationIndex;
+    @Autowired
+    private BookSalesRanking bookSalesRanking;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> users = new ArrayList<>(CHECKOUTS);
+        List<Object[]> carts = new ArrayList<>(CHECKOUTS);
+        List<Object[]> cartItems = new ArrayList<>(CHECKOUTS);
+        for (long id = 1; id <= CHECKOUTS; id++) {
+            users.add(new Object[]{id, "user" + id + "@gmail.com"});
+            carts.add(new Object[]{id});
+            cartItems.add(new Object[]{id, id, BOOK_ID});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users);
+        jdbcTemplate.batchUpdate(INSERT_CART_SQL, carts);
+        jdbcTemplate.batchUpdate(INSERT_CART_ITEM_SQL, cartItems);
+    }
+
+    @ParameterizedTest(name = "ledgerEnabled={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should never sell more copies than in stock when customers check out at once")
+    void placeOrder_ParallelCheckoutsOfHotBook_ShouldNotOversell(boolean ledgerEnabled)
+            throws Exception {
+        BookStockReservations reservations = new BookStockReservations(jdbcTemplate,
+                transactionManager, ledgerEnabled, HOT_THRESHOLD, LEASE_SIZE, STRIPES, NODE_ID);
+        reservations.addStock(BOOK_ID, STOCK);
+        OrderService orderService = new OrderServiceImpl(cartRepository, orderRepository,
+                orderItemRepository, orderMapper, cartItemRepository, orderItemMapper,
+                cartItemMapper, countCache, bookSuggestIndex, bookRecommendationIndex,
+                bookSalesRanking, reservations);
+        TransactionTemplate checkoutTemplate = new TransactionTemplate(transactionManager);
+        OrderAddressDto addressDto = TestObjectsFactory.createOrderAddressDto();
+        ExecutorService checkouts = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>(CHECKOUTS);
+        for (long id = 1; id <= CHECKOUTS; id++) {
+            User customer = new User().setId(id);
+            results.add(checkouts.submit(() -> {
+                start.await();
+                try {
+                    checkoutTemplate.executeWithoutResult(status ->
+                            orderService.placeOrder(customer, addressDto));
+                    return true;
+                } catch (OutOfStockException ex) {
+                    return false;
+                }
+            }));
+        }
+        final long startedAt = System.nanoTime();
+        start.countDown();
+        int sold = 0;
+        for (Future<Boolean> result : results) {
+            sold += result.get() ? 1 : 0;
+        }
+        long elapsedInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        checkouts.shutdown();
+        reservations.shutdown();
+
+        Integer stock = reservations.getStock(BOOK_ID);
+        String run = String.format("ledgerEnabled=%b: %d checkouts in %d ms, %d sold",
+                ledgerEnabled, CHECKOUTS, elapsedInMillis, sold);
+        assertThat(sold).as(run).isLessThanOrEqualTo(STOCK);
+        assertThat(stock).as(run).isNotNegative();
+        assertThat(sold + stock).as(run).isEqualTo(STOCK);
+        assertThat(jdbcTemplate.queryForObject(COUNT_ORDERS_SQL, Integer.class))
+                .as(run).isEqualTo(sold);
+        if (!ledgerEnabled) {
+            assertThat(sold).as(run).isEqualTo(STOCK);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package bookstore.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.TestObjectsFactory;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class BookSalesRankingTest {
+    private static final Long FICTION_CATEGORY_ID = 1L;
+    private static final Long UNKNOWN_CATEGORY_ID = 99L;
+    private static final int WEEK = 7;
+    private static final int MONTH = 30;
+    private static final int LIMIT = 10;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BookSalesRanking bookSalesRanking = new BookSalesRanking(jdbcTemplate, true);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        LocalDate today = LocalDate.now();
+        List<ResultSet> sales = List.of(
+                sale(1L, today, 5),
+                sale(2L, today.minusDays(1), 3),
+                sale(2L, today.minusDays(10), 4),
+                sale(3L, today.minusDays(2), 1),
+                sale(3L, today.minusDays(8), 10));
+        List<ResultSet> categories = List.of(link(2L, FICTION_CATEGORY_ID),
+                link(3L, FICTION_CATEGORY_ID));
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : sql.startsWith("SELECT book_id") ? sales : categories) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any());
+
+        bookSalesRanking.refresh();
+    }
+
+    @Test
+    @DisplayName("Should rank books by copies sold within the time window")
+    void getBestsellers_DifferentWindows_ShouldRankByCopiesSold() {
+        assertThat(bookSalesRanking.getBestsellers(WEEK, null, LIMIT))
+                .containsExactly(1L, 2L, 3L);
+        assertThat(bookSalesRanking.getBestsellers(MONTH, null, LIMIT))
+                .containsExactly(3L, 2L, 1L);
+        assertThat(bookSalesRanking.getBestsellers(MONTH, null, 1)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should rank only books of the requested category")
+    void getBestsellers_CategoryFilter_ShouldRankOnlyCategoryBooks() {
+        assertThat(bookSalesRanking.getBestsellers(WEEK, FICTION_CATEGORY_ID, LIMIT))
+                .containsExactly(2L, 3L);
+        assertThat(bookSalesRanking.getBestsellers(WEEK, UNKNOWN_CATEGORY_ID, LIMIT)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank only books selling more than in the previous window")
+    void getTrending_GrowingAndFallingSales_ShouldRankGrowingBooks() {
+        assertThat(bookSalesRanking.getTrending(WEEK, null, LIMIT)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should buffer sales of committed orders and write them in one batch")
+    void recordOrder_CommittedOrders_ShouldWriteSummedSalesOnFlush() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookSalesRanking.recordOrder(TestObjectsFactory.createOrder());
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        bookSalesRanking.recordOrder(TestObjectsFactory.createOrder());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        bookSalesRanking.flushSales();
+
+        Date saleDate = Date.valueOf(LocalDate.parse("2025-06-01"));
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.captor();
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).containsExactly(new Object[]{saleDate, 1L, 2L},
+                new Object[]{saleDate, 2L, 4L});
+    }
+
+    private ResultSet sale(Long bookId, LocalDate saleDate, long quantity) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(bookId);
+        when(resultSet.getDate(2)).thenReturn(Date.valueOf(saleDate));
+        when(resultSet.getLong(3)).thenReturn(quantity);
+        return resultSet;
+    }
+
+    private ResultSet link(Long bookId, Long categoryId) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(bookId);
+        when(resultSet.getLong(2)).thenReturn(categoryId);
+        return resultSet;
+    }
+}
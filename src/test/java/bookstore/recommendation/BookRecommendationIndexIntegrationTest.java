@@ -0,0 +1,61 @@
+package bookstore.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {
+        "classpath:database/clear-db.sql",
+        "classpath:database/insert-books.sql",
+        "classpath:database/insert-users.sql"}, executionPhase = BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/clear-db.sql", executionPhase = AFTER_TEST_METHOD)
+class BookRecommendationIndexIntegrationTest {
+    private static final String INSERT_ORDER_SQL = "INSERT INTO orders "
+            + "(id, user_id, status, total, order_date, shipping_address, is_deleted) "
+            + "VALUES (?, 1, 'NEW', 20.98, ?, 'Kyiv', false)";
+    private static final String INSERT_ORDER_ITEM_SQL = "INSERT INTO order_items "
+            + "(id, order_id, book_id, quantity, price, is_deleted) "
+            + "VALUES (?, ?, ?, 1, 9.99, false)";
+    private static final LocalDateTime SETTLED_ORDER_DATE = LocalDateTime.of(2025, 6, 1, 0, 0);
+    private static final long SETTLE_DELAY_IN_MILLIS = 60_000;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should count an order that commits after a newer one exactly once")
+    void refresh_LateCommittedOrder_ShouldCountItOnce() {
+        BookRecommendationIndex index = new BookRecommendationIndex(jdbcTemplate, true, 20,
+                1, 100, 100, SETTLE_DELAY_IN_MILLIS);
+        insertOrder(1L, SETTLED_ORDER_DATE, 1L, 2L);
+        insertOrder(3L, LocalDateTime.now(), 1L, 3L);
+        index.refresh();
+
+        insertOrder(2L, LocalDateTime.now(), 1L, 2L);
+        index.refresh();
+        index.refresh();
+
+        assertThat(index.getRecommendations(1L, 10)).containsExactly(2L, 3L);
+        assertThat(index.getRecommendations(3L, 10)).containsExactly(1L);
+        index.shutdown();
+    }
+
+    private void insertOrder(Long orderId, LocalDateTime orderDate, Long... bookIds) {
+        jdbcTemplate.update(INSERT_ORDER_SQL, orderId, Timestamp.valueOf(orderDate));
+        for (Long bookId : bookIds) {
+            jdbcTemplate.update(INSERT_ORDER_ITEM_SQL, orderId * 10 + bookId, orderId, bookId);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package bookstore.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+    private static final int KEYS = 10_000;
+
+    private final LongIntHashMap map = new LongIntHashMap(0);
+
+    @Test
+    @DisplayName("Should keep every counter while growing past its initial capacity")
+    void addTo_ManyKeys_ShouldKeepEveryCounter() {
+        for (long key = 1; key <= KEYS; key++) {
+            map.addTo(key << Integer.SIZE | key, (int) key);
+            map.addTo(key << Integer.SIZE | key, 1);
+        }
+
+        Map<Long, Integer> counters = new HashMap<>();
+        map.forEach(counters::put);
+        assertThat(map.size()).isEqualTo(KEYS);
+        assertThat(counters).hasSize(KEYS);
+        for (long key = 1; key <= KEYS; key++) {
+            assertThat(map.get(key << Integer.SIZE | key, -1)).isEqualTo((int) key + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the default value for a missing key")
+    void get_MissingKey_ShouldReturnDefaultValue() {
+        map.put(1, 10);
+
+        assertThat(map.get(1, -1)).isEqualTo(10);
+        assertThat(map.get(2, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should reject 0 as a key")
+    void put_ZeroKey_ShouldThrowException() {
+        assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,45 @@
+package bookstore.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TopNeighboursTest {
+    private static final int NEIGHBOURS_PER_BOOK = 3;
+
+    private final TopNeighbours topNeighbours = new TopNeighbours(NEIGHBOURS_PER_BOOK, 0);
+
+    @Test
+    @DisplayName("Should keep the most frequent neighbours ordered by count")
+    void offer_MoreNeighboursThanCapacity_ShouldKeepMostFrequent() {
+        topNeighbours.offer(1, 2, 5);
+        topNeighbours.offer(1, 3, 1);
+        topNeighbours.offer(1, 4, 9);
+        topNeighbours.offer(1, 5, 7);
+
+        assertThat(topNeighbours.get(1, 10)).containsExactly(4L, 5L, 2L);
+        assertThat(topNeighbours.get(1, 2)).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should order neighbours with the same count by id")
+    void offer_SameCount_ShouldOrderById() {
+        topNeighbours.offer(1, 7, 2);
+        topNeighbours.offer(1, 3, 2);
+
+        assertThat(topNeighbours.get(1, 10)).containsExactly(3L, 7L);
+    }
+
+    @Test
+    @DisplayName("Should keep the neighbours of many books apart")
+    void offer_ManyBooks_ShouldKeepNeighboursPerBook() {
+        for (long bookId = 1; bookId <= 100; bookId++) {
+            topNeighbours.offer(bookId, bookId + 1000, 1);
+        }
+
+        assertThat(topNeighbours.size()).isEqualTo(100);
+        assertThat(topNeighbours.get(42, 10)).containsExactly(1042L);
+        assertThat(topNeighbours.get(101, 10)).isEmpty();
+    }
+}
@@ -5,13 +5,19 @@ import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TES
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
 
 import bookstore.TestObjectsFactory;
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.facet.CategoryFacetDto;
 import bookstore.model.Book;
 import bookstore.repository.book.BookSpecificationBuilder;
 import bookstore.repository.book.BookSpecificationProviderManager;
 import bookstore.repository.book.spec.TitleSpecificationProvider;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +26,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.jdbc.Sql;
 
@@ -47,24 +54,49 @@ class BookRepositoryIntegrationTest {
 
     @Test
     @DisplayName("Should return two books for a valid category ID")
-    void findAllByCategoryId_ValidId_ShouldReturnTwoBooks() {
-        List<Book> expected = List.of(
-                TestObjectsFactory.create1984Book(),
-                TestObjectsFactory.createToKillMockingbirdBook());
-        List<Book> actual =
-                bookRepository.findAllByCategoryId(VALID_CATEGORY_ID, DEFAULT_PAGE_REQUEST)
-                        .getContent();
+    void findSummaries_ValidCategoryId_ShouldReturnTwoBooks() {
+        List<BookDtoWithoutCategoryIds> expected =
+                TestObjectsFactory.createTwoBookDtoWithoutCategoryIdsList();
+        Specification<Book> spec =
+                bookSpecificationBuilder.buildCategorySpecification(VALID_CATEGORY_ID);
+        List<BookDtoWithoutCategoryIds> actual =
+                bookRepository.findSummaries(spec, DEFAULT_PAGE_REQUEST).getContent();
         assertThat(actual).hasSize(2).isEqualTo(expected);
     }
 
     @Test
     @DisplayName("Should return an empty list for an invalid category ID")
-    void findAllByCategoryId_InvalidId_ShouldReturnEmptyList() {
-        Page<Book> actual = bookRepository.findAllByCategoryId(INVALID_CATEGORY_ID,
-                DEFAULT_PAGE_REQUEST);
+    void findSummaries_InvalidCategoryId_ShouldReturnEmptyList() {
+        Specification<Book> spec =
+                bookSpecificationBuilder.buildCategorySpecification(INVALID_CATEGORY_ID);
+        Slice<BookDtoWithoutCategoryIds> actual =
+                bookRepository.findSummaries(spec, DEFAULT_PAGE_REQUEST);
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should project matching books without loading entities")
+    void findSummaries_ValidSpecification_ShouldReturnOneBookSummary() {
+        BookSearchParametersDto searchParameters =
+                TestObjectsFactory.createSearchParameters("1984");
+        Specification<Book> spec = bookSpecificationBuilder.build(searchParameters);
+        Slice<BookDtoWithoutCategoryIds> actual =
+                bookRepository.findSummaries(spec, DEFAULT_PAGE_REQUEST);
+        assertThat(actual.getContent())
+                .containsExactly(TestObjectsFactory.create1984BookDtoWithoutCategory());
+        assertThat(actual.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should group category IDs by book ID in a single query")
+    void findCategoryIdsByBookIds_ValidIds_ShouldGroupCategoryIds() {
+        Map<Long, List<Long>> actual = bookRepository.findCategoryIdsByBookIds(
+                List.of(VALID_BOOK_ID, 3L, INVALID_BOOK_ID));
+        assertThat(actual).containsOnly(
+                Map.entry(VALID_BOOK_ID, List.of(VALID_CATEGORY_ID)),
+                Map.entry(3L, List.of(2L)));
+    }
+
     @Test
     @DisplayName("Should return one book for valid search specification")
     void findAll_ValidSpecification_ShouldReturnOneBook() {
@@ -103,4 +135,45 @@ class BookRepositoryIntegrationTest {
         Optional<Book> actual = bookRepository.findById(INVALID_BOOK_ID);
         assertThat(actual).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should stream every book once with its category IDs")
+    void streamAllWithCategoryIds_ThreeBooks_ShouldGroupCategoryIds() {
+        List<BookDto> actual;
+        try (Stream<BookDto> books = bookRepository.streamAllWithCategoryIds(2)) {
+            actual = books.toList();
+        }
+        assertThat(actual).extracting(BookDto::bookId).containsExactly(1L, 2L, 3L);
+        assertThat(actual).extracting(BookDto::categoryIds)
+                .containsExactly(List.of(1L), List.of(1L), List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should count matching books per category, largest category first")
+    void countByCategory_EmptySpecification_ShouldReturnCategoryCounts() {
+        List<CategoryFacetDto> actual = bookRepository.countByCategory(null);
+        assertThat(actual).containsExactly(new CategoryFacetDto(1L, "Fiction", 2L),
+                new CategoryFacetDto(2L, "Fantasy", 1L));
+    }
+
+    @Test
+    @DisplayName("Should count matching books per price bucket")
+    void countByPriceBucket_EmptySpecification_ShouldReturnBucketCounts() {
+        List<Long> actual = bookRepository.countByPriceBucket(null,
+                List.of(BigDecimal.TEN, BigDecimal.valueOf(12), BigDecimal.valueOf(20)));
+        assertThat(actual).containsExactly(1L, 1L, 1L, 0L);
+    }
+
+    @Test
+    @DisplayName("Should bump the version of every book in a category")
+    void incrementVersionsByCategoryId_ValidCategoryId_ShouldBumpLinkedBooksOnly() {
+        Long firstVersion = bookRepository.findVersionById(VALID_BOOK_ID).orElseThrow();
+        Long otherVersion = bookRepository.findVersionById(3L).orElseThrow();
+
+        int updated = bookRepository.incrementVersionsByCategoryId(VALID_CATEGORY_ID);
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(bookRepository.findVersionById(VALID_BOOK_ID)).contains(firstVersion + 1);
+        assertThat(bookRepository.findVersionById(3L)).contains(otherVersion);
+    }
 }
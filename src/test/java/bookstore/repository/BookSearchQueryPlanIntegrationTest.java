@@ -0,0 +1,150 @@
+package bookstore.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.repository.book.BookSpecificationProviderManager;
+import bookstore.repository.book.spec.AuthorFullTextSpecificationProvider;
+import bookstore.repository.book.spec.AuthorSpecificationProvider;
+import bookstore.repository.book.spec.AuthorsSpecificationProvider;
+import bookstore.repository.book.spec.CategoryIdsSpecificationProvider;
+import bookstore.repository.book.spec.IsbnSpecificationProvider;
+import bookstore.repository.book.spec.IsbnsSpecificationProvider;
+import bookstore.repository.book.spec.KeywordsFullTextSpecificationProvider;
+import bookstore.repository.book.spec.KeywordsSpecificationProvider;
+import bookstore.repository.book.spec.MaxPriceSpecificationProvider;
+import bookstore.repository.book.spec.MinPriceSpecificationProvider;
+import bookstore.repository.book.spec.TitleFullTextSpecificationProvider;
+import bookstore.repository.book.spec.TitleSpecificationProvider;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "book.search.mode=fulltext",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "bookstore.repository.RecordingStatementInspector"})
+@Sql(scripts = {
+        "classpath:database/clear-db.sql",
+        "classpath:database/insert-books.sql",
+        "classpath:database/insert-generated-books.sql",
+        "classpath:database/insert-categories.sql",
+        "classpath:database/link-books-to-categories.sql"}, executionPhase = BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/clear-db.sql", executionPhase = AFTER_TEST_METHOD)
+@Import({BookSpecificationBuilder.class,
+        BookSpecificationProviderManager.class,
+        TitleSpecificationProvider.class,
+        AuthorSpecificationProvider.class,
+        IsbnSpecificationProvider.class,
+        MinPriceSpecificationProvider.class,
+        MaxPriceSpecificationProvider.class,
+        KeywordsSpecificationProvider.class,
+        CategoryIdsSpecificationProvider.class,
+        AuthorsSpecificationProvider.class,
+        IsbnsSpecificationProvider.class,
+        TitleFullTextSpecificationProvider.class,
+        AuthorFullTextSpecificationProvider.class,
+        KeywordsFullTextSpecificationProvider.class})
+class BookSearchQueryPlanIntegrationTest {
+    private static final String FULL_TABLE_SCAN = "ALL";
+    private static final Long VALID_CATEGORY_ID = 1L;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BookSpecificationBuilder bookSpecificationBuilder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        RecordingStatementInspector.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("provideSearchParameters")
+    @DisplayName("Should not scan the whole books table for any search filter combination")
+    void findSummaries_SearchFilters_ShouldUseIndexes(String description,
+                                                       BookSearchParametersDto parameters) {
+        bookRepository.findSummaries(bookSpecificationBuilder.build(parameters),
+                Pageable.unpaged());
+
+        assertNoFullTableScan();
+    }
+
+    @Test
+    @DisplayName("Should resolve books of a category through the books_categories index")
+    void findSummaries_CategoryFilter_ShouldUseIndexes() {
+        Specification<Book> spec =
+                bookSpecificationBuilder.buildCategorySpecification(VALID_CATEGORY_ID);
+
+        bookRepository.findSummaries(spec, Pageable.unpaged());
+
+        assertNoFullTableScan();
+    }
+
+    private void assertNoFullTableScan() {
+        List<String> statements = RecordingStatementInspector.getStatements();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+            assertThat(plan)
+                    .as("Query plan of %s", sql)
+                    .isNotEmpty()
+                    .noneSatisfy(row -> {
+                        assertThat(String.valueOf(row.get("table"))).doesNotStartWith("<");
+                        assertThat(row.get("type")).isEqualTo(FULL_TABLE_SCAN);
+                    });
+        }
+    }
+
+    private static Stream<Arguments> provideSearchParameters() {
+        return Stream.of(
+                Arguments.of("title", new BookSearchParametersDto(
+                        "Mockingbird", null, null, null, null, null, null, null, null, null)),
+                Arguments.of("author", new BookSearchParametersDto(
+                        null, "Orwell", null, null, null, null, null, null, null, null)),
+                Arguments.of("isbn", new BookSearchParametersDto(
+                        null, null, "9780451524935", null, null, null, null, null, null, null)),
+                Arguments.of("min price", new BookSearchParametersDto(
+                        null, null, null, 990, null, null, null, null, null, null)),
+                Arguments.of("max price", new BookSearchParametersDto(
+                        null, null, null, null, 5, null, null, null, null, null)),
+                Arguments.of("price range", new BookSearchParametersDto(
+                        null, null, null, 500, 510, null, null, null, null, null)),
+                Arguments.of("keywords", new BookSearchParametersDto(
+                        null, null, null, null, null, "cosmology", null, null, null, null)),
+                Arguments.of("title and max price", new BookSearchParametersDto(
+                        "History", null, null, null, 20, null, null, null, null, null)),
+                Arguments.of("author and min price", new BookSearchParametersDto(
+                        null, "Hawking", null, 10, null, null, null, null, null, null)),
+                Arguments.of("category ids", new BookSearchParametersDto(
+                        null, null, null, null, null, null, null, List.of(1L, 2L), null, null)),
+                Arguments.of("authors", new BookSearchParametersDto(null, null, null, null,
+                        null, null, null, null, List.of("George Orwell", "Harper Lee"), null)),
+                Arguments.of("isbns", new BookSearchParametersDto(null, null, null, null, null,
+                        null, null, null, null, List.of("9780451524935", "9780061120084")))
+        );
+    }
+}
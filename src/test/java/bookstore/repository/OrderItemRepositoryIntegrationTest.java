@@ -17,8 +17,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -55,7 +55,7 @@ class OrderItemRepositoryIntegrationTest {
     @Test
     @DisplayName("Should return empty page for invalid order ID or invalid user ID")
     void findByOrderIdAndOrderUserId_InvalidIds_ReturnEmptyPage() {
-        Page<OrderItem> actual;
+        Slice<OrderItem> actual;
         actual = itemRepository.findByOrderIdAndOrderUserId(
                 INVALID_ORDER_ID,
                 VALID_USER_ID,
@@ -15,8 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -50,7 +50,8 @@ class OrderRepositoryIntegrationTest {
     @Test
     @DisplayName("Should return empty page for invalid user ID")
     void findAllByUserId_InvalidUserId_ReturnEmptyPage() {
-        Page<Order> actual = orderRepository.findAllByUserId(INVALID_USER_ID, DEFAULT_PAGE_REQUEST);
+        Slice<Order> actual =
+                orderRepository.findAllByUserId(INVALID_USER_ID, DEFAULT_PAGE_REQUEST);
         assertThat(actual).isEmpty();
     }
 
@@ -0,0 +1,23 @@
+package bookstore.repository.book.spec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FullTextSpecificationProviderTest {
+    @Test
+    @DisplayName("Should require every indexable word and match it by prefix")
+    void toBooleanQuery_PlainText_ShouldRequireEveryWord() {
+        assertThat(FullTextSpecificationProvider.toBooleanQuery("Harry Potter"))
+                .isEqualTo("+harry* +potter*");
+    }
+
+    @Test
+    @DisplayName("Should strip boolean mode operators and words below the minimum length")
+    void toBooleanQuery_OperatorsAndShortWords_ShouldBeDropped() {
+        assertThat(FullTextSpecificationProvider.toBooleanQuery("-to \"kill\" a +mock*"))
+                .isEqualTo("+kill* +mock*");
+        assertThat(FullTextSpecificationProvider.toBooleanQuery("a b")).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package bookstore.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import bookstore.benchmark.Benchmark;
+import bookstore.benchmark.BenchmarkReport;
+import bookstore.benchmark.BenchmarkReport.Latencies;
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@Benchmark
+class BookSearchIndexBenchmarkTest {
+    private static final int LOOKUPS = 1_000;
+    private static final int SCANS = 20;
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int AUTHOR_COUNT = 2_000;
+    private final String[] words = vocabulary(VOCABULARY_SIZE, new Random(7));
+    private final String[] authors = vocabulary(AUTHOR_COUNT, new Random(11));
+
+    @ParameterizedTest(name = "books={0}")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    @DisplayName("Should answer title and author searches faster than a substring scan")
+    void search_GrowingCatalog_ShouldBeatSubstringScan(int bookCount, TestReporter reporter)
+            throws Exception {
+        Random random = new Random(42);
+        List<Book> books = new ArrayList<>(bookCount);
+        for (long id = 1; id <= bookCount; id++) {
+            books.add(book(random, id));
+        }
+        BookSearchIndex index = new BookSearchIndex(mock(BookRepository.class), true, 1_000);
+        final long buildTime = BenchmarkReport.time(() -> books.forEach(index::add));
+
+        Latencies indexLatencies = BenchmarkReport.sample(LOOKUPS, i -> {
+            String title = word(random) + " " + word(random);
+            String author = authors[random.nextInt(authors.length)];
+            return () -> index.search(title, author, null);
+        });
+        Latencies scanLatencies = BenchmarkReport.sample(SCANS, i -> {
+            String title = word(random) + " " + word(random);
+            String author = authors[random.nextInt(authors.length)].toLowerCase(Locale.ROOT);
+            return () -> books.stream()
+                    .filter(book -> book.getTitle().toLowerCase(Locale.ROOT).contains(title)
+                            && book.getAuthor().toLowerCase(Locale.ROOT).contains(author))
+                    .map(Book::getId)
+                    .toList();
+        });
+        long indexP50 = indexLatencies.percentile(50);
+        long scanP50 = scanLatencies.percentile(50);
+
+        new BenchmarkReport(reporter)
+                .add("books", bookCount)
+                .addMillis("build", buildTime)
+                .addMicros("indexP50", indexP50)
+                .addMicros("indexP99", indexLatencies.percentile(99))
+                .addMicros("scanP50", scanP50)
+                .publish();
+        assertThat(indexP50).isLessThan(scanP50);
+    }
+
+    private Book book(Random random, long id) {
+        Book book = new Book(id);
+        StringBuilder title = new StringBuilder();
+        int words = 2 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            title.append(word(random)).append(' ');
+        }
+        book.setTitle(title.append(id).toString());
+        book.setAuthor(authors[random.nextInt(authors.length)] + " " + word(random));
+        book.setDescription(title.toString());
+        return book;
+    }
+
+    private String word(Random random) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String[] vocabulary(int size, Random random) {
+        String[] vocabulary = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        return vocabulary;
+    }
+}
@@ -0,0 +1,71 @@
+package bookstore.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import bookstore.TestObjectsFactory;
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookSearchIndexTest {
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex(mock(BookRepository.class), true, 100);
+        bookSearchIndex.add(TestObjectsFactory.create1984Book());
+        bookSearchIndex.add(TestObjectsFactory.createToKillMockingbirdBook());
+        bookSearchIndex.add(TestObjectsFactory.createABriefHistoryOfTimeBook());
+    }
+
+    @Test
+    @DisplayName("Should match title tokens case-insensitively and by prefix of the last token")
+    void search_TitlePrefix_ShouldReturnMatchingBook() {
+        assertThat(bookSearchIndex.search("KILL a mock", null, null)).containsExactly(2L);
+        assertThat(bookSearchIndex.search("history off", null, null)).isEmpty();
+        assertThat(bookSearchIndex.search("history", null, null)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should intersect title and author criteria")
+    void search_TitleAndAuthor_ShouldReturnBooksMatchingBoth() {
+        assertThat(bookSearchIndex.search("1984", "orwell", null)).containsExactly(1L);
+        assertThat(bookSearchIndex.search("1984", "hawking", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches for keywords")
+    void search_Keywords_ShouldRankByRelevance() {
+        Book book = new Book(4L);
+        book.setTitle("Novel Writing");
+        book.setAuthor("Jane Doe");
+        book.setDescription("A practical guide.");
+        bookSearchIndex.add(book);
+
+        assertThat(bookSearchIndex.search(null, null, "novel")).containsExactly(4L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should reindex updated books and forget removed ones")
+    void addAndRemove_ChangedBooks_ShouldUpdateIndex() {
+        Book book = TestObjectsFactory.create1984Book();
+        book.setTitle("Animal Farm");
+        bookSearchIndex.add(book);
+        bookSearchIndex.remove(2L);
+
+        assertThat(bookSearchIndex.search("1984", null, null)).isEmpty();
+        assertThat(bookSearchIndex.search("animal", null, null)).containsExactly(1L);
+        assertThat(bookSearchIndex.search(null, null, "novel")).containsExactly(1L);
+        assertThat(bookSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fold diacritics when tokenizing")
+    void tokenize_TextWithDiacritics_ShouldFoldToAscii() {
+        assertThat(BookSearchIndex.tokenize("Café-Société, 1984!"))
+                .containsExactly("cafe", "societe", "1984");
+    }
+}
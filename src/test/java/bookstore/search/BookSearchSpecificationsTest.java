@@ -0,0 +1,90 @@
+package bookstore.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import bookstore.TestObjectsFactory;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.search.BookSearchSpecifications.IndexMatch;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookSearchSpecificationsTest {
+    private static final int MANY_MATCHES = 1500;
+    private BookSearchIndex bookSearchIndex;
+    private BookSearchSpecifications bookSearchSpecifications;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex(mock(BookRepository.class), true, 100);
+        BookTrigramIndex bookTrigramIndex =
+                new BookTrigramIndex(mock(BookRepository.class), true, 100, 1000, 0.5);
+        bookSearchIndex.build();
+        bookTrigramIndex.build();
+        bookSearchIndex.add(TestObjectsFactory.create1984Book());
+        bookSearchIndex.add(TestObjectsFactory.createToKillMockingbirdBook());
+        bookTrigramIndex.add(TestObjectsFactory.create1984Book());
+        bookTrigramIndex.add(TestObjectsFactory.createToKillMockingbirdBook());
+        bookSearchSpecifications = new BookSearchSpecifications(
+                mock(BookSpecificationBuilder.class), bookSearchIndex, bookTrigramIndex);
+    }
+
+    @Test
+    @DisplayName("Should resolve text criteria through the token index")
+    void findIndexMatch_TextParameters_ShouldUseSearchIndex() {
+        BookSearchParametersDto parametersDto = new BookSearchParametersDto("kill a mock",
+                null, null, 10, null, null, null, null, null, null);
+
+        IndexMatch actual = bookSearchSpecifications.findIndexMatch(parametersDto).orElseThrow();
+
+        assertThat(actual.bookIds()).containsExactly(2L);
+        assertThat(actual.remainingParameters()).isEqualTo(new BookSearchParametersDto(null,
+                null, null, 10, null, null, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should resolve fuzzy criteria through the trigram index and keep keywords")
+    void findIndexMatch_FuzzyParameters_ShouldUseTrigramIndex() {
+        BookSearchParametersDto parametersDto = new BookSearchParametersDto("mockingbrid",
+                null, null, null, null, "novel", true, List.of(1L), null, null);
+
+        IndexMatch actual = bookSearchSpecifications.findIndexMatch(parametersDto).orElseThrow();
+
+        assertThat(actual.bookIds()).containsExactly(2L);
+        assertThat(actual.remainingParameters()).isEqualTo(new BookSearchParametersDto(null,
+                null, null, null, null, "novel", null, List.of(1L), null, null));
+    }
+
+    @Test
+    @DisplayName("Should keep token matching when more books match than fit one IN clause")
+    void findIndexMatch_ManyMatches_ShouldStillUseSearchIndex() {
+        for (long id = 10; id < 10 + MANY_MATCHES; id++) {
+            Book book = new Book(id);
+            book.setTitle("Mock Trial " + id);
+            book.setAuthor("Jane Doe");
+            bookSearchIndex.add(book);
+        }
+        BookSearchParametersDto parametersDto =
+                TestObjectsFactory.createSearchParameters("mock");
+
+        IndexMatch actual = bookSearchSpecifications.findIndexMatch(parametersDto).orElseThrow();
+
+        assertThat(actual.bookIds()).hasSize(MANY_MATCHES + 1);
+        assertThat(actual.remainingParameters())
+                .isEqualTo(TestObjectsFactory.createEmptySearchParameters());
+    }
+
+    @Test
+    @DisplayName("Should leave criteria without text to the database")
+    void findIndexMatch_NoTextParameters_ShouldReturnEmpty() {
+        BookSearchParametersDto parametersDto = new BookSearchParametersDto(null, null, null,
+                10, 20, null, null, null, null, null);
+
+        assertThat(bookSearchSpecifications.findIndexMatch(parametersDto)).isEmpty();
+    }
+}
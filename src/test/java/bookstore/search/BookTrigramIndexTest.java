@@ -0,0 +1,53 @@
+package bookstore.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import bookstore.TestObjectsFactory;
+import bookstore.model.Book;
+import bookstore.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookTrigramIndexTest {
+    private BookTrigramIndex bookTrigramIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookTrigramIndex = new BookTrigramIndex(mock(BookRepository.class), true, 100, 1000, 0.5);
+        bookTrigramIndex.add(TestObjectsFactory.create1984Book());
+        bookTrigramIndex.add(TestObjectsFactory.createToKillMockingbirdBook());
+        bookTrigramIndex.add(TestObjectsFactory.createABriefHistoryOfTimeBook());
+    }
+
+    @Test
+    @DisplayName("Should find titles and authors despite typos")
+    void search_MisspelledText_ShouldReturnMatchingBook() {
+        assertThat(bookTrigramIndex.search("mockingbrid", null)).containsExactly(2L);
+        assertThat(bookTrigramIndex.search("brief histry", null)).containsExactly(3L);
+        assertThat(bookTrigramIndex.search(null, "hawkins")).containsExactly(3L);
+        assertThat(bookTrigramIndex.search("quantum", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank closer matches first and intersect title and author")
+    void search_SimilarTitles_ShouldRankBySimilarity() {
+        Book book = new Book(4L);
+        book.setTitle("Mockingbird Songs");
+        book.setAuthor("Jane Doe");
+        bookTrigramIndex.add(book);
+
+        assertThat(bookTrigramIndex.search("to kill a mockingbird", null))
+                .containsExactly(2L, 4L);
+        assertThat(bookTrigramIndex.search("mockingbird", "jane")).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should not return a removed book")
+    void remove_IndexedBook_ShouldNotBeFound() {
+        bookTrigramIndex.remove(2L);
+
+        assertThat(bookTrigramIndex.search("mockingbird", null)).isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package bookstore.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import bookstore.benchmark.Benchmark;
+import bookstore.benchmark.BenchmarkReport;
+import bookstore.benchmark.BenchmarkReport.Latencies;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+@Benchmark
+class SuggestTrieBenchmarkTest {
+    private static final int TITLES = 1_000_000;
+    private static final int LOOKUPS = 100_000;
+    private static final int LIMIT = 10;
+    private static final String[] WORDS = {"the", "history", "of", "time", "harry", "potter",
+            "war", "and", "peace", "great", "gatsby", "brave", "new", "world", "kill", "a",
+            "mockingbird", "pride", "prejudice", "lord", "rings", "dune", "road", "catcher",
+            "rye", "secret", "garden", "little", "women", "old", "man", "sea", "animal", "farm"};
+
+    @Test
+    @DisplayName("Should complete prefixes of one million titles in under a millisecond")
+    void complete_OneMillionTitles_ShouldStayUnderOneMillisecond(TestReporter reporter) {
+        Random random = new Random(42);
+        String[] titles = new String[TITLES];
+        for (int i = 0; i < TITLES; i++) {
+            titles[i] = title(random, i);
+        }
+        final long heapBefore = BenchmarkReport.usedHeap();
+        SuggestTrie trie = new SuggestTrie();
+        for (String title : titles) {
+            trie.add(BookSuggestIndex.normalize(title), title, random.nextInt(1_000));
+        }
+        long heapAfter = BenchmarkReport.usedHeap();
+
+        Latencies latencies = BenchmarkReport.sample(LOOKUPS, i -> {
+            String key = BookSuggestIndex.normalize(titles[random.nextInt(TITLES)]);
+            String prefix = key.substring(0, 1 + random.nextInt(Math.min(6, key.length())));
+            return () -> trie.complete(prefix, LIMIT);
+        });
+        long p99 = latencies.percentile(99);
+
+        new BenchmarkReport(reporter)
+                .add("titles", TITLES)
+                .add("keys", trie.size())
+                .add("nodes", trie.nodeCount())
+                .add("heapMegabytes", (heapAfter - heapBefore) >> 20)
+                .addMicros("p50", latencies.percentile(50))
+                .addMicros("p99", p99)
+                .publish();
+        assertThat(p99).isLessThan(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private String title(Random random, int number) {
+        StringBuilder title = new StringBuilder();
+        int words = 2 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length())
+                    .append(' ');
+        }
+        return title.append(number).toString();
+    }
+}
@@ -0,0 +1,55 @@
+package bookstore.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SuggestTrieTest {
+    private SuggestTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestTrie();
+        trie.add("harry potter", "Harry Potter", 5);
+        trie.add("harry potter and the goblet of fire", "Harry Potter and the Goblet of Fire", 9);
+        trie.add("hamlet", "Hamlet", 7);
+        trie.add("dune", "Dune", 100);
+    }
+
+    @Test
+    @DisplayName("Should return completions of a prefix ordered by weight")
+    void complete_Prefix_ShouldReturnHeaviestFirst() {
+        assertThat(trie.complete("ha", 10)).containsExactly(
+                "Harry Potter and the Goblet of Fire", "Hamlet", "Harry Potter");
+        assertThat(trie.complete("harry p", 2)).containsExactly(
+                "Harry Potter and the Goblet of Fire", "Harry Potter");
+        assertThat(trie.complete("harx", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reorder completions when weights change")
+    void addWeight_ExistingKey_ShouldReorderCompletions() {
+        trie.addWeight("harry potter", 10);
+
+        assertThat(trie.complete("h", 1)).containsExactly("Harry Potter");
+    }
+
+    @Test
+    @DisplayName("Should drop a key and compact the trie once its last reference is removed")
+    void remove_LastReference_ShouldDropKey() {
+        trie.add("hamlet", "Hamlet", 1);
+        final int nodeCount = trie.nodeCount();
+
+        trie.remove("hamlet", 7);
+        assertThat(trie.complete("ham", 10)).containsExactly("Hamlet");
+
+        trie.remove("hamlet", 1);
+        trie.remove("harry potter and the goblet of fire", 9);
+
+        assertThat(trie.complete("ha", 10)).containsExactly("Harry Potter");
+        assertThat(trie.size()).isEqualTo(2);
+        assertThat(trie.nodeCount()).isLessThan(nodeCount);
+    }
+}
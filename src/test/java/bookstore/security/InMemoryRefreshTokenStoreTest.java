@@ -0,0 +1,79 @@
+package bookstore.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRefreshTokenStoreTest {
+    private static final String EMAIL = "user@gmail.com";
+    private static final String REFRESH_TOKEN = "refreshToken";
+    private static final String NEW_REFRESH_TOKEN = "newRefreshToken";
+    private static final int THREADS = 16;
+
+    private InMemoryRefreshTokenStore refreshTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenStore = new InMemoryRefreshTokenStore(30);
+    }
+
+    @Test
+    @DisplayName("Should match only the most recently saved refresh token")
+    void matches_SavedToken_ShouldMatch() {
+        refreshTokenStore.save(EMAIL, REFRESH_TOKEN);
+
+        assertThat(refreshTokenStore.matches(EMAIL, REFRESH_TOKEN)).isTrue();
+        assertThat(refreshTokenStore.matches(EMAIL, NEW_REFRESH_TOKEN)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rotate the token only when the current token matches")
+    void replace_CurrentTokenMatches_ShouldRotateToken() {
+        refreshTokenStore.save(EMAIL, REFRESH_TOKEN);
+
+        assertThat(refreshTokenStore.replace(EMAIL, NEW_REFRESH_TOKEN, "otherToken")).isFalse();
+        assertThat(refreshTokenStore.replace(EMAIL, REFRESH_TOKEN, NEW_REFRESH_TOKEN)).isTrue();
+        assertThat(refreshTokenStore.matches(EMAIL, REFRESH_TOKEN)).isFalse();
+        assertThat(refreshTokenStore.matches(EMAIL, NEW_REFRESH_TOKEN)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should allow exactly one concurrent rotation of the same refresh token")
+    void replace_ConcurrentRotations_ShouldSucceedOnce() throws Exception {
+        refreshTokenStore.save(EMAIL, REFRESH_TOKEN);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Boolean>> rotations = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String newToken = NEW_REFRESH_TOKEN + i;
+            rotations.add(() -> refreshTokenStore.replace(EMAIL, REFRESH_TOKEN, newToken));
+        }
+
+        long succeeded = 0;
+        for (Future<Boolean> result : executor.invokeAll(rotations)) {
+            if (result.get()) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget a removed refresh token")
+    void remove_SavedToken_ShouldNotMatch() {
+        refreshTokenStore.save(EMAIL, REFRESH_TOKEN);
+
+        refreshTokenStore.remove(EMAIL);
+
+        assertThat(refreshTokenStore.matches(EMAIL, REFRESH_TOKEN)).isFalse();
+    }
+}
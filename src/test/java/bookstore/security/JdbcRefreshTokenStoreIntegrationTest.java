@@ -0,0 +1,157 @@
+package bookstore.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "classpath:database/clear-db.sql", executionPhase = BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/clear-db.sql", executionPhase = AFTER_TEST_METHOD)
+class JdbcRefreshTokenStoreIntegrationTest {
+    private static final String LOCK_SQL =
+            "SELECT email FROM refresh_tokens WHERE email = ? FOR UPDATE";
+    private static final String BLOCKER_EMAIL = "blocker@gmail.com";
+    private static final String ROTATED_EMAIL = "rotated@gmail.com";
+    private static final String RELOGGED_EMAIL = "relogged@gmail.com";
+    private static final long EXPIRATION_IN_DAYS = 30;
+    private static final long NEAR_CACHE_TTL_IN_SECONDS = 30;
+    private static final int BATCH_SIZE = 100;
+    private static final long FLUSH_TIMEOUT_IN_MILLIS = 10_000;
+    private static final long ENQUEUE_PAUSE_IN_MILLIS = 200;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private JdbcRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = createStore();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should apply rotations, a logout and a new login queued in one batch in order")
+    void flush_RotateRemoveAndLoginInOneBatch_ShouldApplyInArrivalOrder() throws Exception {
+        store.save(BLOCKER_EMAIL, "blocker-token");
+        store.save(ROTATED_EMAIL, "old-token");
+        store.save(RELOGGED_EMAIL, "stale-token");
+        ExecutorService clients = Executors.newFixedThreadPool(5);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList(LOCK_SQL, String.class, BLOCKER_EMAIL);
+            results.add(submitInOrder(clients, () -> save(BLOCKER_EMAIL, "blocker-token-2")));
+            results.add(submitInOrder(clients, () ->
+                    store.replace(ROTATED_EMAIL, "old-token", "new-token")));
+            results.add(submitInOrder(clients, () ->
+                    store.replace(ROTATED_EMAIL, "old-token", "competing-token")));
+            results.add(submitInOrder(clients, () -> remove(RELOGGED_EMAIL)));
+            results.add(submitInOrder(clients, () -> save(RELOGGED_EMAIL, "fresh-token")));
+        });
+        List<Boolean> applied = new ArrayList<>();
+        for (Future<Boolean> result : results) {
+            applied.add(result.get());
+        }
+        clients.shutdown();
+
+        assertThat(applied).containsExactly(true, true, false, true, true);
+        assertThat(store.matches(ROTATED_EMAIL, "new-token")).isTrue();
+        assertThat(store.matches(ROTATED_EMAIL, "old-token")).isFalse();
+        assertThat(store.matches(ROTATED_EMAIL, "competing-token")).isFalse();
+        assertThat(store.matches(RELOGGED_EMAIL, "fresh-token")).isTrue();
+        assertThat(store.matches(RELOGGED_EMAIL, "stale-token")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop accepting a token once another node has rotated or removed it")
+    void matches_TokenRotatedOnAnotherNode_ShouldReturnFalse() throws InterruptedException {
+        JdbcRefreshTokenStore otherNode = createStore();
+        try {
+            store.save(ROTATED_EMAIL, "old-token");
+            store.save(RELOGGED_EMAIL, "token");
+            assertThat(otherNode.matches(ROTATED_EMAIL, "old-token")).isTrue();
+            assertThat(otherNode.matches(RELOGGED_EMAIL, "token")).isTrue();
+
+            assertThat(store.replace(ROTATED_EMAIL, "old-token", "new-token")).isTrue();
+            store.remove(RELOGGED_EMAIL);
+
+            assertThat(otherNode.matches(ROTATED_EMAIL, "old-token")).isFalse();
+            assertThat(otherNode.matches(ROTATED_EMAIL, "new-token")).isTrue();
+            assertThat(otherNode.matches(RELOGGED_EMAIL, "token")).isFalse();
+        } finally {
+            otherNode.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep accepting a rotated token that equals the current one")
+    void replace_SameToken_ShouldNotRetireIssuedToken() {
+        store.save(ROTATED_EMAIL, "token");
+
+        assertThat(store.replace(ROTATED_EMAIL, "token", "token")).isTrue();
+
+        assertThat(store.matches(ROTATED_EMAIL, "token")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail writes instead of leaving them pending after shutdown")
+    void save_AfterShutdown_ShouldThrowTransientDataAccessResourceException()
+            throws InterruptedException {
+        store.shutdown();
+
+        assertThrows(TransientDataAccessResourceException.class,
+                () -> store.save(ROTATED_EMAIL, "token"));
+    }
+
+    private JdbcRefreshTokenStore createStore() {
+        return new JdbcRefreshTokenStore(jdbcTemplate, EXPIRATION_IN_DAYS,
+                NEAR_CACHE_TTL_IN_SECONDS, BATCH_SIZE, FLUSH_TIMEOUT_IN_MILLIS);
+    }
+
+    private boolean save(String email, String refreshToken) {
+        store.save(email, refreshToken);
+        return true;
+    }
+
+    private boolean remove(String email) {
+        store.remove(email);
+        return true;
+    }
+
+    private Future<Boolean> submitInOrder(ExecutorService clients, Callable<Boolean> write) {
+        Future<Boolean> result = clients.submit(write);
+        try {
+            TimeUnit.MILLISECONDS.sleep(ENQUEUE_PAUSE_IN_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package bookstore.security;
+
+import bookstore.benchmark.Benchmark;
+import bookstore.benchmark.BenchmarkReport;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+@Benchmark
+class JwtClaimsCacheBenchmarkTest {
+    private static final int TOKENS = 50_000;
+    private static final int CACHE_SIZE = 10_000;
+    private static final int THREADS = 8;
+    private static final int VERIFICATIONS_PER_THREAD = 200_000;
+    private static final String ACCESS_SECRET =
+            "benchmark-access-secret-benchmark-access-secret-benchmark";
+    private static final String REFRESH_SECRET =
+            "benchmark-refresh-secret-benchmark-refresh-secret-benchmark";
+
+    @Test
+    @DisplayName("Should report access token verification time with and without the claims cache")
+    void getAccessClaims_SkewedTokenTraffic_ShouldReportVerificationTime(TestReporter reporter)
+            throws Exception {
+        Random random = new Random(42);
+        List<String> tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(Jwts.builder()
+                    .subject("user" + i + "@gmail.com")
+                    .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                    .claim(JwtService.USER_ID_CLAIM, (long) i)
+                    .signWith(Keys.hmacShaKeyFor(ACCESS_SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .compact());
+        }
+        int[] requests = new int[VERIFICATIONS_PER_THREAD];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = random.nextInt(10) < 9
+                    ? random.nextInt(CACHE_SIZE / 2)
+                    : random.nextInt(TOKENS);
+        }
+
+        long parseOnly = run(tokens, requests,
+                new JwtService(ACCESS_SECRET, REFRESH_SECRET, 0));
+        long cached = run(tokens, requests,
+                new JwtService(ACCESS_SECRET, REFRESH_SECRET, CACHE_SIZE));
+
+        new BenchmarkReport(reporter)
+                .add("verifications", THREADS * VERIFICATIONS_PER_THREAD)
+                .addMillis("parse", parseOnly)
+                .addMillis("cached", cached)
+                .publish();
+    }
+
+    private long run(List<String> tokens, int[] requests, JwtService jwtService)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long elapsed = BenchmarkReport.time(() -> {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < requests.length; i++) {
+                        String token = tokens.get(requests[(i + offset) % requests.length]);
+                        jwtService.getAccessClaims(token);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        });
+        executor.shutdown();
+        return elapsed;
+    }
+}
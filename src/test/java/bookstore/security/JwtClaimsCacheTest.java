@@ -0,0 +1,89 @@
+package bookstore.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JwtClaimsCacheTest {
+    private static final long NOW = 1_000_000L;
+    private static final long TTL = 60_000L;
+    private static final String TOKEN = "header.payload.signature";
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private JwtClaimsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtClaimsCache(2, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should return cached claims for the same token until it expires")
+    void get_TokenNotExpired_ShouldReturnCachedClaims() {
+        Claims claims = createClaims(NOW + TTL);
+        cache.put(TOKEN, claims);
+
+        assertThat(cache.get(TOKEN)).isSameAs(claims);
+
+        clock.set(NOW + TTL);
+        assertThat(cache.get(TOKEN)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not exceed the configured maximum size")
+    void put_CacheIsFull_ShouldEvictEntries() {
+        cache.put("first", createClaims(NOW + TTL));
+        cache.put("second", createClaims(NOW + TTL));
+        cache.put("third", createClaims(NOW + TTL));
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.get("third")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should free the slot of an expired entry once it is read")
+    void get_ExpiredEntryInFullCache_ShouldMakeRoomForLiveEntries() {
+        cache.put("expiring", createClaims(NOW + 1));
+        cache.put("live", createClaims(NOW + TTL));
+        clock.set(NOW + 1);
+
+        assertThat(cache.get("expiring")).isNull();
+        cache.put("new", createClaims(NOW + TTL));
+
+        assertThat(cache.get("live")).isNotNull();
+        assertThat(cache.get("new")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should keep frequently used tokens when many one-off tokens overflow it")
+    void put_ManyOneOffTokens_ShouldKeepHotToken() {
+        JwtClaimsCache largeCache = new JwtClaimsCache(100, clock::get);
+        largeCache.put(TOKEN, createClaims(NOW + TTL));
+        for (int i = 0; i < 10; i++) {
+            largeCache.get(TOKEN);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            String token = "one-off-" + i;
+            largeCache.get(token);
+            largeCache.put(token, createClaims(NOW + TTL));
+        }
+
+        assertThat(largeCache.size()).isLessThanOrEqualTo(100);
+        assertThat(largeCache.get(TOKEN)).isNotNull();
+    }
+
+    private Claims createClaims(long expiresAt) {
+        return Jwts.claims()
+                .subject("user@gmail.com")
+                .expiration(new Date(expiresAt))
+                .build();
+    }
+}
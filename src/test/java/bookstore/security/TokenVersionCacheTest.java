@@ -0,0 +1,66 @@
+package bookstore.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.repository.UserRepository;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenVersionCacheTest {
+    private static final Long USER_ID = 1L;
+    private static final long NOW = 1_000_000L;
+    private static final long TTL_IN_SECONDS = 5;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private UserRepository userRepository;
+    private TokenVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new TokenVersionCache(userRepository, 10, TTL_IN_SECONDS, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should reject an old token version right after invalidation")
+    void isCurrent_VersionBumpedAndInvalidated_ShouldRejectOldVersion() {
+        when(userRepository.findTokenVersionById(USER_ID))
+                .thenReturn(Optional.of(0), Optional.of(1));
+        assertThat(cache.isCurrent(USER_ID, 0)).isTrue();
+
+        cache.invalidate(USER_ID);
+
+        assertThat(cache.isCurrent(USER_ID, 0)).isFalse();
+        assertThat(cache.isCurrent(USER_ID, 1)).isTrue();
+        verify(userRepository, times(2)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should reload the token version once the cached one is older than the TTL")
+    void isCurrent_CachedVersionExpired_ShouldReloadVersion() {
+        when(userRepository.findTokenVersionById(USER_ID))
+                .thenReturn(Optional.of(0), Optional.of(1));
+        assertThat(cache.isCurrent(USER_ID, 0)).isTrue();
+        assertThat(cache.isCurrent(USER_ID, 0)).isTrue();
+
+        clock.addAndGet(TTL_IN_SECONDS * 1000);
+
+        assertThat(cache.isCurrent(USER_ID, 0)).isFalse();
+        verify(userRepository, times(2)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of deleted users")
+    void isCurrent_UserDeleted_ShouldRejectToken() {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.empty());
+
+        assertThat(cache.isCurrent(USER_ID, 0)).isFalse();
+    }
+}
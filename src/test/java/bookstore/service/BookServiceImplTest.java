@@ -3,6 +3,8 @@ package bookstore.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -12,21 +14,38 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import bookstore.TestObjectsFactory;
+import bookstore.cache.BookSearchCache;
+import bookstore.cache.CountCache;
+import bookstore.cache.TinyLfuCache;
+import bookstore.cache.Versioned;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParametersDto;
 import bookstore.dto.book.CreateBookRequestDto;
 import bookstore.dto.book.UpdateBookRequestDto;
+import bookstore.dto.page.CountMode;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.exception.EntityAlreadyExistsException;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidCursorException;
+import bookstore.inventory.BookStockReservations;
 import bookstore.mapper.BookMapper;
 import bookstore.model.Book;
+import bookstore.ranking.BookSalesRanking;
+import bookstore.recommendation.BookRecommendationIndex;
 import bookstore.repository.BookRepository;
 import bookstore.repository.CategoryRepository;
+import bookstore.repository.book.BookCursor;
 import bookstore.repository.book.BookSpecificationBuilder;
+import bookstore.search.BookSearchIndex;
+import bookstore.search.BookSearchSpecifications;
+import bookstore.search.BookSearchSpecifications.IndexMatch;
+import bookstore.search.BookSuggestIndex;
+import bookstore.search.BookTrigramIndex;
 import bookstore.service.impl.BookServiceImpl;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,9 +55,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,10 +75,12 @@ class BookServiceImplTest {
     private static final Long CATEGORY_ID = 1L;
     private static final PageRequest DEFAULT_PAGE_REQUEST = PageRequest.of(0, 20);
     private static final Long BOOK_ID = 1L;
+    private static final long BOOK_VERSION = 3L;
 
     private BookDto book1984Dto;
     private Book book1984;
-    private Page<Book> twoBooksPage;
+    private Page<BookDtoWithoutCategoryIds> twoBookSummariesPage;
+    private Map<Long, List<Long>> twoBooksCategoryIds;
     private List<BookDto> twoBookDtoList;
 
     @Mock
@@ -67,6 +93,27 @@ class BookServiceImplTest {
     private BookSpecificationBuilder bookSpecificationBuilder;
     @Mock
     private Specification<Book> specification;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private BookSuggestIndex bookSuggestIndex;
+    @Mock
+    private BookTrigramIndex bookTrigramIndex;
+    @Mock
+    private BookSearchSpecifications bookSearchSpecifications;
+    @Mock
+    private BookRecommendationIndex bookRecommendationIndex;
+    @Mock
+    private BookSalesRanking bookSalesRanking;
+    @Mock
+    private BookStockReservations bookStockReservations;
+    @Spy
+    private CountCache countCache = new CountCache(100, 60, 600);
+    @Spy
+    private BookSearchCache bookSearchCache =
+            new BookSearchCache(new TinyLfuCache<>(0), countCache, 60);
+    @Spy
+    private TinyLfuCache<Long, Versioned<BookDto>> bookDetailCache = new TinyLfuCache<>(100);
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -74,7 +121,9 @@ class BookServiceImplTest {
     void setUp() {
         book1984Dto = TestObjectsFactory.create1984BookDto("1984");
         book1984 = TestObjectsFactory.create1984Book();
-        twoBooksPage = TestObjectsFactory.createTwoBooksPage();
+        book1984.setVersion(BOOK_VERSION);
+        twoBookSummariesPage = TestObjectsFactory.createTwoBookSummariesPage();
+        twoBooksCategoryIds = Map.of(1L, List.of(CATEGORY_ID), 2L, List.of(CATEGORY_ID));
         twoBookDtoList = List.of(TestObjectsFactory.create1984BookDto("1984"),
                 TestObjectsFactory.createToKillMockingbirdBookDto());
     }
@@ -176,20 +225,50 @@ class BookServiceImplTest {
             when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.of(book1984));
             when(bookMapper.toDto(book1984)).thenReturn(book1984Dto);
 
-            BookDto actual = bookService.findById(BOOK_ID);
+            BookDto actual = bookService.findById(BOOK_ID, BOOK_VERSION);
 
             assertThat(actual).isEqualTo(book1984Dto);
             verify(bookRepository).findById(BOOK_ID);
             verify(bookMapper).toDto(book1984);
         }
 
+        @Test
+        @DisplayName("Should load a book once and serve repeated reads from the cache")
+        void findById_RepeatedReads_ShouldLoadBookOnce() {
+            when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.of(book1984));
+            when(bookMapper.toDto(book1984)).thenReturn(book1984Dto);
+
+            bookService.findById(BOOK_ID, BOOK_VERSION);
+            BookDto actual = bookService.findById(BOOK_ID, BOOK_VERSION);
+
+            assertThat(actual).isEqualTo(book1984Dto);
+            verify(bookRepository).findById(BOOK_ID);
+            verify(bookMapper).toDto(book1984);
+        }
+
+        @Test
+        @DisplayName("Should reload a cached book older than the requested version")
+        void findById_CachedOlderVersion_ShouldReloadBook() {
+            bookDetailCache.put(BOOK_ID, new Versioned<>(book1984Dto, BOOK_VERSION - 1));
+            BookDto updatedDto = TestObjectsFactory.create1984BookDto("newTitle");
+            when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.of(book1984));
+            when(bookMapper.toDto(book1984)).thenReturn(updatedDto);
+
+            BookDto actual = bookService.findById(BOOK_ID, BOOK_VERSION);
+
+            assertThat(actual).isEqualTo(updatedDto);
+            assertThat(bookDetailCache.getIfPresent(BOOK_ID))
+                    .isEqualTo(new Versioned<>(updatedDto, BOOK_VERSION));
+            verify(bookRepository).findById(BOOK_ID);
+        }
+
         @Test
         @DisplayName("Should throw EntityNotFoundException when book ID does not exist")
         void findById_InvalidBookId_ShouldThrowEntityNotFoundException() {
             when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.empty());
 
             EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
-                    () -> bookService.findById(BOOK_ID));
+                    () -> bookService.findById(BOOK_ID, BOOK_VERSION));
 
             assertThat(ex.getMessage()).isEqualTo(
                     MessageFormat.format(BOOK_NOT_FOUND_MESSAGE, BOOK_ID));
@@ -202,27 +281,99 @@ class BookServiceImplTest {
         @Test
         @DisplayName("Should return two BookDto when books are found")
         void findAll_ShouldReturnTwoBooks() {
-            when(bookRepository.findAll(DEFAULT_PAGE_REQUEST)).thenReturn(twoBooksPage);
-            when(bookMapper.toDto(any(Book.class))).thenReturn(twoBookDtoList.get(0),
-                    twoBookDtoList.get(1));
+            when(bookRepository.findSummaries(null, DEFAULT_PAGE_REQUEST))
+                    .thenReturn(twoBookSummariesPage);
+            when(bookRepository.findCategoryIdsByBookIds(List.of(1L, 2L)))
+                    .thenReturn(twoBooksCategoryIds);
+            when(bookMapper.toDto(any(BookDtoWithoutCategoryIds.class), anyList()))
+                    .thenReturn(twoBookDtoList.get(0), twoBookDtoList.get(1));
 
-            Page<BookDto> actual = bookService.findAll(DEFAULT_PAGE_REQUEST);
+            Slice<BookDto> actual = bookService.findAll(DEFAULT_PAGE_REQUEST, CountMode.EXACT);
 
             assertThat(actual.getContent()).containsExactlyElementsOf(twoBookDtoList);
             assertThat(actual).hasSize(EXPECTED_BOOKS_COUNT);
-            verify(bookRepository).findAll(DEFAULT_PAGE_REQUEST);
-            verify(bookMapper, times(EXPECTED_BOOKS_COUNT)).toDto(any(Book.class));
+            verify(bookRepository).findSummaries(null, DEFAULT_PAGE_REQUEST);
+            verify(bookRepository).findCategoryIdsByBookIds(List.of(1L, 2L));
+            verify(bookMapper).toDto(twoBookSummariesPage.getContent().get(0),
+                    List.of(CATEGORY_ID));
+            verify(bookMapper).toDto(twoBookSummariesPage.getContent().get(1),
+                    List.of(CATEGORY_ID));
         }
 
         @Test
         @DisplayName("Should return empty page when no books are found")
         void findAll_NoBooksFound_ShouldReturnEmptyPage() {
-            when(bookRepository.findAll(DEFAULT_PAGE_REQUEST)).thenReturn(Page.empty());
+            when(bookRepository.findSummaries(null, DEFAULT_PAGE_REQUEST))
+                    .thenReturn(Page.empty());
 
-            Page<BookDto> actual = bookService.findAll(DEFAULT_PAGE_REQUEST);
+            Slice<BookDto> actual = bookService.findAll(DEFAULT_PAGE_REQUEST, CountMode.EXACT);
 
             assertThat(actual).isEmpty();
-            verify(bookRepository).findAll(DEFAULT_PAGE_REQUEST);
+            verify(bookRepository).findSummaries(null, DEFAULT_PAGE_REQUEST);
+            verify(bookRepository).findCategoryIdsByBookIds(List.of());
+        }
+
+        @Test
+        @DisplayName("Should return the first cursor page and a cursor to the next one")
+        void findAllByCursor_EmptyCursor_ShouldReturnFirstPageWithNextCursor() {
+            PageRequest firstPageRequest = PageRequest.of(0, EXPECTED_BOOKS_COUNT, Sort.by("id"));
+            when(bookRepository.findSummaries(null, firstPageRequest)).thenReturn(
+                    new SliceImpl<>(twoBookSummariesPage.getContent(), firstPageRequest, true));
+            when(bookRepository.findCategoryIdsByBookIds(List.of(1L, 2L)))
+                    .thenReturn(twoBooksCategoryIds);
+            when(bookMapper.toDto(any(BookDtoWithoutCategoryIds.class), anyList()))
+                    .thenReturn(twoBookDtoList.get(0), twoBookDtoList.get(1));
+
+            CursorPageDto<BookDto> actual =
+                    bookService.findAll("", PageRequest.of(0, EXPECTED_BOOKS_COUNT));
+
+            assertThat(actual.content()).containsExactlyElementsOf(twoBookDtoList);
+            assertThat(actual.last()).isFalse();
+            assertThat(actual.nextCursor()).isEqualTo(BookCursor.after(BookCursor.SortKey.ID,
+                    twoBookSummariesPage.getContent().get(1)).encode());
+            verify(bookRepository).findSummaries(null, firstPageRequest);
+            verify(bookRepository).findCategoryIdsByBookIds(List.of(1L, 2L));
+            verify(bookMapper, times(EXPECTED_BOOKS_COUNT))
+                    .toDto(any(BookDtoWithoutCategoryIds.class), anyList());
+        }
+
+        @Test
+        @DisplayName("Should seek past the cursor and mark the last page")
+        void findAllByCursor_ValidCursor_ShouldReturnLastPage() {
+            PageRequest nextPageRequest = PageRequest.of(0, EXPECTED_BOOKS_COUNT, Sort.by("id"));
+            BookDtoWithoutCategoryIds lastBook = twoBookSummariesPage.getContent().get(1);
+            String cursor = BookCursor.after(BookCursor.SortKey.ID,
+                    twoBookSummariesPage.getContent().get(0)).encode();
+            when(bookRepository.findSummaries(any(), eq(nextPageRequest)))
+                    .thenReturn(new SliceImpl<>(List.of(lastBook), nextPageRequest, false));
+            when(bookRepository.findCategoryIdsByBookIds(List.of(2L)))
+                    .thenReturn(twoBooksCategoryIds);
+            when(bookMapper.toDto(lastBook, List.of(CATEGORY_ID)))
+                    .thenReturn(twoBookDtoList.get(1));
+
+            CursorPageDto<BookDto> actual =
+                    bookService.findAll(cursor, PageRequest.of(0, EXPECTED_BOOKS_COUNT));
+
+            assertThat(actual.content()).containsExactly(twoBookDtoList.get(1));
+            assertThat(actual.last()).isTrue();
+            assertThat(actual.nextCursor()).isNull();
+            verify(bookRepository).findSummaries(any(), eq(nextPageRequest));
+            verify(bookRepository).findCategoryIdsByBookIds(List.of(2L));
+            verify(bookMapper).toDto(lastBook, List.of(CATEGORY_ID));
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidCursorException when the cursor cannot be decoded")
+        void findAllByCursor_MalformedCursor_ShouldThrowInvalidCursorException() {
+            assertThrows(InvalidCursorException.class,
+                    () -> bookService.findAll("not a cursor", DEFAULT_PAGE_REQUEST));
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidCursorException when sorting by an unsupported field")
+        void findAllByCursor_UnsupportedSort_ShouldThrowInvalidCursorException() {
+            assertThrows(InvalidCursorException.class, () -> bookService.findAll("",
+                    PageRequest.of(0, EXPECTED_BOOKS_COUNT, Sort.by("author"))));
         }
     }
 
@@ -322,17 +473,22 @@ class BookServiceImplTest {
         void search_EmptyParameters_ShouldReturnResultFromFindAll() {
             BookSearchParametersDto emptyParametersDto =
                     TestObjectsFactory.createEmptySearchParameters();
-            when(bookRepository.findAll(DEFAULT_PAGE_REQUEST)).thenReturn(twoBooksPage);
-            when(bookMapper.toDto(any(Book.class))).thenReturn(twoBookDtoList.get(0),
-                    twoBookDtoList.get(1));
+            when(bookRepository.findSummaries(null, DEFAULT_PAGE_REQUEST))
+                    .thenReturn(twoBookSummariesPage);
+            when(bookRepository.findCategoryIdsByBookIds(List.of(1L, 2L)))
+                    .thenReturn(twoBooksCategoryIds);
+            when(bookMapper.toDto(any(BookDtoWithoutCategoryIds.class), anyList()))
+                    .thenReturn(twoBookDtoList.get(0), twoBookDtoList.get(1));
 
-            Page<BookDto> actual =
-                    bookService.search(emptyParametersDto, DEFAULT_PAGE_REQUEST);
+            Slice<BookDto> actual = bookService.search(emptyParametersDto, DEFAULT_PAGE_REQUEST,
+                    CountMode.EXACT);
 
             assertThat(actual.getContent()).hasSize(EXPECTED_BOOKS_COUNT);
             assertThat(actual.getContent()).containsExactlyElementsOf(twoBookDtoList);
-            verify(bookRepository).findAll(DEFAULT_PAGE_REQUEST);
-            verify(bookMapper, times(EXPECTED_BOOKS_COUNT)).toDto(any(Book.class));
+            verify(bookRepository).findSummaries(null, DEFAULT_PAGE_REQUEST);
+            verify(bookRepository).findCategoryIdsByBookIds(List.of(1L, 2L));
+            verify(bookMapper, times(EXPECTED_BOOKS_COUNT))
+                    .toDto(any(BookDtoWithoutCategoryIds.class), anyList());
         }
 
         @Test
@@ -340,20 +496,86 @@ class BookServiceImplTest {
         void search_ValidParameters_ShouldReturnPageWithOneBook() {
             BookSearchParametersDto searchParametersDto =
                     TestObjectsFactory.createSearchParameters("1984");
-            Page<Book> bookPage = TestObjectsFactory.createOneBookPage();
+            BookDtoWithoutCategoryIds bookSummary =
+                    TestObjectsFactory.create1984BookDtoWithoutCategory();
             when(bookMapper.formatParametersDto(searchParametersDto)).thenReturn(
                     searchParametersDto);
             when(bookSpecificationBuilder.build(searchParametersDto)).thenReturn(specification);
-            when(bookRepository.findAll(specification, DEFAULT_PAGE_REQUEST)).thenReturn(bookPage);
-            when(bookMapper.toDto(bookPage.getContent().getFirst())).thenReturn(book1984Dto);
+            when(bookRepository.findSummaries(specification, DEFAULT_PAGE_REQUEST))
+                    .thenReturn(new PageImpl<>(List.of(bookSummary)));
+            when(bookRepository.findCategoryIdsByBookIds(List.of(BOOK_ID)))
+                    .thenReturn(Map.of(BOOK_ID, List.of(CATEGORY_ID)));
+            when(bookMapper.toDto(bookSummary, List.of(CATEGORY_ID))).thenReturn(book1984Dto);
 
-            Page<BookDto> actual = bookService.search(searchParametersDto, DEFAULT_PAGE_REQUEST);
+            Slice<BookDto> actual = bookService.search(searchParametersDto, DEFAULT_PAGE_REQUEST,
+                    CountMode.EXACT);
 
             assertThat(actual.getContent()).containsExactly(book1984Dto);
             verify(bookMapper).formatParametersDto(searchParametersDto);
             verify(bookSpecificationBuilder).build(searchParametersDto);
-            verify(bookRepository).findAll(specification, DEFAULT_PAGE_REQUEST);
-            verify(bookMapper).toDto(bookPage.getContent().getFirst());
+            verify(bookRepository).findSummaries(specification, DEFAULT_PAGE_REQUEST);
+            verify(bookRepository).findCategoryIdsByBookIds(List.of(BOOK_ID));
+            verify(bookMapper).toDto(bookSummary, List.of(CATEGORY_ID));
+        }
+
+        @Test
+        @DisplayName("Should resolve IDs from the search index and fetch books by primary key")
+        void search_IndexReady_ShouldFetchBooksByIndexedIds() {
+            BookSearchParametersDto searchParametersDto =
+                    TestObjectsFactory.createSearchParameters("1984");
+            when(bookMapper.formatParametersDto(searchParametersDto)).thenReturn(
+                    searchParametersDto);
+            when(bookSearchSpecifications.findIndexMatch(searchParametersDto)).thenReturn(
+                    Optional.of(new IndexMatch(TestObjectsFactory.createEmptySearchParameters(),
+                            List.of(BOOK_ID))));
+            BookDtoWithoutCategoryIds bookSummary =
+                    TestObjectsFactory.create1984BookDtoWithoutCategory();
+            when(bookRepository.findSummaries(any(), any()))
+                    .thenReturn(new PageImpl<>(List.of(bookSummary)));
+            when(bookRepository.findCategoryIdsByBookIds(List.of(BOOK_ID)))
+                    .thenReturn(Map.of(BOOK_ID, List.of(CATEGORY_ID)));
+            when(bookMapper.toDto(bookSummary, List.of(CATEGORY_ID))).thenReturn(book1984Dto);
+
+            Slice<BookDto> actual = bookService.search(searchParametersDto, DEFAULT_PAGE_REQUEST,
+                    CountMode.EXACT);
+
+            assertThat(actual.getContent()).containsExactly(book1984Dto);
+            assertThat(actual.getTotalElements()).isEqualTo(1);
+            verify(bookMapper).formatParametersDto(searchParametersDto);
+            verify(bookRepository).findSummaries(any(), any());
+            verify(bookRepository).findCategoryIdsByBookIds(List.of(BOOK_ID));
+            verify(bookMapper).toDto(bookSummary, List.of(CATEGORY_ID));
+            verify(bookSpecificationBuilder, never()).build(any());
+        }
+
+        @Test
+        @DisplayName("Should return a slice without a total for indexed IDs when not counting")
+        void search_IndexReadyWithoutCount_ShouldReturnSliceWithoutTotal() {
+            BookSearchParametersDto searchParametersDto =
+                    TestObjectsFactory.createSearchParameters("1984");
+            when(bookMapper.formatParametersDto(searchParametersDto)).thenReturn(
+                    searchParametersDto);
+            when(bookSearchSpecifications.findIndexMatch(searchParametersDto)).thenReturn(
+                    Optional.of(new IndexMatch(TestObjectsFactory.createEmptySearchParameters(),
+                            List.of(BOOK_ID, 2L))));
+            BookDtoWithoutCategoryIds bookSummary =
+                    TestObjectsFactory.create1984BookDtoWithoutCategory();
+            when(bookRepository.findSummaries(any(), any()))
+                    .thenReturn(new PageImpl<>(List.of(bookSummary)));
+            when(bookRepository.findCategoryIdsByBookIds(List.of(BOOK_ID)))
+                    .thenReturn(Map.of(BOOK_ID, List.of(CATEGORY_ID)));
+            when(bookMapper.toDto(bookSummary, List.of(CATEGORY_ID))).thenReturn(book1984Dto);
+
+            Slice<BookDto> actual = bookService.search(searchParametersDto,
+                    PageRequest.of(0, 1), CountMode.NONE);
+
+            assertThat(actual).isNotInstanceOf(Page.class);
+            assertThat(actual.getContent()).containsExactly(book1984Dto);
+            assertThat(actual.hasNext()).isTrue();
+            verify(bookMapper).formatParametersDto(searchParametersDto);
+            verify(bookRepository).findSummaries(any(), any());
+            verify(bookRepository).findCategoryIdsByBookIds(List.of(BOOK_ID));
+            verify(bookMapper).toDto(bookSummary, List.of(CATEGORY_ID));
         }
     }
 
@@ -362,24 +584,22 @@ class BookServiceImplTest {
         @Test
         @DisplayName("Should return page with two BookDto for valid category ID")
         void findByCategoryId_ValidCategoryId_ShouldReturnMappedPage() {
-            List<BookDtoWithoutCategoryIds> dtoList = List.of(
-                    TestObjectsFactory.create1984BookDtoWithoutCategory(),
-                    TestObjectsFactory.createToKillMockingbirdDtoWithoutCategory());
+            List<BookDtoWithoutCategoryIds> dtoList = twoBookSummariesPage.getContent();
 
             when(categoryRepository.existsById(CATEGORY_ID)).thenReturn(true);
-            when(bookRepository.findAllByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST)).thenReturn(
-                    twoBooksPage);
-            when(bookMapper.toDtoWithoutCategories(any(Book.class)))
-                    .thenReturn(dtoList.get(0), dtoList.get(1));
+            when(bookSpecificationBuilder.buildCategorySpecification(CATEGORY_ID))
+                    .thenReturn(specification);
+            when(bookRepository.findSummaries(specification, DEFAULT_PAGE_REQUEST))
+                    .thenReturn(twoBookSummariesPage);
 
-            Page<BookDtoWithoutCategoryIds> actual =
-                    bookService.findByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST);
+            Slice<BookDtoWithoutCategoryIds> actual = bookService.findByCategoryId(CATEGORY_ID,
+                    DEFAULT_PAGE_REQUEST, CountMode.EXACT);
 
             assertThat(actual).hasSize(EXPECTED_BOOKS_COUNT);
             assertThat(actual.getContent()).containsExactlyElementsOf(dtoList);
             verify(categoryRepository).existsById(CATEGORY_ID);
-            verify(bookRepository).findAllByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST);
-            verify(bookMapper, times(EXPECTED_BOOKS_COUNT)).toDtoWithoutCategories(any(Book.class));
+            verify(bookSpecificationBuilder).buildCategorySpecification(CATEGORY_ID);
+            verify(bookRepository).findSummaries(specification, DEFAULT_PAGE_REQUEST);
         }
 
         @Test
@@ -388,7 +608,8 @@ class BookServiceImplTest {
             when(categoryRepository.existsById(CATEGORY_ID)).thenReturn(false);
 
             EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
-                    () -> bookService.findByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST));
+                    () -> bookService.findByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST,
+                            CountMode.EXACT));
 
             assertThat(ex.getMessage()).isEqualTo(
                     MessageFormat.format(CATEGORY_NOT_FOUND_MESSAGE, CATEGORY_ID));
@@ -399,16 +620,41 @@ class BookServiceImplTest {
         @DisplayName("Should return empty page when no books are found")
         void findByCategoryId_NoBooksFound_ShouldReturnEmptyPage() {
             when(categoryRepository.existsById(CATEGORY_ID)).thenReturn(true);
-            when(bookRepository.findAllByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST))
+            when(bookSpecificationBuilder.buildCategorySpecification(CATEGORY_ID))
+                    .thenReturn(specification);
+            when(bookRepository.findSummaries(specification, DEFAULT_PAGE_REQUEST))
                     .thenReturn(Page.empty());
 
-            Page<BookDtoWithoutCategoryIds> actual =
-                    bookService.findByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST);
+            Slice<BookDtoWithoutCategoryIds> actual = bookService.findByCategoryId(CATEGORY_ID,
+                    DEFAULT_PAGE_REQUEST, CountMode.EXACT);
 
             assertThat(actual).isEmpty();
             verify(categoryRepository).existsById(CATEGORY_ID);
-            verify(bookRepository).findAllByCategoryId(CATEGORY_ID, DEFAULT_PAGE_REQUEST);
-            verify(bookMapper, never()).toDtoWithoutCategories(any(Book.class));
+            verify(bookSpecificationBuilder).buildCategorySpecification(CATEGORY_ID);
+            verify(bookRepository).findSummaries(specification, DEFAULT_PAGE_REQUEST);
+        }
+
+        @Test
+        @DisplayName("Should return the first cursor page of a category and a next cursor")
+        void findByCategoryIdByCursor_MoreBooksLeft_ShouldReturnNextCursor() {
+            PageRequest firstPageRequest = PageRequest.of(0, EXPECTED_BOOKS_COUNT, Sort.by("id"));
+            when(categoryRepository.existsById(CATEGORY_ID)).thenReturn(true);
+            when(bookSpecificationBuilder.buildCategorySpecification(CATEGORY_ID))
+                    .thenReturn(specification);
+            when(bookRepository.findSummaries(specification, firstPageRequest)).thenReturn(
+                    new SliceImpl<>(twoBookSummariesPage.getContent(), firstPageRequest, true));
+
+            CursorPageDto<BookDtoWithoutCategoryIds> actual = bookService.findByCategoryId(
+                    CATEGORY_ID, "", PageRequest.of(0, EXPECTED_BOOKS_COUNT));
+
+            assertThat(actual.content()).containsExactlyElementsOf(
+                    twoBookSummariesPage.getContent());
+            assertThat(actual.last()).isFalse();
+            assertThat(BookCursor.parse(actual.nextCursor(), Sort.unsorted()).id())
+                    .isEqualTo(2L);
+            verify(categoryRepository).existsById(CATEGORY_ID);
+            verify(bookSpecificationBuilder).buildCategorySpecification(CATEGORY_ID);
+            verify(bookRepository).findSummaries(specification, firstPageRequest);
         }
     }
 }
@@ -13,13 +13,19 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import bookstore.TestObjectsFactory;
+import bookstore.cache.CountCache;
+import bookstore.cache.TinyLfuCache;
+import bookstore.cache.Versioned;
+import bookstore.dto.book.BookDto;
 import bookstore.dto.category.CategoryDto;
 import bookstore.dto.category.CreateCategoryRequestDto;
 import bookstore.dto.category.UpdateCategoryRequestDto;
+import bookstore.dto.page.CountMode;
 import bookstore.exception.EntityAlreadyExistsException;
 import bookstore.exception.EntityNotFoundException;
 import bookstore.mapper.CategoryMapper;
 import bookstore.model.Category;
+import bookstore.repository.BookRepository;
 import bookstore.repository.CategoryRepository;
 import bookstore.service.impl.CategoryServiceImpl;
 import java.text.MessageFormat;
@@ -33,9 +39,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceImplTest {
@@ -56,6 +64,12 @@ class CategoryServiceImplTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private BookRepository bookRepository;
+    @Spy
+    private CountCache countCache = new CountCache(100, 60, 600);
+    @Spy
+    private TinyLfuCache<Long, Versioned<BookDto>> bookDetailCache = new TinyLfuCache<>(100);
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -67,7 +81,7 @@ class CategoryServiceImplTest {
 
     @AfterEach
     void verifyNoUnexpectedInteractions() {
-        verifyNoMoreInteractions(categoryRepository, categoryMapper);
+        verifyNoMoreInteractions(categoryRepository, categoryMapper, bookRepository);
     }
 
     @Nested
@@ -79,27 +93,29 @@ class CategoryServiceImplTest {
             List<CategoryDto> twoCategoryDtosList =
                     List.of(TestObjectsFactory.createFictionCategoryDto(),
                             TestObjectsFactory.createFantasyCategoryDto());
-            when(categoryRepository.findAll(DEFAULT_PAGE_REQUEST)).thenReturn(twoCategoriesPage);
+            when(categoryRepository.findAllBy(DEFAULT_PAGE_REQUEST)).thenReturn(twoCategoriesPage);
             when(categoryMapper.toDto(any(Category.class)))
                     .thenReturn(twoCategoryDtosList.get(0), twoCategoryDtosList.get(1));
 
-            Page<CategoryDto> actual = categoryService.findAll(DEFAULT_PAGE_REQUEST);
+            Slice<CategoryDto> actual = categoryService.findAll(DEFAULT_PAGE_REQUEST,
+                    CountMode.EXACT);
 
             assertThat(actual).hasSize(EXPECTED_CATEGORIES_COUNT);
             assertThat(actual.getContent()).containsExactlyElementsOf(twoCategoryDtosList);
-            verify(categoryRepository).findAll(DEFAULT_PAGE_REQUEST);
+            verify(categoryRepository).findAllBy(DEFAULT_PAGE_REQUEST);
             verify(categoryMapper, times(EXPECTED_CATEGORIES_COUNT)).toDto(any(Category.class));
         }
 
         @Test
         @DisplayName("Should return an empty page when no categories are found")
         void findAll_NoCategoriesFound_ShouldReturnEmptyPage() {
-            when(categoryRepository.findAll(DEFAULT_PAGE_REQUEST)).thenReturn(Page.empty());
+            when(categoryRepository.findAllBy(DEFAULT_PAGE_REQUEST)).thenReturn(Page.empty());
 
-            Page<CategoryDto> actual = categoryService.findAll(DEFAULT_PAGE_REQUEST);
+            Slice<CategoryDto> actual = categoryService.findAll(DEFAULT_PAGE_REQUEST,
+                    CountMode.EXACT);
 
             assertThat(actual.getContent()).isEmpty();
-            verify(categoryRepository).findAll(DEFAULT_PAGE_REQUEST);
+            verify(categoryRepository).findAllBy(DEFAULT_PAGE_REQUEST);
             verify(categoryMapper, never()).toDto(any(Category.class));
         }
     }
@@ -271,6 +287,7 @@ class CategoryServiceImplTest {
             categoryService.deleteById(CATEGORY_ID);
 
             verify(categoryRepository).existsById(CATEGORY_ID);
+            verify(bookRepository).incrementVersionsByCategoryId(CATEGORY_ID);
             verify(categoryRepository).deleteById(CATEGORY_ID);
         }
 
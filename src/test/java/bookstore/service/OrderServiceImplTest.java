@@ -12,11 +12,14 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import bookstore.TestObjectsFactory;
+import bookstore.cache.CountCache;
 import bookstore.dto.order.OrderAddressDto;
 import bookstore.dto.order.OrderDto;
 import bookstore.dto.order.OrderStatusDto;
 import bookstore.dto.orderitem.OrderItemDto;
+import bookstore.dto.page.CountMode;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.inventory.BookStockReservations;
 import bookstore.mapper.CartItemMapper;
 import bookstore.mapper.OrderItemMapper;
 import bookstore.mapper.OrderMapper;
@@ -26,10 +29,13 @@ import bookstore.model.OrderItem;
 import bookstore.model.ShoppingCart;
 import bookstore.model.User;
 import bookstore.model.enumeration.OrderStatus;
+import bookstore.ranking.BookSalesRanking;
+import bookstore.recommendation.BookRecommendationIndex;
 import bookstore.repository.CartItemRepository;
 import bookstore.repository.OrderItemRepository;
 import bookstore.repository.OrderRepository;
 import bookstore.repository.ShoppingCartRepository;
+import bookstore.search.BookSuggestIndex;
 import bookstore.service.impl.OrderServiceImpl;
 import java.text.MessageFormat;
 import java.util.Optional;
@@ -41,9 +47,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
@@ -84,6 +92,16 @@ class OrderServiceImplTest {
     private OrderItemMapper orderItemMapper;
     @Mock
     private CartItemMapper cartItemMapper;
+    @Mock
+    private BookSuggestIndex bookSuggestIndex;
+    @Mock
+    private BookRecommendationIndex bookRecommendationIndex;
+    @Mock
+    private BookSalesRanking bookSalesRanking;
+    @Mock
+    private BookStockReservations bookStockReservations;
+    @Spy
+    private CountCache countCache = new CountCache(100, 60, 600);
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -131,6 +149,8 @@ class OrderServiceImplTest {
             verify(cartItemMapper, times(2)).toOrderItem(any(CartItem.class));
             verify(cartItemRepository).deleteAll(anyCollection());
             verify(orderRepository).save(any(Order.class));
+            verify(bookStockReservations).reserve(order);
+            verify(bookSalesRanking).recordOrder(order);
             verify(orderMapper).toDto(order);
         }
 
@@ -159,7 +179,8 @@ class OrderServiceImplTest {
                     .thenReturn(orderPage);
             when(orderMapper.toDto(order)).thenReturn(orderDto);
 
-            Page<OrderDto> actual = orderService.getAllOrders(user, DEFAULT_PAGE_REQUEST);
+            Slice<OrderDto> actual = orderService.getAllOrders(user, DEFAULT_PAGE_REQUEST,
+                    CountMode.EXACT);
 
             assertThat(actual).hasSize(1);
             assertThat(actual.getContent()).containsExactly(orderDto);
@@ -173,7 +194,8 @@ class OrderServiceImplTest {
             when(orderRepository.findAllByUserId(USER_ID, DEFAULT_PAGE_REQUEST))
                     .thenReturn(Page.empty());
 
-            Page<OrderDto> actual = orderService.getAllOrders(user, DEFAULT_PAGE_REQUEST);
+            Slice<OrderDto> actual = orderService.getAllOrders(user, DEFAULT_PAGE_REQUEST,
+                    CountMode.EXACT);
 
             assertThat(actual).isEmpty();
             verify(orderRepository).findAllByUserId(USER_ID, DEFAULT_PAGE_REQUEST);
@@ -231,8 +253,8 @@ class OrderServiceImplTest {
             when(orderItemMapper.toDto(any(OrderItem.class)))
                     .thenReturn(firstOrderItemDto, secondOrderItemDto);
 
-            Page<OrderItemDto> actual =
-                    orderService.getOrderItems(ORDER_ID, user, DEFAULT_PAGE_REQUEST);
+            Slice<OrderItemDto> actual = orderService.getOrderItems(ORDER_ID, user,
+                    DEFAULT_PAGE_REQUEST, CountMode.EXACT);
 
             assertThat(actual.getContent()).containsExactly(firstOrderItemDto, secondOrderItemDto);
             verify(orderItemRepository).findByOrderIdAndOrderUserId(
@@ -247,7 +269,8 @@ class OrderServiceImplTest {
                     ORDER_ID, USER_ID, DEFAULT_PAGE_REQUEST)).thenReturn(Page.empty());
 
             EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
-                    () -> orderService.getOrderItems(ORDER_ID, user, DEFAULT_PAGE_REQUEST));
+                    () -> orderService.getOrderItems(ORDER_ID, user, DEFAULT_PAGE_REQUEST,
+                            CountMode.EXACT));
 
             assertThat(ex.getMessage()).isEqualTo(
                     MessageFormat.format(ORDER_NOT_FOUND_MESSAGE, ORDER_ID, USER_ID));
@@ -334,6 +357,8 @@ class OrderServiceImplTest {
             assertThat(actual.status()).isEqualTo(OrderStatus.CANCELLED);
             verify(orderRepository).findByIdAndUserId(ORDER_ID, USER_ID);
             verify(orderRepository).save(order);
+            verify(bookStockReservations).release(order);
+            verify(bookSalesRanking).recordCancellation(order);
             verify(orderMapper).toDto(order);
         }
 
@@ -350,6 +375,8 @@ class OrderServiceImplTest {
                     ORDER_ALREADY_CANCELLED_MESSAGE, order.getId()));
             verify(orderRepository).findByIdAndUserId(ORDER_ID, USER_ID);
             verify(orderRepository, never()).save(any(Order.class));
+            verify(bookStockReservations, never()).release(any(Order.class));
+            verify(bookSalesRanking, never()).recordCancellation(any(Order.class));
         }
 
         @Test
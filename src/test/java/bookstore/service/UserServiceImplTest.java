@@ -14,14 +14,15 @@ import bookstore.config.AdminProperties;
 import bookstore.dto.user.UserRegistrationRequestDto;
 import bookstore.dto.user.UserResponseDto;
 import bookstore.dto.user.UserUpdateDto;
+import bookstore.exception.AuthenticationException;
 import bookstore.exception.RegistrationException;
 import bookstore.mapper.UserMapper;
 import bookstore.model.Role;
 import bookstore.model.ShoppingCart;
 import bookstore.model.User;
-import bookstore.repository.RoleRepository;
 import bookstore.repository.ShoppingCartRepository;
 import bookstore.repository.UserRepository;
+import bookstore.security.TokenVersionCache;
 import bookstore.service.impl.UserServiceImpl;
 import java.text.MessageFormat;
 import java.util.Optional;
@@ -66,9 +67,11 @@ class UserServiceImplTest {
     @Mock
     private AdminProperties adminProperties;
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
     @Mock
     private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private TokenVersionCache tokenVersionCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -82,7 +85,7 @@ class UserServiceImplTest {
     @AfterEach
     void verifyNoUnexpectedInteractions() {
         verifyNoMoreInteractions(passwordEncoder, userRepository, userMapper, adminProperties,
-                roleRepository, shoppingCartRepository);
+                roleRegistry, shoppingCartRepository, tokenVersionCache);
     }
 
     @Nested
@@ -106,7 +109,7 @@ class UserServiceImplTest {
             when(userMapper.toModel(userRegistrationRequestDto)).thenReturn(user);
             when(passwordEncoder.encode(userRegistrationRequestDto.password()))
                     .thenReturn(HASHED_PASSWORD);
-            when(roleRepository.getByName(Role.RoleName.USER)).thenReturn(userRole);
+            when(roleRegistry.getByName(Role.RoleName.USER)).thenReturn(userRole);
             when(adminProperties.getEmail()).thenReturn(ADMIN_EMAIL);
             when(userRepository.save(user)).thenReturn(user);
             when(shoppingCartRepository.save(any(ShoppingCart.class))).thenReturn(
@@ -119,7 +122,7 @@ class UserServiceImplTest {
             verify(userRepository).existsByEmail(USER_EMAIL);
             verify(userMapper).toModel(userRegistrationRequestDto);
             verify(passwordEncoder).encode(userRegistrationRequestDto.password());
-            verify(roleRepository).getByName(Role.RoleName.USER);
+            verify(roleRegistry).getByName(Role.RoleName.USER);
             verify(adminProperties).getEmail();
             verify(userRepository).save(user);
             verify(shoppingCartRepository).save(any(ShoppingCart.class));
@@ -157,10 +160,10 @@ class UserServiceImplTest {
             when(userMapper.toModel(adminRegistrationRequestDto)).thenReturn(user);
             when(passwordEncoder.encode(adminRegistrationRequestDto.password()))
                     .thenReturn(HASHED_PASSWORD);
-            when(roleRepository.getByName(Role.RoleName.USER)).thenReturn(userRole);
+            when(roleRegistry.getByName(Role.RoleName.USER)).thenReturn(userRole);
             when(adminProperties.getEmail()).thenReturn(ADMIN_EMAIL);
             when(adminProperties.getInviteCode()).thenReturn(INVITE_CODE);
-            when(roleRepository.getByName(Role.RoleName.ADMIN)).thenReturn(adminRole);
+            when(roleRegistry.getByName(Role.RoleName.ADMIN)).thenReturn(adminRole);
             when(userRepository.save(user)).thenReturn(user);
             when(shoppingCartRepository.save(any(ShoppingCart.class))).thenReturn(shoppingCart);
             when(userMapper.toDto(user)).thenReturn(userResponseDtoAdmin);
@@ -171,10 +174,10 @@ class UserServiceImplTest {
             verify(userRepository).existsByEmail(adminRegistrationRequestDto.email());
             verify(userMapper).toModel(adminRegistrationRequestDto);
             verify(passwordEncoder).encode(adminRegistrationRequestDto.password());
-            verify(roleRepository).getByName(Role.RoleName.USER);
+            verify(roleRegistry).getByName(Role.RoleName.USER);
             verify(adminProperties).getEmail();
             verify(adminProperties).getInviteCode();
-            verify(roleRepository).getByName(Role.RoleName.ADMIN);
+            verify(roleRegistry).getByName(Role.RoleName.ADMIN);
             verify(userRepository).save(user);
             verify(shoppingCartRepository).save(any(ShoppingCart.class));
             verify(userMapper).toDto(user);
@@ -192,7 +195,7 @@ class UserServiceImplTest {
             when(userMapper.toModel(adminRegistrationRequestDto)).thenReturn(user);
             when(passwordEncoder.encode(adminRegistrationRequestDto.password()))
                     .thenReturn(HASHED_PASSWORD);
-            when(roleRepository.getByName(Role.RoleName.USER)).thenReturn(userRole);
+            when(roleRegistry.getByName(Role.RoleName.USER)).thenReturn(userRole);
             when(adminProperties.getEmail()).thenReturn(ADMIN_EMAIL);
             when(adminProperties.getInviteCode()).thenReturn(INVITE_CODE);
 
@@ -205,7 +208,7 @@ class UserServiceImplTest {
             verify(userRepository).existsByEmail(adminRegistrationRequestDto.email());
             verify(userMapper).toModel(adminRegistrationRequestDto);
             verify(passwordEncoder).encode(adminRegistrationRequestDto.password());
-            verify(roleRepository).getByName(Role.RoleName.USER);
+            verify(roleRegistry).getByName(Role.RoleName.USER);
             verify(adminProperties).getEmail();
             verify(adminProperties).getInviteCode();
         }
@@ -243,18 +246,21 @@ class UserServiceImplTest {
         @Test
         @DisplayName("Should add a new role to the user when user does not have it yet")
         void addRole_UserDoesNotHaveRoleYet_ShouldAddNewRole() {
+            int tokenVersion = user.getTokenVersion();
             when(userRepository.findByEmail(USER_EMAIL)).thenReturn(Optional.of(user));
-            when(roleRepository.getByName(Role.RoleName.ADMIN)).thenReturn(adminRole);
+            when(roleRegistry.getByName(Role.RoleName.ADMIN)).thenReturn(adminRole);
             when(userRepository.save(user)).thenReturn(user);
             when(userMapper.toDto(user)).thenReturn(userResponseDto);
 
             UserResponseDto actual = userService.addRole(USER_EMAIL, Role.RoleName.ADMIN);
 
             assertThat(actual).isEqualTo(userResponseDto);
+            assertThat(user.getTokenVersion()).isEqualTo(tokenVersion + 1);
             verify(userRepository).findByEmail(USER_EMAIL);
-            verify(roleRepository).getByName(Role.RoleName.ADMIN);
+            verify(roleRegistry).getByName(Role.RoleName.ADMIN);
             verify(userRepository).save(user);
             verify(userMapper).toDto(user);
+            verify(tokenVersionCache).invalidate(user.getId());
         }
 
         @Test
@@ -277,19 +283,35 @@ class UserServiceImplTest {
     @DisplayName(
             "getCurrentUserInfo(): Should return UserResponseDto when getting current user info")
     void getCurrentUserInfo_ShouldReturnUserResponseDto() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(userMapper.toDto(user)).thenReturn(userResponseDto);
 
         UserResponseDto actual = userService.getCurrentUserInfo(user);
 
         assertThat(actual).isEqualTo(userResponseDto);
+        verify(userRepository).findById(user.getId());
         verify(userMapper).toDto(user);
     }
 
+    @Test
+    @DisplayName("getCurrentUserInfo(): Should throw AuthenticationException for a revoked token")
+    void getCurrentUserInfo_OutdatedTokenVersion_ShouldThrowAuthenticationException() {
+        User principal = TestObjectsFactory.createUser();
+        user.setTokenVersion(principal.getTokenVersion() + 1);
+        when(userRepository.findById(principal.getId())).thenReturn(Optional.of(user));
+
+        assertThrows(AuthenticationException.class,
+                () -> userService.getCurrentUserInfo(principal));
+
+        verify(userRepository).findById(principal.getId());
+    }
+
     @Test
     @DisplayName("update(): Should return UserResponseDto when updating user information")
     void update_ShouldReturnUserResponseDto() {
         UserUpdateDto updateDto = TestObjectsFactory.createUserUpdateDto("John");
 
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         doNothing().when(userMapper).updateUser(user, updateDto);
         when(userRepository.save(user)).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(userResponseDto);
@@ -297,6 +319,7 @@ class UserServiceImplTest {
         UserResponseDto actual = userService.update(updateDto, user);
 
         assertThat(actual).isEqualTo(userResponseDto);
+        verify(userRepository).findById(user.getId());
         verify(userMapper).updateUser(user, updateDto);
         verify(userRepository).save(user);
         verify(userMapper).toDto(user);
@@ -1,10 +1,13 @@
 DELETE FROM cart_items;
 DELETE FROM shopping_carts;
 DELETE FROM order_items;
+DELETE FROM book_stock_leases;
 DELETE FROM orders;
+DELETE FROM book_daily_sales;
 DELETE FROM users_roles;
 DELETE FROM users;
 DELETE FROM roles;
 DELETE FROM books_categories;
 DELETE FROM categories;
 DELETE FROM books;
+DELETE FROM refresh_tokens;
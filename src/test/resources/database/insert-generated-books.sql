@@ -0,0 +1,16 @@
+INSERT INTO books (title, author, isbn, price, description)
+SELECT CONCAT('Generated title ', seq.n),
+       CONCAT('Generated author ', seq.n),
+       CONCAT('978', LPAD(seq.n, 10, '0')),
+       seq.n,
+       CONCAT('Generated description ', seq.n)
+FROM (SELECT units.d + tens.d * 10 + hundreds.d * 100 + 1 AS n
+      FROM (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+            UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7
+            UNION ALL SELECT 8 UNION ALL SELECT 9) units
+               CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+                           UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6
+                           UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) tens
+               CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+                           UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6
+                           UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) hundreds) seq;